@@ -0,0 +1,51 @@
+package com.github.romanqed.benchmark;
+
+import com.github.romanqed.jsync.AsyncFunction1;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of invoking {@link AsyncFunction1} pipelines over already completed futures,
+ * built with {@link AsyncFunction1#andThen(AsyncFunction1)} and with {@link AsyncFunction1#andThenInline(AsyncFunction1)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AsyncCompositionBenchmark {
+    @Param({"1", "3", "10"})
+    public int stages;
+
+    private AsyncFunction1<Integer, Integer> chain;
+    private AsyncFunction1<Integer, Integer> inline;
+    private Integer input;
+
+    @Setup
+    public void setup() {
+        AsyncFunction1<Integer, Integer> chain = t -> CompletableFuture.completedFuture(t + 1);
+        var inline = chain;
+        for (var i = 1; i < stages; ++i) {
+            var step = i;
+            AsyncFunction1<Integer, Integer> next = t -> CompletableFuture.completedFuture(t ^ step);
+            chain = chain.andThen(next);
+            inline = inline.andThenInline(next);
+        }
+        this.chain = chain;
+        this.inline = inline;
+        this.input = 17;
+    }
+
+    @Benchmark
+    public Integer andThenChain() {
+        return chain.invokeAsync(input).join();
+    }
+
+    @Benchmark
+    public Integer andThenInlineChain() {
+        return inline.invokeAsync(input).join();
+    }
+}
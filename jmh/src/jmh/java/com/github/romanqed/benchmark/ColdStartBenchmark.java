@@ -0,0 +1,50 @@
+package com.github.romanqed.benchmark;
+
+import com.github.romanqed.jfunc.Exceptions;
+import com.github.romanqed.jfunc.Function1;
+import com.github.romanqed.jfunc.LazySupplier;
+import com.github.romanqed.jsync.AsyncFunction1;
+import com.github.romanqed.juni.UniFunction1;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the first-call cost of the hot paths in a fresh JVM, before the JIT has had a chance to warm them up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ColdStartBenchmark {
+
+    @Benchmark
+    public Integer exceptionsSuppress() {
+        return Exceptions.suppress((Function1<Integer, Integer>) t -> t + 1, 1);
+    }
+
+    @Benchmark
+    public Object lazySupplierGet() {
+        return new LazySupplier<>(Object::new).get();
+    }
+
+    @Benchmark
+    public Integer functionAndThen() throws Throwable {
+        Function1<Integer, Integer> func = t -> t + 1;
+        return func.andThen(t -> t * 2).andThen(t -> t - 3).invoke(1);
+    }
+
+    @Benchmark
+    public Integer uniInvokeAsync() {
+        return UniFunction1.of((Function1<Integer, Integer>) t -> t + 1).invokeAsync(1).join();
+    }
+
+    @Benchmark
+    public Integer uniInvoke() throws Throwable {
+        return UniFunction1.of((AsyncFunction1<Integer, Integer>) t -> CompletableFuture.completedFuture(t + 1))
+                .invoke(1);
+    }
+}
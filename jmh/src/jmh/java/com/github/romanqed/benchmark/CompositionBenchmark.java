@@ -0,0 +1,55 @@
+package com.github.romanqed.benchmark;
+
+import com.github.romanqed.jfunc.Function1;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of invoking {@link Function1} pipelines built with nested {@link Function1#andThen(Function1)}
+ * calls and with the flat {@link Function1#chain(Function1)} pipeline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CompositionBenchmark {
+    @Param({"1", "3", "10"})
+    public int stages;
+
+    private Function1<Integer, Integer> chain;
+    private Function1<Integer, Integer> fused;
+    private Integer input;
+
+    @Setup
+    public void setup() {
+        Function1<Integer, Integer> chain = t -> t + 1;
+        var fused = Function1.chain(chain);
+        for (var i = 1; i < stages; ++i) {
+            var step = i;
+            chain = chain.andThen(t -> t ^ step);
+            fused = fused.andThen(t -> t ^ step);
+        }
+        this.chain = chain;
+        this.fused = fused;
+        this.input = 17;
+    }
+
+    @Benchmark
+    public Integer andThenChain() throws Throwable {
+        return chain.invoke(input);
+    }
+
+    @Benchmark
+    public Integer fusedChain() throws Throwable {
+        return fused.invoke(input);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer andThenChainContended() throws Throwable {
+        return chain.invoke(input);
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.romanqed.benchmark;
+
+import com.github.romanqed.jfunc.Exceptions;
+import com.github.romanqed.jfunc.Function1;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-call cost of {@link Exceptions#silent} and {@link Exceptions#suppress}
+ * on both the successful and the failing path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ExceptionsBenchmark {
+    private static final IOException FAILURE = new IOException("expected");
+
+    private Function1<Integer, Integer> success;
+    private Function1<Integer, Integer> failure;
+    private Integer input;
+
+    @Setup
+    public void setup() {
+        success = t -> t + 1;
+        failure = t -> {
+            throw FAILURE;
+        };
+        input = 42;
+    }
+
+    @Benchmark
+    public Integer direct() throws Throwable {
+        return success.invoke(input);
+    }
+
+    @Benchmark
+    public Integer silent() {
+        return Exceptions.silent(success, input);
+    }
+
+    @Benchmark
+    public Integer suppress() {
+        return Exceptions.suppress(success, input);
+    }
+
+    @Benchmark
+    public Integer suppressWithHandler() {
+        return Exceptions.suppress(success, input, e -> -1);
+    }
+
+    @Benchmark
+    public void silentFailure(Blackhole blackhole) {
+        try {
+            blackhole.consume(Exceptions.silent(failure, input));
+        } catch (Throwable e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void suppressFailure(Blackhole blackhole) {
+        try {
+            blackhole.consume(Exceptions.suppress(failure, input));
+        } catch (RuntimeException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void wrapFailureWithRuntimeException(Blackhole blackhole) {
+        // Baseline: wrapping as suppress did before, capturing the wrapper stack trace
+        try {
+            blackhole.consume(failure.invoke(input));
+        } catch (Error | RuntimeException e) {
+            blackhole.consume(e);
+        } catch (Throwable e) {
+            blackhole.consume(new RuntimeException(e));
+        }
+    }
+
+    @Benchmark
+    public Integer suppressFailureWithHandler() {
+        return Exceptions.suppress(failure, input, e -> -1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer suppressContended() {
+        return Exceptions.suppress(success, input);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void suppressFailureContended(Blackhole blackhole) {
+        try {
+            blackhole.consume(Exceptions.suppress(failure, input));
+        } catch (RuntimeException e) {
+            blackhole.consume(e);
+        }
+    }
+}
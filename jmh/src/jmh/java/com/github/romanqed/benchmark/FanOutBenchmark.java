@@ -0,0 +1,67 @@
+package com.github.romanqed.benchmark;
+
+import com.github.romanqed.jsync.AsyncFunction1;
+import com.github.romanqed.jsync.Futures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of fanning out over completed futures with {@link Futures#all(java.util.Collection)}
+ * and {@link Futures#traverse(java.util.Collection, AsyncFunction1, int)}, compared to
+ * {@link CompletableFuture#allOf(CompletableFuture[])} followed by joining each future.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FanOutBenchmark {
+    @Param({"10", "1000"})
+    public int size;
+
+    private List<Integer> items;
+    private AsyncFunction1<Integer, Integer> func;
+
+    @Setup
+    public void setup() {
+        items = new ArrayList<>(size);
+        for (var i = 0; i < size; ++i) {
+            items.add(i);
+        }
+        func = t -> CompletableFuture.completedFuture(t + 1);
+    }
+
+    @Benchmark
+    public List<Integer> allOfJoin() {
+        var futures = new ArrayList<CompletableFuture<Integer>>(size);
+        for (var item : items) {
+            futures.add(func.invokeAsync(item));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            var ret = new ArrayList<Integer>(size);
+            for (var future : futures) {
+                ret.add(future.join());
+            }
+            return ret;
+        }).join();
+    }
+
+    @Benchmark
+    public List<Integer> all() {
+        var futures = new ArrayList<CompletableFuture<Integer>>(size);
+        for (var item : items) {
+            futures.add(func.invokeAsync(item));
+        }
+        return Futures.all(futures).join();
+    }
+
+    @Benchmark
+    public List<Integer> traverse() {
+        return Futures.traverse(items, func, 16).join();
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.romanqed.benchmark;
+
+import com.github.romanqed.jfunc.Function1;
+import com.github.romanqed.jfunc.Instrumentation;
+import com.github.romanqed.jsync.AsyncFunction1;
+import com.github.romanqed.jsync.InstrumentedAsyncFunction1;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of instrumented functions compared to plain ones, and checks that
+ * functions wrapped with disabled {@link Instrumentation} cost the same as plain ones.
+ * Run with {@code -t} greater than one to see the effect of contention on the counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InstrumentationBenchmark {
+    private Function1<Integer, Integer> plain;
+    private Function1<Integer, Integer> disabled;
+    private Function1<Integer, Integer> enabled;
+    private AsyncFunction1<Integer, Integer> plainAsync;
+    private AsyncFunction1<Integer, Integer> enabledAsync;
+    private Integer input;
+
+    @Setup
+    public void setup() {
+        var instrumentation = new Instrumentation(metrics -> {
+        });
+        plain = t -> t + 1;
+        disabled = Instrumentation.disabled().instrument("plain", plain);
+        enabled = instrumentation.instrument("plain", plain);
+        plainAsync = t -> CompletableFuture.completedFuture(t + 1);
+        enabledAsync = InstrumentedAsyncFunction1.instrument(instrumentation, "async", plainAsync);
+        input = 17;
+    }
+
+    @Benchmark
+    public Integer plain() throws Throwable {
+        return plain.invoke(input);
+    }
+
+    @Benchmark
+    public Integer disabled() throws Throwable {
+        return disabled.invoke(input);
+    }
+
+    @Benchmark
+    public Integer enabled() throws Throwable {
+        return enabled.invoke(input);
+    }
+
+    @Benchmark
+    public Integer plainAsync() {
+        return plainAsync.invokeAsync(input).join();
+    }
+
+    @Benchmark
+    public Integer enabledAsync() {
+        return enabledAsync.invokeAsync(input).join();
+    }
+}
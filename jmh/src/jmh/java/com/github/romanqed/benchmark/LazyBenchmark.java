@@ -0,0 +1,52 @@
+package com.github.romanqed.benchmark;
+
+import com.github.romanqed.jfunc.LazyFunction0;
+import com.github.romanqed.jfunc.LazySupplier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the steady-state read cost of already initialized lazy containers,
+ * both from a single thread and with several readers sharing the same instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LazyBenchmark {
+    private LazySupplier<Object> supplier;
+    private LazyFunction0<Object> function;
+
+    @Setup
+    public void setup() throws Throwable {
+        supplier = new LazySupplier<>(Object::new);
+        function = new LazyFunction0<>(Object::new);
+        supplier.get();
+        function.invoke();
+    }
+
+    @Benchmark
+    public Object supplierGet() {
+        return supplier.get();
+    }
+
+    @Benchmark
+    public Object function0Invoke() throws Throwable {
+        return function.invoke();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object supplierGetContended() {
+        return supplier.get();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object function0InvokeContended() throws Throwable {
+        return function.invoke();
+    }
+}
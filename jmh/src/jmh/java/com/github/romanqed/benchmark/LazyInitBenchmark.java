@@ -0,0 +1,87 @@
+package com.github.romanqed.benchmark;
+
+import com.github.romanqed.jfunc.LazySupplier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the lock-free {@link LazySupplier} with the previous synchronized double-check implementation:
+ * first access of a fresh instance raced by several threads, and steady-state reads.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+public class LazyInitBenchmark {
+    private LazySupplier<Object> lockFree;
+    private SynchronizedLazySupplier<Object> synchronizedLazy;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        lockFree = new LazySupplier<>(Object::new);
+        synchronizedLazy = new SynchronizedLazySupplier<>(Object::new);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 100)
+    @Measurement(iterations = 1000)
+    @Threads(4)
+    public Object firstAccessLockFree() {
+        return lockFree.get();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 100)
+    @Measurement(iterations = 1000)
+    @Threads(4)
+    public Object firstAccessSynchronized() {
+        return synchronizedLazy.get();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Threads(4)
+    public Object readLockFree() {
+        return lockFree.get();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Threads(4)
+    public Object readSynchronized() {
+        return synchronizedLazy.get();
+    }
+
+    /**
+     * The synchronized double-check implementation {@link LazySupplier} used before, kept as a baseline.
+     */
+    static final class SynchronizedLazySupplier<T> implements Supplier<T> {
+        private final Object lock;
+        private final Supplier<T> body;
+        private volatile T value;
+
+        SynchronizedLazySupplier(Supplier<T> body) {
+            this.body = body;
+            this.lock = new Object();
+        }
+
+        @Override
+        public T get() {
+            if (value == null) {
+                synchronized (lock) {
+                    if (value == null) {
+                        value = body.get();
+                    }
+                }
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.romanqed.benchmark;
+
+import com.github.romanqed.jfunc.Function1;
+import com.github.romanqed.jfunc.IntUnaryFunction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a numeric pipeline built from boxed {@link Function1} stages with the same pipeline built
+ * from {@link IntUnaryFunction} stages. Run with {@code -prof gc} to see the eliminated allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PrimitiveBenchmark {
+    private Function1<Integer, Integer> boxed;
+    private IntUnaryFunction primitive;
+    private int input;
+
+    @Setup
+    public void setup() {
+        Function1<Integer, Integer> boxed = v -> v + 1000;
+        IntUnaryFunction primitive = v -> v + 1000;
+        boxed = boxed.andThen(v -> v * 3).andThen(v -> v ^ 0x5A5A);
+        primitive = primitive.andThen(v -> v * 3).andThen(v -> v ^ 0x5A5A);
+        this.boxed = boxed;
+        this.primitive = primitive;
+        // Outside of the Integer cache, so that every boxing allocates
+        this.input = 100_000;
+    }
+
+    @Benchmark
+    public int boxedPipeline() throws Throwable {
+        return boxed.invoke(input);
+    }
+
+    @Benchmark
+    public int primitivePipeline() throws Throwable {
+        return primitive.invoke(input);
+    }
+}
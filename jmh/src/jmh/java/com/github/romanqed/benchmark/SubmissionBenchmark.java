@@ -0,0 +1,76 @@
+package com.github.romanqed.benchmark;
+
+import com.github.romanqed.jfunc.Function0;
+import com.github.romanqed.jsync.Futures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of submitting a trivial task through {@link Futures}, compared to
+ * {@link CompletableFuture#supplyAsync} with a capturing adapter lambda, both on a direct executor,
+ * to isolate the allocation cost from the thread hop, and on the common pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SubmissionBenchmark {
+    private final Executor direct = Runnable::run;
+    private Function0<Integer> func;
+
+    @Setup
+    public void setup() {
+        var value = 42;
+        func = () -> value;
+    }
+
+    @Benchmark
+    public Integer supplyAsyncDirect() {
+        // Baseline: the adapter used by Futures.provide before it submitted itself as the task
+        var func = this.func;
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return func.invoke();
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        }, direct).join();
+    }
+
+    @Benchmark
+    public Integer provideDirect() {
+        return Futures.provide(func, direct).join();
+    }
+
+    @Benchmark
+    public Integer provideNow() {
+        return Futures.provideNow(func).join();
+    }
+
+    @Benchmark
+    public Integer provideTrampoline() {
+        return Futures.provide(func, Futures.trampoline()).join();
+    }
+
+    @Benchmark
+    public Integer supplyAsyncCommonPool() {
+        var func = this.func;
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return func.invoke();
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        }).join();
+    }
+
+    @Benchmark
+    public Integer provideCommonPool() {
+        return Futures.provide(func).join();
+    }
+}
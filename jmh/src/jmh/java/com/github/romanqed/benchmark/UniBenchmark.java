@@ -0,0 +1,66 @@
+package com.github.romanqed.benchmark;
+
+import com.github.romanqed.jfunc.Function1;
+import com.github.romanqed.jsync.AsyncFunction1;
+import com.github.romanqed.juni.UniFunction1;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of bridging between sync and async worlds through {@link UniFunction1}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class UniBenchmark {
+    private UniFunction1<Integer, Integer> sync;
+    private UniFunction1<Integer, Integer> async;
+    private AsyncFunction1<Integer, Integer> raw;
+    private Integer input;
+
+    @Setup
+    public void setup() {
+        sync = UniFunction1.of((Function1<Integer, Integer>) t -> t + 1);
+        raw = t -> CompletableFuture.completedFuture(t + 1);
+        async = UniFunction1.of(raw);
+        input = 42;
+    }
+
+    @Benchmark
+    public Integer syncInvokeAsync() {
+        return sync.invokeAsync(input).join();
+    }
+
+    @Benchmark
+    public Integer asyncInvoke() throws Throwable {
+        return async.invoke(input);
+    }
+
+    @Benchmark
+    public Integer asyncInvokeViaGet() throws Throwable {
+        // Baseline: blocking get() with ExecutionException unwrapping, as used before
+        try {
+            return raw.invokeAsync(input).get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer syncInvokeAsyncContended() {
+        return sync.invokeAsync(input).join();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer asyncInvokeContended() throws Throwable {
+        return async.invoke(input);
+    }
+}
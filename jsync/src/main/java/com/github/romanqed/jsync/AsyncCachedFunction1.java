@@ -0,0 +1,350 @@
+package com.github.romanqed.jsync;
+
+import com.github.romanqed.jfunc.Durations;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An asynchronous function that caches result futures per argument, implements {@link AsyncFunction1}.
+ * <p>
+ * Concurrent calls with the same argument that miss the cache share one invocation of the wrapped function.
+ * Failed futures are removed from the cache as soon as they fail, so the next call invokes the wrapped function again.
+ * Each caller receives its own copy of the cached future, so cancelling or completing it does not affect the cache.
+ * <p>
+ * The number of cached results can be bounded, in which case the least recently used results are evicted
+ * (approximately, using the second-chance algorithm). Results can expire after the specified time-to-live.
+ * Results can also be refreshed after write: the first call after the refresh interval starts a reload
+ * of the result, while callers keep receiving the current result until the reload completes.
+ * If the reload fails, the current result is served until it expires, and the next reload is attempted only
+ * after a quarter of the refresh interval, so a failing function is not called on every read.
+ * <p>
+ * Expired results are removed when they are read, and by a sweep that piggybacks on misses, so results
+ * for arguments that are never passed again do not accumulate without bound. A sweep pass starts at most
+ * once per time-to-live and examines a bounded number of results per miss, so no single call pays
+ * for scanning the whole cache.
+ *
+ * @param <T> the input type
+ * @param <R> the result type
+ */
+public final class AsyncCachedFunction1<T, R> implements AsyncFunction1<T, R> {
+    private static final Object NULL_KEY = new Object();
+    private static final int SWEEP_STEP = 64;
+
+    private final AsyncFunction1<T, R> body;
+    private final long maxSize;
+    private final long ttl;
+    private final long refresh;
+    private final ConcurrentMap<Object, Entry<R>> entries;
+    private final Queue<Entry<R>> order;
+    private final AtomicLong count;
+    private final AtomicLong sweepAt;
+    private final AtomicBoolean sweeping;
+    // Guarded by sweeping
+    private Iterator<Entry<R>> sweeper;
+
+    /**
+     * Constructs a new {@link AsyncCachedFunction1} with the given body, size limit, time-to-live and refresh interval.
+     *
+     * @param body    the function whose results will be cached
+     * @param maxSize the maximum number of cached results, must be positive
+     * @param ttl     the time after which a cached result expires, or null if results never expire
+     * @param refresh the time after which a cached result is reloaded in the background, or null if results
+     *                are never refreshed
+     * @throws NullPointerException     if {@code body} is null
+     * @throws IllegalArgumentException if {@code maxSize} is not positive, if {@code ttl} or {@code refresh}
+     *                                  is not positive, or if {@code refresh} is not less than {@code ttl}
+     */
+    public AsyncCachedFunction1(AsyncFunction1<T, R> body, long maxSize, Duration ttl, Duration refresh) {
+        this.body = Objects.requireNonNull(body);
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttl = ttl == null ? 0 : Durations.checkPositive(ttl);
+        this.refresh = refresh == null ? 0 : Durations.checkPositive(refresh);
+        if (this.ttl > 0 && this.refresh >= this.ttl) {
+            throw new IllegalArgumentException("Refresh interval must be less than time-to-live");
+        }
+        this.entries = new ConcurrentHashMap<>();
+        if (this.ttl > 0) {
+            this.sweepAt = new AtomicLong(System.nanoTime() + this.ttl);
+            this.sweeping = new AtomicBoolean();
+        } else {
+            this.sweepAt = null;
+            this.sweeping = null;
+        }
+        if (maxSize == Long.MAX_VALUE) {
+            this.order = null;
+            this.count = null;
+        } else {
+            this.order = new ConcurrentLinkedQueue<>();
+            this.count = new AtomicLong();
+        }
+    }
+
+    /**
+     * Constructs a new {@link AsyncCachedFunction1} with the given body, size limit and time-to-live.
+     * Cached results are not refreshed.
+     *
+     * @param body    the function whose results will be cached
+     * @param maxSize the maximum number of cached results, must be positive
+     * @param ttl     the time after which a cached result expires, or null if results never expire
+     * @throws NullPointerException     if {@code body} is null
+     * @throws IllegalArgumentException if {@code maxSize} is not positive or {@code ttl} is not positive
+     */
+    public AsyncCachedFunction1(AsyncFunction1<T, R> body, long maxSize, Duration ttl) {
+        this(body, maxSize, ttl, null);
+    }
+
+    /**
+     * Constructs a new {@link AsyncCachedFunction1} with the given body and size limit.
+     * Cached results never expire and are not refreshed.
+     *
+     * @param body    the function whose results will be cached
+     * @param maxSize the maximum number of cached results, must be positive
+     * @throws NullPointerException     if {@code body} is null
+     * @throws IllegalArgumentException if {@code maxSize} is not positive
+     */
+    public AsyncCachedFunction1(AsyncFunction1<T, R> body, long maxSize) {
+        this(body, maxSize, null, null);
+    }
+
+    /**
+     * Constructs a new {@link AsyncCachedFunction1} with the given body.
+     * The number of cached results is not limited, cached results never expire and are not refreshed.
+     *
+     * @param body the function whose results will be cached
+     * @throws NullPointerException if {@code body} is null
+     */
+    public AsyncCachedFunction1(AsyncFunction1<T, R> body) {
+        this(body, Long.MAX_VALUE, null, null);
+    }
+
+    /**
+     * Gets the future cached for the given argument, or, if there is no such future, invokes the wrapped function.
+     *
+     * @param t the input argument
+     * @return a {@link CompletableFuture} representing the asynchronous result
+     */
+    @Override
+    public CompletableFuture<R> invokeAsync(T t) {
+        var key = t == null ? NULL_KEY : t;
+        var entry = entries.get(key);
+        if (entry != null) {
+            if (!isExpired(entry)) {
+                return hit(entry, t);
+            }
+            remove(key, entry);
+        }
+        var created = new Entry<R>(key);
+        while ((entry = entries.putIfAbsent(key, created)) != null) {
+            if (!isExpired(entry)) {
+                return hit(entry, t);
+            }
+            remove(key, entry);
+        }
+        var ret = created.future.copy();
+        load(created, t);
+        if (sweepAt != null) {
+            sweep();
+        }
+        return ret;
+    }
+
+    /**
+     * Discards the result cached for the given argument, if any.
+     *
+     * @param t the input argument
+     */
+    public void invalidate(T t) {
+        var entry = entries.remove(t == null ? NULL_KEY : t);
+        if (entry != null) {
+            entry.dead = true;
+        }
+    }
+
+    /**
+     * Discards all cached results.
+     */
+    public void invalidateAll() {
+        for (var entry : entries.values()) {
+            remove(entry.key, entry);
+        }
+    }
+
+    /**
+     * Returns the approximate number of cached results, including the ones being loaded.
+     *
+     * @return the number of cached results
+     */
+    public long size() {
+        return entries.size();
+    }
+
+    private CompletableFuture<R> hit(Entry<R> entry, T t) {
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        var future = entry.future;
+        if (refresh > 0 && entry.loaded && System.nanoTime() - entry.refreshAt >= 0) {
+            reload(entry, t);
+        }
+        return future.copy();
+    }
+
+    private void load(Entry<R> entry, T t) {
+        CompletableFuture<R> future;
+        try {
+            future = Objects.requireNonNull(body.invokeAsync(t));
+        } catch (Throwable e) {
+            remove(entry.key, entry);
+            entry.future.completeExceptionally(e);
+            return;
+        }
+        future.whenComplete((value, e) -> {
+            if (e != null) {
+                remove(entry.key, entry);
+                entry.future.completeExceptionally(Futures.unwrap(e));
+                return;
+            }
+            entry.stamp(System.nanoTime(), ttl, refresh);
+            entry.future.complete(value);
+            if (order != null && !entry.dead) {
+                order.offer(entry);
+                count.incrementAndGet();
+                evict();
+            }
+        });
+    }
+
+    private void reload(Entry<R> entry, T t) {
+        if (!entry.startRefresh()) {
+            return;
+        }
+        CompletableFuture<R> future;
+        try {
+            future = Objects.requireNonNull(body.invokeAsync(t));
+        } catch (Throwable e) {
+            // The current result stays in use until it expires
+            entry.backOff(System.nanoTime(), refresh);
+            entry.refreshing = false;
+            return;
+        }
+        future.whenComplete((value, e) -> {
+            if (e != null) {
+                entry.backOff(System.nanoTime(), refresh);
+            } else if (!entry.dead) {
+                entry.future = CompletableFuture.completedFuture(value);
+                entry.stamp(System.nanoTime(), ttl, refresh);
+            }
+            entry.refreshing = false;
+        });
+    }
+
+    private boolean isExpired(Entry<R> entry) {
+        return ttl > 0 && entry.loaded && System.nanoTime() - entry.expiresAt >= 0;
+    }
+
+    private void remove(Object key, Entry<R> entry) {
+        if (entries.remove(key, entry)) {
+            entry.dead = true;
+        }
+    }
+
+    private void sweep() {
+        var now = System.nanoTime();
+        // Only one of the callers that find the sweep due performs a step
+        if (now - sweepAt.get() < 0 || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (sweeper == null) {
+                sweeper = entries.values().iterator();
+            }
+            for (var i = 0; i < SWEEP_STEP && sweeper.hasNext(); ++i) {
+                var entry = sweeper.next();
+                if (isExpired(entry)) {
+                    remove(entry.key, entry);
+                }
+            }
+            if (!sweeper.hasNext()) {
+                sweeper = null;
+                sweepAt.set(now + ttl);
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private void evict() {
+        while (count.get() > maxSize) {
+            var entry = order.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entry.dead) {
+                count.decrementAndGet();
+                continue;
+            }
+            if (entry.referenced && !isExpired(entry)) {
+                // Second chance: move recently read entry to the tail
+                entry.referenced = false;
+                order.offer(entry);
+                continue;
+            }
+            count.decrementAndGet();
+            remove(entry.key, entry);
+        }
+    }
+
+    private static final class Entry<R> {
+        private static final VarHandle REFRESHING;
+
+        static {
+            try {
+                REFRESHING = MethodHandles.lookup().findVarHandle(Entry.class, "refreshing", boolean.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        final Object key;
+        volatile CompletableFuture<R> future;
+        volatile boolean loaded;
+        volatile boolean referenced;
+        volatile boolean dead;
+        volatile boolean refreshing;
+        volatile long expiresAt;
+        volatile long refreshAt;
+
+        Entry(Object key) {
+            this.key = key;
+            this.future = new CompletableFuture<>();
+        }
+
+        void stamp(long now, long ttl, long refresh) {
+            this.expiresAt = now + ttl;
+            this.refreshAt = now + refresh;
+            this.loaded = true;
+        }
+
+        void backOff(long now, long refresh) {
+            this.refreshAt = now + Math.max(1, refresh >> 2);
+        }
+
+        boolean startRefresh() {
+            return REFRESHING.compareAndSet(this, false, true);
+        }
+    }
+}
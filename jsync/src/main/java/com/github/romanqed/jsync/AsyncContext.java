@@ -0,0 +1,190 @@
+package com.github.romanqed.jsync;
+
+import com.github.romanqed.jfunc.Durations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * An immutable context carried explicitly through asynchronous pipelines built from {@link ContextualAsyncFunction1}.
+ * <p>
+ * A context holds an optional deadline, a cancellation token and a small map of typed attributes.
+ * Derived contexts, created with {@link #withDeadline(Duration)} or {@link #with(Key, Object)}, share
+ * the cancellation token of the context they are derived from, so cancelling any of them cancels them all.
+ * Since the context is passed as an argument instead of being stored in a {@link ThreadLocal},
+ * it survives executor hops and costs no lookup per stage.
+ * <p>
+ * Attributes are stored in a pair of small arrays and looked up linearly by key identity,
+ * which is cheaper than a hash map for the handful of attributes a context usually carries.
+ */
+public final class AsyncContext {
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    // Timeouts from this bound (about 146 years) on are treated as no deadline, so that deadlines do not overflow
+    private static final long MAX_TIMEOUT = Long.MAX_VALUE >> 1;
+    private static final Key<?>[] NO_KEYS = new Key<?>[0];
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private final long deadline;
+    private final Token token;
+    private final Key<?>[] keys;
+    private final Object[] values;
+
+    private AsyncContext(long deadline, Token token, Key<?>[] keys, Object[] values) {
+        this.deadline = deadline;
+        this.token = token;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Creates a new root context without a deadline and attributes, and with its own cancellation token.
+     *
+     * @return a new context
+     */
+    public static AsyncContext create() {
+        return new AsyncContext(NO_DEADLINE, new Token(), NO_KEYS, NO_VALUES);
+    }
+
+    /**
+     * Returns a context derived from this one, whose deadline is the given time from now,
+     * or the deadline of this context if that one is earlier.
+     *
+     * @param timeout the time from now until the deadline
+     * @return a derived context
+     */
+    public AsyncContext withDeadline(Duration timeout) {
+        var nanos = Durations.toNanos(timeout);
+        if (nanos >= MAX_TIMEOUT) {
+            return this;
+        }
+        var deadline = System.nanoTime() + Math.max(nanos, -MAX_TIMEOUT);
+        if (this.deadline != NO_DEADLINE && this.deadline - deadline <= 0) {
+            return this;
+        }
+        return new AsyncContext(deadline, token, keys, values);
+    }
+
+    /**
+     * Returns a context derived from this one with the given attribute set.
+     *
+     * @param key   the attribute key
+     * @param value the attribute value
+     * @param <V>   the attribute type
+     * @return a derived context
+     */
+    public <V> AsyncContext with(Key<V> key, V value) {
+        Objects.requireNonNull(key);
+        for (var i = 0; i < keys.length; ++i) {
+            if (keys[i] == key) {
+                var values = this.values.clone();
+                values[i] = value;
+                return new AsyncContext(deadline, token, keys, values);
+            }
+        }
+        var keys = Arrays.copyOf(this.keys, this.keys.length + 1);
+        var values = Arrays.copyOf(this.values, this.values.length + 1);
+        keys[keys.length - 1] = key;
+        values[values.length - 1] = value;
+        return new AsyncContext(deadline, token, keys, values);
+    }
+
+    /**
+     * Returns the value of the given attribute.
+     *
+     * @param key the attribute key
+     * @param <V> the attribute type
+     * @return the attribute value, or null if the attribute is not set
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(Key<V> key) {
+        for (var i = 0; i < keys.length; ++i) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the time remaining until the deadline.
+     *
+     * @return the remaining time, negative or zero if the deadline has passed, or null if there is no deadline
+     */
+    public Duration remaining() {
+        if (deadline == NO_DEADLINE) {
+            return null;
+        }
+        return Duration.ofNanos(deadline - System.nanoTime());
+    }
+
+    /**
+     * Checks whether the deadline of this context has passed.
+     *
+     * @return true if the deadline has passed, false otherwise
+     */
+    public boolean isExpired() {
+        return deadline != NO_DEADLINE && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Cancels this context and all contexts sharing its cancellation token.
+     */
+    public void cancel() {
+        token.cancelled = true;
+    }
+
+    /**
+     * Checks whether this context has been cancelled.
+     *
+     * @return true if the context is cancelled, false otherwise
+     */
+    public boolean isCancelled() {
+        return token.cancelled;
+    }
+
+    /**
+     * Returns the exception with which a stage starting now should fail.
+     *
+     * @return a {@link CancellationException} if the context is cancelled, a {@link TimeoutException}
+     * if its deadline has passed, or null if the stage may start
+     */
+    Throwable failure() {
+        if (token.cancelled) {
+            return new CancellationException("Context is cancelled");
+        }
+        if (isExpired()) {
+            return new TimeoutException("Deadline exceeded");
+        }
+        return null;
+    }
+
+    /**
+     * A key of a context attribute. Keys are compared by identity.
+     *
+     * @param <V> the attribute type
+     */
+    public static final class Key<V> {
+        private final String name;
+
+        /**
+         * Constructs a new {@link Key} with the given name.
+         *
+         * @param name the name of the key, used for debugging only
+         */
+        public Key(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return "Key{" + name + '}';
+        }
+    }
+
+    private static final class Token {
+        volatile boolean cancelled;
+    }
+}
@@ -33,6 +33,8 @@ public interface AsyncFunction1<T, R> {
 
     /**
      * Returns a composed function that first applies this function, then applies the {@code after} function to its result.
+     * <p>
+     * Cancelling the future of the composed function also cancels the future of the function still in flight.
      *
      * @param after the function to apply after this one
      * @param <V>   the output type of the {@code after} function
@@ -41,11 +43,13 @@ public interface AsyncFunction1<T, R> {
     @SuppressWarnings("unchecked")
     default <V> AsyncFunction1<T, V> andThen(AsyncFunction1<? super R, ? extends V> after) {
         Objects.requireNonNull(after);
-        return (T t) -> (CompletableFuture<V>) invokeAsync(t).thenCompose(after::invokeAsync);
+        return (T t) -> Futures.composeLinked(invokeAsync(t), r -> (CompletableFuture<V>) after.invokeAsync(r));
     }
 
     /**
      * Returns a composed function that first applies the {@code before} function, then applies this function to its result.
+     * <p>
+     * Cancelling the future of the composed function also cancels the future of the function still in flight.
      *
      * @param before the function to apply before this one
      * @param <V>    the input type of the {@code before} function
@@ -53,6 +57,39 @@ public interface AsyncFunction1<T, R> {
      */
     default <V> AsyncFunction1<V, R> compose(AsyncFunction1<? super V, ? extends T> before) {
         Objects.requireNonNull(before);
-        return (V v) -> before.invokeAsync(v).thenCompose(this::invokeAsync);
+        return (V v) -> Futures.composeLinked(before.invokeAsync(v), this::invokeAsync);
+    }
+
+    /**
+     * Returns a composed function that first applies this function, then applies the {@code after} function to its result.
+     * <p>
+     * Unlike {@link #andThen(AsyncFunction1)}, the {@code after} function is invoked inline if this function
+     * returns an already completed future, and its future is returned as is.
+     *
+     * @param after the function to apply after this one
+     * @param <V>   the output type of the {@code after} function
+     * @return a composed asynchronous function
+     * @see Futures#thenCompose(CompletableFuture, java.util.function.Function)
+     */
+    @SuppressWarnings("unchecked")
+    default <V> AsyncFunction1<T, V> andThenInline(AsyncFunction1<? super R, ? extends V> after) {
+        Objects.requireNonNull(after);
+        return (T t) -> Futures.thenCompose(invokeAsync(t), r -> (CompletableFuture<V>) after.invokeAsync(r));
+    }
+
+    /**
+     * Returns a composed function that first applies the {@code before} function, then applies this function to its result.
+     * <p>
+     * Unlike {@link #compose(AsyncFunction1)}, this function is invoked inline if the {@code before} function
+     * returns an already completed future, and its future is returned as is.
+     *
+     * @param before the function to apply before this one
+     * @param <V>    the input type of the {@code before} function
+     * @return a composed asynchronous function
+     * @see Futures#thenCompose(CompletableFuture, java.util.function.Function)
+     */
+    default <V> AsyncFunction1<V, R> composeInline(AsyncFunction1<? super V, ? extends T> before) {
+        Objects.requireNonNull(before);
+        return (V v) -> Futures.thenCompose(before.invokeAsync(v), this::invokeAsync);
     }
 }
@@ -0,0 +1,107 @@
+package com.github.romanqed.jsync;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Represents a limiter that controls the invocations of asynchronous functions without blocking the calling thread,
+ * such as limiting, timing out or retrying them.
+ * <p>
+ * A limiter may defer an invocation, in which case the returned future completes when the deferred invocation
+ * completes, invoke it more than once, or reject it, in which case the returned future is completed
+ * exceptionally, e.g. with {@link RejectedExecutionException}.
+ *
+ * @see ConcurrencyLimiter
+ * @see RateLimiter
+ * @see TimeoutPolicy
+ * @see RetryPolicy
+ * @see HedgePolicy
+ * @see CircuitBreaker
+ */
+public interface AsyncLimiter {
+
+    /**
+     * Submits the given task, invoking it as permitted by this limiter.
+     *
+     * @param task the task to invoke
+     * @param <T>  the result type
+     * @return a {@link CompletableFuture} representing the result of the task
+     */
+    <T> CompletableFuture<T> submit(AsyncFunction0<T> task);
+
+    /**
+     * Returns a function whose invocations are controlled by this limiter.
+     *
+     * @param func the function to be controlled
+     * @param <T>  the result type
+     * @return a controlled asynchronous function
+     */
+    default <T> AsyncFunction0<T> limit(AsyncFunction0<T> func) {
+        Objects.requireNonNull(func);
+        return () -> submit(func);
+    }
+
+    /**
+     * Returns a function whose invocations are controlled by this limiter.
+     *
+     * @param func the function to be controlled
+     * @param <T>  the input type
+     * @param <R>  the result type
+     * @return a controlled asynchronous function
+     */
+    default <T, R> AsyncFunction1<T, R> limit(AsyncFunction1<T, R> func) {
+        Objects.requireNonNull(func);
+        return t -> submit(() -> func.invokeAsync(t));
+    }
+
+    /**
+     * Returns a function whose invocations are controlled by this limiter.
+     *
+     * @param func the function to be controlled
+     * @param <T1> the first input type
+     * @param <T2> the second input type
+     * @param <R>  the result type
+     * @return a controlled asynchronous function
+     */
+    default <T1, T2, R> AsyncFunction2<T1, T2, R> limit(AsyncFunction2<T1, T2, R> func) {
+        Objects.requireNonNull(func);
+        return (t1, t2) -> submit(() -> func.invokeAsync(t1, t2));
+    }
+
+    /**
+     * Returns a runnable whose invocations are controlled by this limiter.
+     *
+     * @param func the runnable to be controlled
+     * @return a controlled asynchronous runnable
+     */
+    default AsyncRunnable0 limitRunnable(AsyncRunnable0 func) {
+        Objects.requireNonNull(func);
+        return () -> submit(func::runAsync);
+    }
+
+    /**
+     * Returns a runnable whose invocations are controlled by this limiter.
+     *
+     * @param func the runnable to be controlled
+     * @param <T>  the input type
+     * @return a controlled asynchronous runnable
+     */
+    default <T> AsyncRunnable1<T> limitRunnable(AsyncRunnable1<T> func) {
+        Objects.requireNonNull(func);
+        return t -> submit(() -> func.runAsync(t));
+    }
+
+    /**
+     * Returns a runnable whose invocations are controlled by this limiter.
+     *
+     * @param func the runnable to be controlled
+     * @param <T1> the first input type
+     * @param <T2> the second input type
+     * @return a controlled asynchronous runnable
+     */
+    default <T1, T2> AsyncRunnable2<T1, T2> limitRunnable(AsyncRunnable2<T1, T2> func) {
+        Objects.requireNonNull(func);
+        return (t1, t2) -> submit(() -> func.runAsync(t1, t2));
+    }
+}
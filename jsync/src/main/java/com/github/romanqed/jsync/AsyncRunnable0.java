@@ -31,12 +31,29 @@ public interface AsyncRunnable0 {
 
     /**
      * Returns a composed runnable that performs this operation followed by the given one.
+     * <p>
+     * Cancelling the future of the composed runnable also cancels the future of the operation still in flight.
      *
      * @param func the operation to perform after this one
      * @return a composed asynchronous runnable
      */
     default AsyncRunnable0 andThen(AsyncRunnable0 func) {
         Objects.requireNonNull(func);
-        return () -> runAsync().thenCompose(v -> func.runAsync());
+        return () -> Futures.composeLinked(runAsync(), v -> func.runAsync());
+    }
+
+    /**
+     * Returns a composed runnable that performs this operation followed by the given one.
+     * <p>
+     * Unlike {@link #andThen(AsyncRunnable0)}, the given operation is started inline if this operation
+     * returns an already completed future, and its future is returned as is.
+     *
+     * @param func the operation to perform after this one
+     * @return a composed asynchronous runnable
+     * @see Futures#thenCompose(CompletableFuture, java.util.function.Function)
+     */
+    default AsyncRunnable0 andThenInline(AsyncRunnable0 func) {
+        Objects.requireNonNull(func);
+        return () -> Futures.thenCompose(runAsync(), v -> func.runAsync());
     }
 }
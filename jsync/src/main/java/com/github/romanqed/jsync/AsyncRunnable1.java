@@ -34,12 +34,29 @@ public interface AsyncRunnable1<T> {
 
     /**
      * Returns a composed runnable that performs this operation followed by the given one, using the same input.
+     * <p>
+     * Cancelling the future of the composed runnable also cancels the future of the operation still in flight.
      *
      * @param func the operation to perform after this one
      * @return a composed asynchronous runnable
      */
     default AsyncRunnable1<T> andThen(AsyncRunnable1<T> func) {
         Objects.requireNonNull(func);
-        return t -> runAsync(t).thenCompose(v -> func.runAsync(t));
+        return t -> Futures.composeLinked(runAsync(t), v -> func.runAsync(t));
+    }
+
+    /**
+     * Returns a composed runnable that performs this operation followed by the given one, using the same input.
+     * <p>
+     * Unlike {@link #andThen(AsyncRunnable1)}, the given operation is started inline if this operation
+     * returns an already completed future, and its future is returned as is.
+     *
+     * @param func the operation to perform after this one
+     * @return a composed asynchronous runnable
+     * @see Futures#thenCompose(CompletableFuture, java.util.function.Function)
+     */
+    default AsyncRunnable1<T> andThenInline(AsyncRunnable1<T> func) {
+        Objects.requireNonNull(func);
+        return t -> Futures.thenCompose(runAsync(t), v -> func.runAsync(t));
     }
 }
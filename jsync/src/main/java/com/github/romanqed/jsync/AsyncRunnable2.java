@@ -37,12 +37,29 @@ public interface AsyncRunnable2<T1, T2> {
 
     /**
      * Returns a composed runnable that performs this operation followed by the given one, using the same inputs.
+     * <p>
+     * Cancelling the future of the composed runnable also cancels the future of the operation still in flight.
      *
      * @param func the operation to perform after this one
      * @return a composed asynchronous runnable
      */
     default AsyncRunnable2<T1, T2> andThen(AsyncRunnable2<T1, T2> func) {
         Objects.requireNonNull(func);
-        return (t1, t2) -> runAsync(t1, t2).thenCompose(v -> func.runAsync(t1, t2));
+        return (t1, t2) -> Futures.composeLinked(runAsync(t1, t2), v -> func.runAsync(t1, t2));
+    }
+
+    /**
+     * Returns a composed runnable that performs this operation followed by the given one, using the same inputs.
+     * <p>
+     * Unlike {@link #andThen(AsyncRunnable2)}, the given operation is started inline if this operation
+     * returns an already completed future, and its future is returned as is.
+     *
+     * @param func the operation to perform after this one
+     * @return a composed asynchronous runnable
+     * @see Futures#thenCompose(CompletableFuture, java.util.function.Function)
+     */
+    default AsyncRunnable2<T1, T2> andThenInline(AsyncRunnable2<T1, T2> func) {
+        Objects.requireNonNull(func);
+        return (t1, t2) -> Futures.thenCompose(runAsync(t1, t2), v -> func.runAsync(t1, t2));
     }
 }
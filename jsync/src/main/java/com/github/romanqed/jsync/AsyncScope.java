@@ -0,0 +1,181 @@
+package com.github.romanqed.jsync;
+
+import com.github.romanqed.jfunc.Durations;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A scope that tracks asynchronous invocations forked within it and cancels the remaining ones
+ * as soon as one of them fails, the deadline passes, or the scope is cancelled or closed.
+ * <p>
+ * Cancellation reaches the futures returned by the forked functions themselves, not only the futures returned
+ * by {@code fork}, so sources that react to cancellation can stop the work they started. Cancelling a future
+ * returned by {@code fork} likewise cancels the source future of that invocation, which fails the scope
+ * like any other failure.
+ * <p>
+ * {@link #join()} returns a future that completes when all forked invocations have completed successfully,
+ * or fails with the failure that cancelled the scope.
+ */
+public final class AsyncScope implements AutoCloseable {
+    private static final int SEALED = 1;
+    private static final int PENDING = 2;
+
+    private final Set<CompletableFuture<?>> sources;
+    // The number of pending invocations, shifted left by one, and the SEALED bit
+    private final AtomicInteger state;
+    private final CompletableFuture<Void> done;
+    private final CompletableFuture<Void> result;
+
+    /**
+     * Constructs a new {@link AsyncScope} with the given deadline, after which the scope fails
+     * with {@link TimeoutException} and cancels the remaining invocations.
+     *
+     * @param timeout the time from now until the deadline, must be positive
+     * @throws NullPointerException     if {@code timeout} is null
+     * @throws IllegalArgumentException if {@code timeout} is not positive
+     */
+    public AsyncScope(Duration timeout) {
+        this();
+        done.orTimeout(Durations.checkPositive(timeout), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Constructs a new {@link AsyncScope} without a deadline.
+     */
+    public AsyncScope() {
+        this.sources = ConcurrentHashMap.newKeySet();
+        // One extra pending unit, released by join, so that the scope does not complete before it is joined
+        this.state = new AtomicInteger(PENDING);
+        this.done = new CompletableFuture<>();
+        // Completed only after the sources are cancelled, so that joiners observe them cancelled
+        this.result = new CompletableFuture<>();
+        this.done.whenComplete((v, e) -> {
+            if (e == null) {
+                result.complete(null);
+                return;
+            }
+            cancelSources();
+            result.completeExceptionally(e);
+        });
+    }
+
+    /**
+     * Invokes the given function within this scope.
+     * If the scope is already cancelled or failed, the function is not invoked and the returned future
+     * is completed exceptionally with {@link CancellationException}.
+     *
+     * @param func the function to invoke
+     * @param <T>  the result type
+     * @return a {@link CompletableFuture} representing the result of the function
+     * @throws IllegalStateException if the scope is already joined and has not been cancelled or failed
+     */
+    public <T> CompletableFuture<T> fork(AsyncFunction0<T> func) {
+        Objects.requireNonNull(func);
+        if (done.isCompletedExceptionally()) {
+            return CompletableFuture.failedFuture(new CancellationException("Scope is cancelled"));
+        }
+        int current;
+        do {
+            current = state.get();
+            if ((current & SEALED) != 0) {
+                throw new IllegalStateException("Scope is already joined");
+            }
+        } while (!state.compareAndSet(current, current + PENDING));
+        var source = Futures.invoke(func);
+        sources.add(source);
+        var ret = source.copy();
+        ret.whenComplete((v, e) -> {
+            if (ret.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        source.whenComplete((v, e) -> {
+            sources.remove(source);
+            if (e != null) {
+                done.completeExceptionally(Futures.unwrap(e));
+            } else if (state.addAndGet(-PENDING) == SEALED) {
+                done.complete(null);
+            }
+        });
+        // The scope may have been cancelled between the check above and the registration of the source
+        if (done.isCompletedExceptionally()) {
+            source.cancel(true);
+        }
+        return ret;
+    }
+
+    /**
+     * Invokes the given function with the given argument within this scope.
+     *
+     * @param func the function to invoke
+     * @param t    the input argument
+     * @param <T>  the input type
+     * @param <R>  the result type
+     * @return a {@link CompletableFuture} representing the result of the function
+     * @see #fork(AsyncFunction0)
+     */
+    public <T, R> CompletableFuture<R> fork(AsyncFunction1<T, R> func, T t) {
+        Objects.requireNonNull(func);
+        return fork(() -> func.invokeAsync(t));
+    }
+
+    /**
+     * Seals this scope and returns a future that completes when all forked invocations have completed,
+     * or fails with the failure that cancelled the scope. No more invocations can be forked after this call.
+     *
+     * @return a {@link CompletableFuture} representing the completion of the scope
+     */
+    public CompletableFuture<Void> join() {
+        int current;
+        do {
+            current = state.get();
+            if ((current & SEALED) != 0) {
+                return result;
+            }
+        } while (!state.compareAndSet(current, (current - PENDING) | SEALED));
+        if (current == PENDING) {
+            done.complete(null);
+        }
+        return result;
+    }
+
+    /**
+     * Cancels this scope and all invocations that are still running.
+     */
+    public void cancel() {
+        done.completeExceptionally(new CancellationException("Scope is cancelled"));
+    }
+
+    /**
+     * Checks whether this scope has been cancelled, has failed or has passed its deadline.
+     *
+     * @return true if the scope is cancelled, false otherwise
+     */
+    public boolean isCancelled() {
+        return done.isCompletedExceptionally();
+    }
+
+    /**
+     * Cancels all invocations that are still running, unless the scope has already completed.
+     */
+    @Override
+    public void close() {
+        if (!done.isDone()) {
+            cancel();
+        }
+    }
+
+    private void cancelSources() {
+        for (var source : sources) {
+            source.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.romanqed.jsync;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link Flow.Subscriber} that consumes every item with an asynchronous runnable.
+ * <p>
+ * At most {@code concurrency} invocations run at a time: the subscriber requests that many items initially
+ * and one more each time an invocation completes, so a fast publisher never overwhelms a slow consumer.
+ * <p>
+ * {@link #completion()} completes when upstream has completed and all invocations have finished,
+ * or fails with the first upstream or invocation failure, in which case upstream is cancelled.
+ *
+ * @param <T> the type of items
+ */
+public final class AsyncSubscriber<T> implements Flow.Subscriber<T> {
+    private final AsyncRunnable1<? super T> runnable;
+    private final int concurrency;
+    private final AtomicInteger pending;
+    private final CompletableFuture<Void> completion;
+    private Flow.Subscription subscription;
+
+    /**
+     * Constructs a new {@link AsyncSubscriber}.
+     *
+     * @param runnable    the runnable invoked for every item
+     * @param concurrency the maximum number of invocations running at a time, must be positive
+     * @throws NullPointerException     if {@code runnable} is null
+     * @throws IllegalArgumentException if {@code concurrency} is not positive
+     */
+    public AsyncSubscriber(AsyncRunnable1<? super T> runnable, int concurrency) {
+        this.runnable = Objects.requireNonNull(runnable);
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+        this.concurrency = concurrency;
+        // One extra pending unit, released by onComplete, so that the subscriber does not complete too early
+        this.pending = new AtomicInteger(1);
+        this.completion = new CompletableFuture<>();
+    }
+
+    /**
+     * Returns a future that completes when all items have been consumed.
+     *
+     * @return a {@link CompletableFuture} representing the completion of the subscriber
+     */
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        synchronized (this) {
+            if (this.subscription != null || completion.isDone()) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+            subscription.request(concurrency);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (completion.isDone()) {
+            return;
+        }
+        pending.incrementAndGet();
+        CompletableFuture<Void> future;
+        try {
+            future = Objects.requireNonNull(runnable.runAsync(item));
+        } catch (Throwable e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((v, e) -> {
+            if (e != null) {
+                fail(Futures.unwrap(e));
+                return;
+            }
+            if (pending.decrementAndGet() == 0) {
+                completion.complete(null);
+                return;
+            }
+            // Calls to the subscription must be serialized
+            synchronized (this) {
+                if (!completion.isDone()) {
+                    subscription.request(1);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        completion.completeExceptionally(Objects.requireNonNull(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        if (pending.decrementAndGet() == 0) {
+            completion.complete(null);
+        }
+    }
+
+    private void fail(Throwable e) {
+        if (!completion.completeExceptionally(e)) {
+            return;
+        }
+        synchronized (this) {
+            subscription.cancel();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.romanqed.jsync;
+
+/**
+ * Internal utilities shared by the batching runnables.
+ */
+final class Batches {
+    private Batches() {
+    }
+
+    /**
+     * Returns the default capacity for the given batch size, which holds two full batches.
+     *
+     * @param maxBatchSize the maximum number of items in a batch
+     * @return the default capacity
+     */
+    static int capacity(int maxBatchSize) {
+        return maxBatchSize > Integer.MAX_VALUE / 2 ? maxBatchSize : maxBatchSize * 2;
+    }
+}
@@ -0,0 +1,182 @@
+package com.github.romanqed.jsync;
+
+import com.github.romanqed.jfunc.Durations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An asynchronous function that collects individual keys into batches and loads them with a single
+ * call to a bulk loader, implements {@link AsyncFunction1}.
+ * <p>
+ * A batch is opened by the first key that arrives and is dispatched when it reaches the maximum size,
+ * when the batching window elapses, or when {@link #dispatch()} is called, whichever happens first.
+ * Keys are deduplicated within a batch: callers requesting the same key share one load of it, but each caller
+ * receives its own copy of the future, so cancelling it does not affect the others.
+ * <p>
+ * The bulk loader receives the distinct keys in arrival order and must complete with a map from keys
+ * to values. Keys missing from the map are completed with {@code null}. If the loader fails,
+ * all futures of the batch are completed exceptionally with the same exception. If reading a value
+ * from the map throws, the futures of the batch not completed yet fail with that exception.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public final class BatchingAsyncFunction1<K, V> implements AsyncFunction1<K, V> {
+    private final AsyncFunction1<List<K>, Map<K, V>> loader;
+    private final int maxBatchSize;
+    private final Executor timer;
+    private final Object lock;
+    private Map<K, CompletableFuture<V>> batch;
+
+    /**
+     * Constructs a new {@link BatchingAsyncFunction1}.
+     *
+     * @param loader       the bulk loader
+     * @param maxBatchSize the maximum number of distinct keys in a batch, must be positive
+     * @param window       the time a batch waits for more keys before it is dispatched
+     * @param executor     the executor used to dispatch batches when the window elapses
+     * @throws NullPointerException     if any of {@code loader}, {@code window} or {@code executor} is null
+     * @throws IllegalArgumentException if {@code maxBatchSize} is not positive or {@code window} is negative
+     */
+    public BatchingAsyncFunction1(AsyncFunction1<List<K>, Map<K, V>> loader,
+                                  int maxBatchSize,
+                                  Duration window,
+                                  Executor executor) {
+        Objects.requireNonNull(loader);
+        Objects.requireNonNull(window);
+        Objects.requireNonNull(executor);
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Window must not be negative");
+        }
+        this.loader = loader;
+        this.maxBatchSize = maxBatchSize;
+        this.timer = CompletableFuture.delayedExecutor(Durations.toNanos(window), TimeUnit.NANOSECONDS, executor);
+        this.lock = new Object();
+    }
+
+    /**
+     * Constructs a new {@link BatchingAsyncFunction1}, which dispatches batches on the common pool
+     * when the window elapses.
+     *
+     * @param loader       the bulk loader
+     * @param maxBatchSize the maximum number of distinct keys in a batch, must be positive
+     * @param window       the time a batch waits for more keys before it is dispatched
+     * @throws NullPointerException     if any of {@code loader} or {@code window} is null
+     * @throws IllegalArgumentException if {@code maxBatchSize} is not positive or {@code window} is negative
+     */
+    public BatchingAsyncFunction1(AsyncFunction1<List<K>, Map<K, V>> loader, int maxBatchSize, Duration window) {
+        this(loader, maxBatchSize, window, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Adds the given key to the current batch and returns a future completed when the batch is loaded.
+     *
+     * @param key the key
+     * @return a {@link CompletableFuture} representing the value for the key
+     */
+    @Override
+    public CompletableFuture<V> invokeAsync(K key) {
+        Map<K, CompletableFuture<V>> opened = null;
+        Map<K, CompletableFuture<V>> full = null;
+        CompletableFuture<V> ret;
+        synchronized (lock) {
+            if (batch == null) {
+                batch = new LinkedHashMap<>();
+                opened = batch;
+            }
+            ret = batch.get(key);
+            if (ret != null) {
+                return ret.copy();
+            }
+            ret = new CompletableFuture<>();
+            batch.put(key, ret);
+            if (batch.size() >= maxBatchSize) {
+                full = batch;
+                batch = null;
+            }
+        }
+        if (full != null) {
+            load(full);
+        } else if (opened != null) {
+            var scheduled = opened;
+            timer.execute(() -> dispatch(scheduled));
+        }
+        // Each caller gets its own copy, so cancelling it does not affect the other callers of the same key
+        return ret.copy();
+    }
+
+    /**
+     * Dispatches the current batch immediately, without waiting for the window to elapse.
+     * Does nothing if there are no pending keys.
+     */
+    public void dispatch() {
+        Map<K, CompletableFuture<V>> current;
+        synchronized (lock) {
+            current = batch;
+            batch = null;
+        }
+        if (current != null) {
+            load(current);
+        }
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> scheduled) {
+        synchronized (lock) {
+            if (batch != scheduled) {
+                return;
+            }
+            batch = null;
+        }
+        load(scheduled);
+    }
+
+    private void load(Map<K, CompletableFuture<V>> batch) {
+        CompletableFuture<Map<K, V>> future;
+        try {
+            future = loader.invokeAsync(new ArrayList<>(batch.keySet()));
+        } catch (Throwable e) {
+            fail(batch, e);
+            return;
+        }
+        if (future == null) {
+            fail(batch, new NullPointerException("Bulk loader returned null future"));
+            return;
+        }
+        future.whenComplete((values, e) -> {
+            if (e != null) {
+                fail(batch, Futures.unwrap(e));
+                return;
+            }
+            if (values == null) {
+                fail(batch, new NullPointerException("Bulk loader returned null map"));
+                return;
+            }
+            try {
+                for (var entry : batch.entrySet()) {
+                    entry.getValue().complete(values.get(entry.getKey()));
+                }
+            } catch (Throwable ex) {
+                // Fails the futures not completed yet, the completed ones are left as is
+                fail(batch, ex);
+            }
+        });
+    }
+
+    private void fail(Map<K, CompletableFuture<V>> batch, Throwable e) {
+        for (var future : batch.values()) {
+            future.completeExceptionally(e);
+        }
+    }
+}
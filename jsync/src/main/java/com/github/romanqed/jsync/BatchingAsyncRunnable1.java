@@ -0,0 +1,338 @@
+package com.github.romanqed.jsync;
+
+import com.github.romanqed.jfunc.Durations;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An asynchronous runnable that accumulates items and writes them to an asynchronous sink in batches,
+ * implements {@link AsyncRunnable1}.
+ * <p>
+ * Items are collected in a lock-free queue and written when a full batch has accumulated, when the batching window
+ * of the oldest pending item elapses, or when {@link #flush()} is called. The future returned for an item completes
+ * when the batch containing it has been written, or fails with the failure of the sink.
+ * <p>
+ * The buffer is bounded: items that are queued or being written count against the capacity. Items submitted
+ * while it is full wait, in submission order, until written batches free up capacity, so their futures also
+ * apply backpressure to the producers. Once {@code maxWaiting} items are waiting, further ones are rejected with
+ * a failed future holding {@link RejectedExecutionException}, the same way {@link ConcurrencyLimiter} rejects
+ * excess work; with {@code maxWaiting} of zero, items are rejected as soon as the buffer is full. Cancelling
+ * the future of a waiting item removes it. Closing writes all pending items, including the waiting ones
+ * as capacity frees up, rejects further ones and completes {@link #completion()} once every accepted item
+ * has been written.
+ *
+ * @param <T> the type of items
+ */
+public final class BatchingAsyncRunnable1<T> implements AsyncRunnable1<T>, AutoCloseable {
+    private final AsyncRunnable1<List<T>> sink;
+    private final int maxBatchSize;
+    private final int capacity;
+    private final int maxWaiting;
+    private final Executor timer;
+    private final Queue<Entry<T>> buffer;
+    private final AtomicInteger queued;
+    private final AtomicInteger held;
+    private final Object lock;
+    private final ArrayDeque<Entry<T>> waiting;
+    private final AtomicInteger waiters;
+    private final CompletableFuture<Void> completion;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new {@link BatchingAsyncRunnable1}.
+     *
+     * @param sink         the sink receiving batches
+     * @param maxBatchSize the maximum number of items in a batch, must be positive
+     * @param window       the maximum time an item waits for its batch to fill up
+     * @param capacity     the maximum number of items queued or being written, must not be less
+     *                     than {@code maxBatchSize}
+     * @param maxWaiting   the maximum number of items waiting for capacity, must not be negative
+     * @param executor     the executor used to write batches when the window elapses
+     * @throws NullPointerException     if any of {@code sink}, {@code window} or {@code executor} is null
+     * @throws IllegalArgumentException if {@code maxBatchSize} is not positive, {@code capacity} is less
+     *                                  than {@code maxBatchSize}, or {@code window} or {@code maxWaiting}
+     *                                  is negative
+     */
+    public BatchingAsyncRunnable1(AsyncRunnable1<List<T>> sink,
+                                  int maxBatchSize,
+                                  Duration window,
+                                  int capacity,
+                                  int maxWaiting,
+                                  Executor executor) {
+        Objects.requireNonNull(sink);
+        Objects.requireNonNull(window);
+        Objects.requireNonNull(executor);
+        if (maxBatchSize <= 0 || capacity < maxBatchSize) {
+            throw new IllegalArgumentException("Max batch size must be positive and not greater than capacity");
+        }
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Window must not be negative");
+        }
+        if (maxWaiting < 0) {
+            throw new IllegalArgumentException("Max waiting must not be negative");
+        }
+        this.sink = sink;
+        this.maxBatchSize = maxBatchSize;
+        this.capacity = capacity;
+        this.maxWaiting = maxWaiting;
+        this.timer = CompletableFuture.delayedExecutor(Durations.toNanos(window), TimeUnit.NANOSECONDS, executor);
+        this.buffer = new ConcurrentLinkedQueue<>();
+        this.queued = new AtomicInteger();
+        this.held = new AtomicInteger();
+        this.lock = new Object();
+        this.waiting = new ArrayDeque<>();
+        this.waiters = new AtomicInteger();
+        this.completion = new CompletableFuture<>();
+    }
+
+    /**
+     * Constructs a new {@link BatchingAsyncRunnable1}, which holds up to two batches of items, lets any number
+     * of items wait for capacity and writes batches on the common pool when the window elapses.
+     *
+     * @param sink         the sink receiving batches
+     * @param maxBatchSize the maximum number of items in a batch, must be positive
+     * @param window       the maximum time an item waits for its batch to fill up
+     * @throws NullPointerException     if any of {@code sink} or {@code window} is null
+     * @throws IllegalArgumentException if {@code maxBatchSize} is not positive or {@code window} is negative
+     */
+    public BatchingAsyncRunnable1(AsyncRunnable1<List<T>> sink, int maxBatchSize, Duration window) {
+        this(sink, maxBatchSize, window, Batches.capacity(maxBatchSize), Integer.MAX_VALUE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Adds the given item to the pending batch, or to the waiting items if the buffer is full.
+     * If this runnable is closed or too many items are waiting, the returned future is completed exceptionally
+     * with {@link RejectedExecutionException}.
+     *
+     * @param t the item
+     * @return a {@link CompletableFuture} completed when the batch containing the item has been written
+     */
+    @Override
+    public CompletableFuture<Void> runAsync(T t) {
+        Objects.requireNonNull(t);
+        if (closed) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Batching runnable is closed"));
+        }
+        var entry = new Entry<>(t);
+        // Items only bypass the waiting ones if none are waiting
+        if (waiters.get() != 0 || !reserve()) {
+            synchronized (lock) {
+                if (!waiting.isEmpty() || !reserve()) {
+                    if (waiting.size() >= maxWaiting) {
+                        return CompletableFuture.failedFuture(new RejectedExecutionException("Batch buffer is full"));
+                    }
+                    waiting.offer(entry);
+                    waiters.incrementAndGet();
+                    entry.future.whenComplete((v, e) -> {
+                        if (e != null) {
+                            unwait(entry);
+                        }
+                    });
+                    return entry.future;
+                }
+            }
+        }
+        if (closed) {
+            // Closed concurrently, the reservation must not delay the completion
+            held.decrementAndGet();
+            admit();
+            tryComplete();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Batching runnable is closed"));
+        }
+        enqueue(entry);
+        return entry.future;
+    }
+
+    private boolean reserve() {
+        int current;
+        do {
+            current = held.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!held.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void unwait(Entry<T> entry) {
+        synchronized (lock) {
+            if (entry.admitted || !waiting.remove(entry)) {
+                return;
+            }
+            waiters.decrementAndGet();
+        }
+        tryComplete();
+    }
+
+    private void admit() {
+        while (true) {
+            Entry<T> entry;
+            synchronized (lock) {
+                entry = waiting.peek();
+                if (entry == null || !reserve()) {
+                    return;
+                }
+                waiting.poll();
+                waiters.decrementAndGet();
+                entry.admitted = true;
+            }
+            if (entry.future.isDone()) {
+                // Cancelled while waiting
+                held.decrementAndGet();
+                continue;
+            }
+            enqueue(entry);
+        }
+    }
+
+    private void tryComplete() {
+        // The reservation of an admitted item precedes its removal from the waiting ones
+        if (closed && waiters.get() == 0 && held.get() == 0) {
+            completion.complete(null);
+        }
+    }
+
+    private void enqueue(Entry<T> entry) {
+        buffer.offer(entry);
+        // Counted after the offer, so that every counted item can be polled
+        var count = queued.getAndIncrement();
+        if (closed) {
+            // Closed after the item was accepted, it must not be left behind
+            writeAll();
+            return;
+        }
+        if (count == 0) {
+            timer.execute(this::writeAll);
+        }
+        if (count + 1 >= maxBatchSize) {
+            while (write(maxBatchSize) != null) {
+                // Keep writing while full batches are available
+            }
+        }
+    }
+
+    /**
+     * Writes all pending items immediately, without waiting for the window to elapse.
+     *
+     * @return a {@link CompletableFuture} completed when the written batches have been accepted by the sink
+     */
+    public CompletableFuture<Void> flush() {
+        return writeAll();
+    }
+
+    /**
+     * Returns the number of items that are queued or being written.
+     *
+     * @return the number of pending items
+     */
+    public int size() {
+        return held.get();
+    }
+
+    /**
+     * Returns the number of items waiting for capacity.
+     *
+     * @return the number of waiting items
+     */
+    public int waiting() {
+        return waiters.get();
+    }
+
+    /**
+     * Returns a future that completes when this runnable is closed and all accepted items have been written.
+     *
+     * @return a {@link CompletableFuture} representing the completion of this runnable
+     */
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    /**
+     * Writes all pending items and rejects further ones. Does not wait for the writes to complete,
+     * use {@link #completion()} for that.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        writeAll();
+        tryComplete();
+    }
+
+    private CompletableFuture<Void> writeAll() {
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        CompletableFuture<Void> future;
+        while ((future = write(1)) != null) {
+            futures.add(future);
+        }
+        if (futures.size() == 1) {
+            return futures.get(0);
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private CompletableFuture<Void> write(int threshold) {
+        int current;
+        int count;
+        do {
+            current = queued.get();
+            if (current < threshold) {
+                return null;
+            }
+            count = Math.min(current, maxBatchSize);
+        } while (!queued.compareAndSet(current, current - count));
+        var size = count;
+        var entries = new ArrayList<Entry<T>>(count);
+        var batch = new ArrayList<T>(count);
+        for (var i = 0; i < count; ++i) {
+            var entry = buffer.poll();
+            entries.add(entry);
+            batch.add(entry.item);
+        }
+        CompletableFuture<Void> future;
+        try {
+            future = Objects.requireNonNull(sink.runAsync(batch));
+        } catch (Throwable e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((v, e) -> {
+            if (e == null) {
+                for (var entry : entries) {
+                    entry.future.complete(null);
+                }
+            } else {
+                var cause = Futures.unwrap(e);
+                for (var entry : entries) {
+                    entry.future.completeExceptionally(cause);
+                }
+            }
+            held.addAndGet(-size);
+            admit();
+            tryComplete();
+        });
+        return future;
+    }
+
+    private static final class Entry<T> {
+        final T item;
+        final CompletableFuture<Void> future;
+        // Guarded by the lock of the runnable
+        boolean admitted;
+
+        Entry(T item) {
+            this.item = item;
+            this.future = new CompletableFuture<>();
+        }
+    }
+}
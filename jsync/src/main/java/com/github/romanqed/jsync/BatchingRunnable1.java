@@ -0,0 +1,251 @@
+package com.github.romanqed.jsync;
+
+import com.github.romanqed.jfunc.Durations;
+import com.github.romanqed.jfunc.Runnable1;
+import com.github.romanqed.jfunc.UncheckedException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A runnable that accumulates items and writes them to a sink in batches, implements {@link Runnable1}.
+ * <p>
+ * Items are collected in a lock-free queue and written when a full batch has accumulated, when the batching window
+ * of the oldest pending item elapses, or when {@link #flush()} is called. Full batches are written by the thread
+ * whose item completed the batch; the sink is never invoked by two threads at once.
+ * <p>
+ * The buffer is bounded: when it is full, {@link #run(Object)} writes pending batches on the calling thread
+ * before accepting the item, so producers are slowed down to the pace of the sink.
+ * <p>
+ * If the sink fails, the batch is dropped and the failure is thrown to the caller that triggered the write.
+ * Failures of batches written when the window elapses are thrown by the next call to {@link #run(Object)},
+ * which then does not accept its item, {@link #flush()} or {@link #close()}.
+ * Closing writes all pending items and rejects further ones.
+ *
+ * @param <T> the type of items
+ */
+public final class BatchingRunnable1<T> implements Runnable1<T>, AutoCloseable {
+    private final Runnable1<List<T>> sink;
+    private final int maxBatchSize;
+    private final int capacity;
+    private final Executor timer;
+    private final Queue<T> buffer;
+    private final AtomicInteger size;
+    private final ReentrantLock lock;
+    private volatile Throwable failure;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new {@link BatchingRunnable1}.
+     *
+     * @param sink         the sink receiving batches
+     * @param maxBatchSize the maximum number of items in a batch, must be positive
+     * @param window       the maximum time an item waits for its batch to fill up
+     * @param capacity     the maximum number of pending items, must not be less than {@code maxBatchSize}
+     * @param executor     the executor used to write batches when the window elapses
+     * @throws NullPointerException     if any of {@code sink}, {@code window} or {@code executor} is null
+     * @throws IllegalArgumentException if {@code maxBatchSize} is not positive, {@code capacity} is less
+     *                                  than {@code maxBatchSize} or {@code window} is negative
+     */
+    public BatchingRunnable1(Runnable1<List<T>> sink,
+                             int maxBatchSize,
+                             Duration window,
+                             int capacity,
+                             Executor executor) {
+        Objects.requireNonNull(sink);
+        Objects.requireNonNull(window);
+        Objects.requireNonNull(executor);
+        if (maxBatchSize <= 0 || capacity < maxBatchSize) {
+            throw new IllegalArgumentException("Max batch size must be positive and not greater than capacity");
+        }
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Window must not be negative");
+        }
+        this.sink = sink;
+        this.maxBatchSize = maxBatchSize;
+        this.capacity = capacity;
+        this.timer = CompletableFuture.delayedExecutor(Durations.toNanos(window), TimeUnit.NANOSECONDS, executor);
+        this.buffer = new ConcurrentLinkedQueue<>();
+        this.size = new AtomicInteger();
+        this.lock = new ReentrantLock();
+    }
+
+    /**
+     * Constructs a new {@link BatchingRunnable1}, which holds up to two batches of pending items
+     * and writes batches on the common pool when the window elapses.
+     *
+     * @param sink         the sink receiving batches
+     * @param maxBatchSize the maximum number of items in a batch, must be positive
+     * @param window       the maximum time an item waits for its batch to fill up
+     * @throws NullPointerException     if any of {@code sink} or {@code window} is null
+     * @throws IllegalArgumentException if {@code maxBatchSize} is not positive or {@code window} is negative
+     */
+    public BatchingRunnable1(Runnable1<List<T>> sink, int maxBatchSize, Duration window) {
+        this(sink, maxBatchSize, window, Batches.capacity(maxBatchSize), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Adds the given item to the pending batch, writing full batches if necessary.
+     *
+     * @param t the item
+     * @throws IllegalStateException if this runnable is closed
+     * @throws Throwable             if the sink fails
+     */
+    @Override
+    public void run(T t) throws Throwable {
+        Objects.requireNonNull(t);
+        if (closed) {
+            throw new IllegalStateException("Batching runnable is closed");
+        }
+        rethrow();
+        int current;
+        while (true) {
+            current = size.get();
+            if (current < capacity) {
+                if (size.compareAndSet(current, current + 1)) {
+                    break;
+                }
+                continue;
+            }
+            // The buffer is full, help the sink catch up
+            lock.lock();
+            try {
+                write(maxBatchSize);
+            } finally {
+                lock.unlock();
+            }
+        }
+        buffer.offer(t);
+        if (closed) {
+            // Closed concurrently after the check above, the item must not be left behind
+            flush();
+            return;
+        }
+        if (current == 0) {
+            timer.execute(this::expire);
+        }
+        if (current + 1 >= maxBatchSize) {
+            drain();
+        }
+    }
+
+    /**
+     * Writes all pending items immediately, without waiting for the window to elapse.
+     *
+     * @throws Throwable if the sink fails
+     */
+    public void flush() throws Throwable {
+        lock.lock();
+        try {
+            writeAll();
+        } finally {
+            lock.unlock();
+        }
+        rethrow();
+    }
+
+    /**
+     * Returns the number of pending items.
+     *
+     * @return the number of pending items
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Writes all pending items and rejects further ones.
+     * <p>
+     * Unchecked sink failures are thrown as is, checked ones are wrapped into {@link UncheckedException}.
+     *
+     * @throws UncheckedException if the sink fails with a checked exception
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            flush();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UncheckedException(e);
+        }
+    }
+
+    private void drain() throws Throwable {
+        while (size.get() >= maxBatchSize) {
+            if (!lock.tryLock()) {
+                // A batch left behind is written by the next producer or when the window elapses
+                return;
+            }
+            try {
+                write(maxBatchSize);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void expire() {
+        lock.lock();
+        try {
+            writeAll();
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            lock.unlock();
+        }
+        // Items added after the snapshot need a deadline of their own
+        if (size.get() > 0) {
+            timer.execute(this::expire);
+        }
+    }
+
+    private void writeAll() throws Throwable {
+        // Only the items pending at the moment of the call, so that steady producers cannot keep it running forever
+        var pending = size.get();
+        while (pending > 0 && size.get() > 0) {
+            pending -= write(1);
+        }
+    }
+
+    private void rethrow() throws Throwable {
+        var e = failure;
+        if (e != null) {
+            failure = null;
+            throw e;
+        }
+    }
+
+    private int write(int threshold) throws Throwable {
+        if (size.get() < threshold) {
+            return 0;
+        }
+        var batch = new ArrayList<T>(Math.min(maxBatchSize, size.get()));
+        T item;
+        while (batch.size() < maxBatchSize && (item = buffer.poll()) != null) {
+            batch.add(item);
+        }
+        if (batch.isEmpty()) {
+            // The size was reserved, but the item is not offered yet
+            Thread.onSpinWait();
+            return 0;
+        }
+        try {
+            sink.run(batch);
+        } finally {
+            size.addAndGet(-batch.size());
+        }
+        return batch.size();
+    }
+}
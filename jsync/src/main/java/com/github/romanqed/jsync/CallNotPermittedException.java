@@ -0,0 +1,21 @@
+package com.github.romanqed.jsync;
+
+/**
+ * An unchecked exception thrown, or used to complete futures exceptionally, when a {@link CircuitBreaker}
+ * does not permit a call.
+ * <p>
+ * The exception does not capture a stack trace, since it is created on the hot path of rejected calls
+ * and the rejection reason does not depend on the call site.
+ */
+public final class CallNotPermittedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new {@link CallNotPermittedException} with the given message.
+     *
+     * @param message the detail message
+     */
+    public CallNotPermittedException(String message) {
+        super(message, null, false, false);
+    }
+}
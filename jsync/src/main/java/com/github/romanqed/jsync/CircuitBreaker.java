@@ -0,0 +1,367 @@
+package com.github.romanqed.jsync;
+
+import com.github.romanqed.jfunc.Durations;
+import com.github.romanqed.jfunc.Function1;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A circuit breaker that stops calling a failing or slow dependency, implements {@link AsyncLimiter}.
+ * <p>
+ * While {@link State#CLOSED closed}, the breaker records the outcomes of the last {@code windowSize} calls.
+ * Once at least {@code minimumCalls} calls are recorded and the share of failed calls or of calls slower than
+ * {@code slowCallDuration} reaches its threshold, the breaker opens. While {@link State#OPEN open}, calls are
+ * rejected immediately with {@link CallNotPermittedException}. After {@code openDuration}, the breaker becomes
+ * {@link State#HALF_OPEN half-open} and lets {@code probes} calls through: if all of them succeed in time,
+ * the breaker closes with an empty window, otherwise it opens again. If the probes do not all complete within
+ * {@code halfOpenDuration}, the breaker opens again as well, so a hung probe cannot keep it half-open forever;
+ * the outcomes of probes completing after that are ignored.
+ * <p>
+ * Cancelled calls, i.e. calls completing with {@link CancellationException}, are neutral: they are not recorded,
+ * and a cancelled probe hands its permit back, so another call can probe in its place.
+ * <p>
+ * The breaker guards both asynchronous functions, via {@link #submit(AsyncFunction0)} and the {@code limit} methods,
+ * and synchronous {@link Function1} instances, via {@link #guard(Function1)}. State transitions are made with
+ * compare-and-set and outcomes are recorded into an atomic ring buffer, so the breaker takes no locks.
+ */
+public final class CircuitBreaker implements AsyncLimiter {
+    private static final int RECORDED = 1;
+    private static final int FAILED = 2;
+    private static final int SLOW = 4;
+
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallDuration;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final long openDuration;
+    private final long halfOpenDuration;
+    private final int probes;
+    private final AtomicReference<Phase> phase;
+
+    /**
+     * Constructs a new {@link CircuitBreaker}.
+     *
+     * @param failureRateThreshold  the share of failed calls at which the breaker opens, in (0, 1]
+     * @param slowCallRateThreshold the share of slow calls at which the breaker opens, in (0, 1]
+     * @param slowCallDuration      the duration from which a call is considered slow, or null to ignore slow calls
+     * @param windowSize            the number of the last calls whose outcomes are recorded, must be positive
+     * @param minimumCalls          the minimum number of recorded calls required to open the breaker,
+     *                              in [1, {@code windowSize}]
+     * @param openDuration          the time the breaker stays open before probing, must be positive
+     * @param halfOpenDuration      the maximum time the breaker waits for the probes to complete before
+     *                              opening again, must be positive
+     * @param probes                the number of calls let through while half-open, must be positive
+     * @throws NullPointerException     if {@code openDuration} or {@code halfOpenDuration} is null
+     * @throws IllegalArgumentException if any of the arguments is out of range
+     */
+    public CircuitBreaker(double failureRateThreshold,
+                          double slowCallRateThreshold,
+                          Duration slowCallDuration,
+                          int windowSize,
+                          int minimumCalls,
+                          Duration openDuration,
+                          Duration halfOpenDuration,
+                          int probes) {
+        if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)
+                || !(slowCallRateThreshold > 0 && slowCallRateThreshold <= 1)) {
+            throw new IllegalArgumentException("Rate thresholds must be in (0, 1]");
+        }
+        if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("Window size must be positive and not less than minimum calls");
+        }
+        if (probes <= 0) {
+            throw new IllegalArgumentException("Probes must be positive");
+        }
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallDuration = slowCallDuration == null ? 0 : Durations.checkPositive(slowCallDuration);
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.openDuration = Durations.checkPositive(openDuration);
+        this.halfOpenDuration = Durations.checkPositive(halfOpenDuration);
+        this.probes = probes;
+        this.phase = new AtomicReference<>(closed());
+    }
+
+    /**
+     * Constructs a new {@link CircuitBreaker} that waits for the probes as long as it stays open.
+     *
+     * @param failureRateThreshold  the share of failed calls at which the breaker opens, in (0, 1]
+     * @param slowCallRateThreshold the share of slow calls at which the breaker opens, in (0, 1]
+     * @param slowCallDuration      the duration from which a call is considered slow, or null to ignore slow calls
+     * @param windowSize            the number of the last calls whose outcomes are recorded, must be positive
+     * @param minimumCalls          the minimum number of recorded calls required to open the breaker,
+     *                              in [1, {@code windowSize}]
+     * @param openDuration          the time the breaker stays open before probing, must be positive
+     * @param probes                the number of calls let through while half-open, must be positive
+     * @throws NullPointerException     if {@code openDuration} is null
+     * @throws IllegalArgumentException if any of the arguments is out of range
+     */
+    public CircuitBreaker(double failureRateThreshold,
+                          double slowCallRateThreshold,
+                          Duration slowCallDuration,
+                          int windowSize,
+                          int minimumCalls,
+                          Duration openDuration,
+                          int probes) {
+        this(failureRateThreshold,
+                slowCallRateThreshold,
+                slowCallDuration,
+                windowSize,
+                minimumCalls,
+                openDuration,
+                openDuration,
+                probes);
+    }
+
+    /**
+     * Constructs a new {@link CircuitBreaker} that ignores slow calls, opens only when the window is full
+     * and lets one call through while half-open.
+     *
+     * @param failureRateThreshold the share of failed calls at which the breaker opens, in (0, 1]
+     * @param windowSize           the number of the last calls whose outcomes are recorded, must be positive
+     * @param openDuration         the time the breaker stays open before probing, must be positive
+     * @throws NullPointerException     if {@code openDuration} is null
+     * @throws IllegalArgumentException if any of the arguments is out of range
+     */
+    public CircuitBreaker(double failureRateThreshold, int windowSize, Duration openDuration) {
+        this(failureRateThreshold, 1, null, windowSize, windowSize, openDuration, 1);
+    }
+
+    private static CallNotPermittedException reject() {
+        return new CallNotPermittedException("Circuit breaker is open");
+    }
+
+    /**
+     * Returns the current state of this breaker.
+     *
+     * @return the current state
+     */
+    public State state() {
+        var current = phase.get();
+        var now = System.nanoTime();
+        if (current.state == State.HALF_OPEN && now - current.since >= halfOpenDuration) {
+            current = reopen(current);
+        }
+        if (current.state == State.OPEN && now - current.since >= openDuration) {
+            return State.HALF_OPEN;
+        }
+        return current.state;
+    }
+
+    /**
+     * Closes this breaker and discards all recorded outcomes.
+     */
+    public void reset() {
+        phase.set(closed());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(AsyncFunction0<T> task) {
+        var admitted = acquire();
+        if (admitted == null) {
+            return CompletableFuture.failedFuture(reject());
+        }
+        var start = System.nanoTime();
+        var ret = Futures.invoke(task);
+        if (!ret.isDone()) {
+            ret.whenComplete((value, e) -> complete(admitted, start, e));
+        } else if (ret.isCancelled()) {
+            release(admitted);
+        } else {
+            record(admitted, start, ret.isCompletedExceptionally());
+        }
+        return ret;
+    }
+
+    /**
+     * Returns a synchronous function whose calls are guarded by this breaker.
+     * While the breaker does not permit calls, the returned function throws {@link CallNotPermittedException}.
+     *
+     * @param func the function to be guarded
+     * @param <T>  the type of the function parameter
+     * @param <R>  the type of the result of the function
+     * @return a guarded function
+     */
+    public <T, R> Function1<T, R> guard(Function1<T, R> func) {
+        Objects.requireNonNull(func);
+        return t -> {
+            var admitted = acquire();
+            if (admitted == null) {
+                throw reject();
+            }
+            var start = System.nanoTime();
+            R ret;
+            try {
+                ret = func.invoke(t);
+            } catch (Throwable e) {
+                complete(admitted, start, e);
+                throw e;
+            }
+            record(admitted, start, false);
+            return ret;
+        };
+    }
+
+    private Phase closed() {
+        return new Phase(State.CLOSED, 0, new Window(windowSize), 0);
+    }
+
+    private Phase acquire() {
+        while (true) {
+            var current = phase.get();
+            if (current.state == State.CLOSED) {
+                return current;
+            }
+            var now = System.nanoTime();
+            if (current.state == State.HALF_OPEN) {
+                if (now - current.since < halfOpenDuration) {
+                    return current.takeProbe() ? current : null;
+                }
+                phase.compareAndSet(current, reopen(current));
+                continue;
+            }
+            if (now - current.since < openDuration) {
+                return null;
+            }
+            phase.compareAndSet(current, new Phase(State.HALF_OPEN, now, null, probes));
+        }
+    }
+
+    private Phase reopen(Phase halfOpen) {
+        // Opened at the moment the probes timed out, not when it is noticed
+        return new Phase(State.OPEN, halfOpen.since + halfOpenDuration, null, 0);
+    }
+
+    private void complete(Phase admitted, long start, Throwable e) {
+        if (Futures.unwrap(e) instanceof CancellationException) {
+            release(admitted);
+        } else {
+            record(admitted, start, e != null);
+        }
+    }
+
+    private void release(Phase admitted) {
+        // A cancelled call tells nothing about the dependency, so a probe permit is handed back
+        if (admitted.state == State.HALF_OPEN) {
+            admitted.permits.incrementAndGet();
+        }
+    }
+
+    private void record(Phase admitted, long start, boolean failed) {
+        var now = System.nanoTime();
+        var slow = slowCallDuration > 0 && now - start >= slowCallDuration;
+        if (admitted.state == State.CLOSED) {
+            if (admitted.window.record(RECORDED | (failed ? FAILED : 0) | (slow ? SLOW : 0))) {
+                phase.compareAndSet(admitted, new Phase(State.OPEN, now, null, 0));
+            }
+            return;
+        }
+        if (failed || slow) {
+            phase.compareAndSet(admitted, new Phase(State.OPEN, now, null, 0));
+        } else if (admitted.succeeded.incrementAndGet() == probes) {
+            phase.compareAndSet(admitted, closed());
+        }
+    }
+
+    /**
+     * The state of a circuit breaker.
+     */
+    public enum State {
+        /**
+         * Calls are permitted and their outcomes are recorded.
+         */
+        CLOSED,
+        /**
+         * Calls are rejected.
+         */
+        OPEN,
+        /**
+         * A limited number of probe calls are permitted to decide whether to close the breaker.
+         */
+        HALF_OPEN
+    }
+
+    private static final class Phase {
+        final State state;
+        final long since;
+        final Window window;
+        final AtomicInteger permits;
+        final AtomicInteger succeeded;
+
+        Phase(State state, long since, Window window, int probes) {
+            this.state = state;
+            this.since = since;
+            this.window = window;
+            if (state == State.HALF_OPEN) {
+                this.permits = new AtomicInteger(probes);
+                this.succeeded = new AtomicInteger();
+            } else {
+                this.permits = null;
+                this.succeeded = null;
+            }
+        }
+
+        boolean takeProbe() {
+            int current;
+            do {
+                current = permits.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!permits.compareAndSet(current, current - 1));
+            return true;
+        }
+    }
+
+    private final class Window {
+        final AtomicIntegerArray outcomes;
+        final AtomicInteger cursor;
+        final AtomicInteger total;
+        final AtomicInteger failures;
+        final AtomicInteger slows;
+
+        Window(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+            this.cursor = new AtomicInteger();
+            this.total = new AtomicInteger();
+            this.failures = new AtomicInteger();
+            this.slows = new AtomicInteger();
+        }
+
+        /**
+         * Records an outcome, replacing the oldest one.
+         *
+         * @param outcome the outcome flags
+         * @return true if the failure or slow call rate has reached its threshold, false otherwise
+         */
+        boolean record(int outcome) {
+            var index = Math.floorMod(cursor.getAndIncrement(), outcomes.length());
+            var old = outcomes.getAndSet(index, outcome);
+            if ((old & RECORDED) == 0) {
+                total.incrementAndGet();
+            }
+            update(failures, old, outcome, FAILED);
+            update(slows, old, outcome, SLOW);
+            var calls = total.get();
+            if (calls < minimumCalls) {
+                return false;
+            }
+            return failures.get() >= failureRateThreshold * calls || slows.get() >= slowCallRateThreshold * calls;
+        }
+
+        private void update(AtomicInteger counter, int old, int outcome, int flag) {
+            var delta = (outcome & flag) - (old & flag);
+            if (delta != 0) {
+                counter.addAndGet(delta / flag);
+            }
+        }
+    }
+}
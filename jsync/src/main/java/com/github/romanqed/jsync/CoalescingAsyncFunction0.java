@@ -0,0 +1,76 @@
+package com.github.romanqed.jsync;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An asynchronous function that coalesces concurrent invocations, implements {@link AsyncFunction0}.
+ * <p>
+ * While an invocation is in flight, all other callers share its result instead of invoking
+ * the wrapped function again. The result is not cached: the next call after completion
+ * invokes the wrapped function anew.
+ * <p>
+ * Each caller receives its own copy of the shared future, so cancelling or completing it does not affect other callers.
+ *
+ * @param <T> the result type
+ */
+public final class CoalescingAsyncFunction0<T> implements AsyncFunction0<T> {
+    private final AsyncFunction0<T> body;
+    private final AtomicReference<CompletableFuture<T>> inFlight;
+
+    /**
+     * Constructs a new {@link CoalescingAsyncFunction0} with the given body.
+     *
+     * @param body the function whose invocations will be coalesced
+     * @throws NullPointerException if {@code body} is null
+     */
+    public CoalescingAsyncFunction0(AsyncFunction0<T> body) {
+        this.body = Objects.requireNonNull(body);
+        this.inFlight = new AtomicReference<>();
+    }
+
+    /**
+     * Joins the invocation in flight, or, if there is no such invocation, starts a new one.
+     *
+     * @return a {@link CompletableFuture} representing the asynchronous result
+     */
+    @Override
+    public CompletableFuture<T> invokeAsync() {
+        var shared = inFlight.get();
+        if (shared != null) {
+            return shared.copy();
+        }
+        var created = new CompletableFuture<T>();
+        if ((shared = inFlight.compareAndExchange(null, created)) != null) {
+            return shared.copy();
+        }
+        var ret = created.copy();
+        CompletableFuture<T> future;
+        try {
+            future = Objects.requireNonNull(body.invokeAsync());
+        } catch (Throwable e) {
+            inFlight.compareAndSet(created, null);
+            created.completeExceptionally(e);
+            return ret;
+        }
+        future.whenComplete((value, e) -> {
+            inFlight.compareAndSet(created, null);
+            if (e == null) {
+                created.complete(value);
+            } else {
+                created.completeExceptionally(Futures.unwrap(e));
+            }
+        });
+        return ret;
+    }
+
+    /**
+     * Checks whether an invocation is currently in flight.
+     *
+     * @return true if an invocation is in flight, false otherwise
+     */
+    public boolean isInFlight() {
+        return inFlight.get() != null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.romanqed.jsync;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An asynchronous function that coalesces concurrent invocations with equal arguments, implements {@link AsyncFunction1}.
+ * <p>
+ * While an invocation for some argument is in flight, all other callers with an equal argument share its result
+ * instead of invoking the wrapped function again. The in-flight entry is removed as soon as the invocation completes,
+ * so results are not cached: the next call after completion invokes the wrapped function anew.
+ * <p>
+ * Each caller receives its own copy of the shared future, so cancelling or completing it does not affect other callers.
+ *
+ * @param <T> the input type
+ * @param <R> the result type
+ */
+public final class CoalescingAsyncFunction1<T, R> implements AsyncFunction1<T, R> {
+    private static final Object NULL_KEY = new Object();
+
+    private final AsyncFunction1<T, R> body;
+    private final ConcurrentMap<Object, CompletableFuture<R>> inFlight;
+
+    /**
+     * Constructs a new {@link CoalescingAsyncFunction1} with the given body.
+     *
+     * @param body the function whose invocations will be coalesced
+     * @throws NullPointerException if {@code body} is null
+     */
+    public CoalescingAsyncFunction1(AsyncFunction1<T, R> body) {
+        this.body = Objects.requireNonNull(body);
+        this.inFlight = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Joins the invocation in flight for the given argument, or, if there is no such invocation, starts a new one.
+     *
+     * @param t the input argument
+     * @return a {@link CompletableFuture} representing the asynchronous result
+     */
+    @Override
+    public CompletableFuture<R> invokeAsync(T t) {
+        var key = t == null ? NULL_KEY : t;
+        var shared = inFlight.get(key);
+        if (shared != null) {
+            return shared.copy();
+        }
+        var created = new CompletableFuture<R>();
+        if ((shared = inFlight.putIfAbsent(key, created)) != null) {
+            return shared.copy();
+        }
+        var ret = created.copy();
+        CompletableFuture<R> future;
+        try {
+            future = Objects.requireNonNull(body.invokeAsync(t));
+        } catch (Throwable e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+            return ret;
+        }
+        future.whenComplete((value, e) -> {
+            inFlight.remove(key, created);
+            if (e == null) {
+                created.complete(value);
+            } else {
+                created.completeExceptionally(Futures.unwrap(e));
+            }
+        });
+        return ret;
+    }
+
+    /**
+     * Returns the number of invocations currently in flight.
+     *
+     * @return the number of in-flight invocations
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
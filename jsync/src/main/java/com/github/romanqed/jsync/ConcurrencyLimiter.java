@@ -0,0 +1,169 @@
+package com.github.romanqed.jsync;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A limiter that bounds the number of asynchronous invocations in flight, implements {@link AsyncLimiter}.
+ * <p>
+ * An invocation starts immediately if fewer than the maximum number of invocations are in flight.
+ * Otherwise it is queued, and started when one of the in-flight invocations completes, or rejected
+ * if the queue is full. No threads are blocked while waiting: queued invocations are started
+ * by the thread completing the previous one.
+ * <p>
+ * Cancelling the future of a queued invocation, or completing it in any other way, removes it from the queue
+ * without invoking the task, so it no longer counts against the queue limit.
+ */
+public final class ConcurrencyLimiter implements AsyncLimiter {
+    private final int maxConcurrency;
+    private final int maxQueued;
+    private final Object lock;
+    private final Queue<Pending<?>> queue;
+    private int active;
+
+    /**
+     * Constructs a new {@link ConcurrencyLimiter} with the given limits.
+     *
+     * @param maxConcurrency the maximum number of invocations in flight, must be positive
+     * @param maxQueued      the maximum number of queued invocations, must not be negative
+     * @throws IllegalArgumentException if {@code maxConcurrency} is not positive or {@code maxQueued} is negative
+     */
+    public ConcurrencyLimiter(int maxConcurrency, int maxQueued) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive");
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Max queued must not be negative");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueued = maxQueued;
+        this.lock = new Object();
+        this.queue = new ArrayDeque<>();
+    }
+
+    /**
+     * Constructs a new {@link ConcurrencyLimiter} with the given concurrency limit and an unbounded queue.
+     *
+     * @param maxConcurrency the maximum number of invocations in flight, must be positive
+     * @throws IllegalArgumentException if {@code maxConcurrency} is not positive
+     */
+    public ConcurrencyLimiter(int maxConcurrency) {
+        this(maxConcurrency, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(AsyncFunction0<T> task) {
+        synchronized (lock) {
+            if (active >= maxConcurrency) {
+                if (queue.size() >= maxQueued) {
+                    return CompletableFuture.failedFuture(
+                            new RejectedExecutionException("Concurrency limit exceeded"));
+                }
+                var pending = new Pending<>(task);
+                queue.offer(pending);
+                pending.promise.whenComplete((v, e) -> {
+                    if (e != null) {
+                        dequeue(pending);
+                    }
+                });
+                return pending.promise;
+            }
+            ++active;
+        }
+        var ret = Futures.invoke(task);
+        if (ret.isDone()) {
+            release();
+        } else {
+            ret.whenComplete((v, e) -> release());
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the number of invocations currently in flight.
+     *
+     * @return the number of in-flight invocations
+     */
+    public int active() {
+        synchronized (lock) {
+            return active;
+        }
+    }
+
+    /**
+     * Returns the number of invocations currently waiting in the queue.
+     *
+     * @return the number of queued invocations
+     */
+    public int queued() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    private void dequeue(Pending<?> pending) {
+        synchronized (lock) {
+            if (!pending.started) {
+                queue.remove(pending);
+            }
+        }
+    }
+
+    private void release() {
+        // Hands the permit over to queued invocations; a loop instead of recursion keeps
+        // the stack flat when queued invocations complete synchronously
+        while (true) {
+            Pending<?> next;
+            synchronized (lock) {
+                do {
+                    next = queue.poll();
+                } while (next != null && next.promise.isDone());
+                if (next == null) {
+                    --active;
+                    return;
+                }
+                next.started = true;
+            }
+            if (!next.start()) {
+                return;
+            }
+        }
+    }
+
+    private final class Pending<T> {
+        final AsyncFunction0<T> task;
+        final CompletableFuture<T> promise;
+        // Guarded by the lock of the limiter
+        boolean started;
+
+        Pending(AsyncFunction0<T> task) {
+            this.task = task;
+            this.promise = new CompletableFuture<>();
+        }
+
+        boolean start() {
+            var future = Futures.invoke(task);
+            if (future.isDone()) {
+                pipe(future);
+                return true;
+            }
+            future.whenComplete((v, e) -> {
+                pipe(future);
+                release();
+            });
+            return false;
+        }
+
+        private void pipe(CompletableFuture<T> future) {
+            future.whenComplete((v, e) -> {
+                if (e == null) {
+                    promise.complete(v);
+                } else {
+                    promise.completeExceptionally(Futures.unwrap(e));
+                }
+            });
+        }
+    }
+}
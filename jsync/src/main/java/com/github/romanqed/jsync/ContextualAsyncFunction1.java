@@ -0,0 +1,101 @@
+package com.github.romanqed.jsync;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Represents an asynchronous function that takes one argument along with an {@link AsyncContext}
+ * and produces a result.
+ * <p>
+ * Composed functions pass the same context to every stage. Before a stage is started, the context is checked:
+ * if it is cancelled or its deadline has passed, the stage is skipped and the result fails immediately.
+ *
+ * @param <T> the input type
+ * @param <R> the result type
+ * @see AsyncContext
+ */
+@FunctionalInterface
+public interface ContextualAsyncFunction1<T, R> {
+
+    /**
+     * Returns a contextual function that invokes the given function, unless the context
+     * is cancelled or has expired.
+     *
+     * @param func the function to invoke
+     * @param <T>  the input type
+     * @param <R>  the result type
+     * @return a contextual asynchronous function
+     */
+    static <T, R> ContextualAsyncFunction1<T, R> of(AsyncFunction1<T, R> func) {
+        Objects.requireNonNull(func);
+        return (context, t) -> {
+            var failure = context.failure();
+            if (failure != null) {
+                return CompletableFuture.failedFuture(failure);
+            }
+            return func.invokeAsync(t);
+        };
+    }
+
+    /**
+     * Invokes this function asynchronously with the given context and input.
+     *
+     * @param context the context of the invocation
+     * @param t       the input argument
+     * @return a {@link CompletableFuture} representing the asynchronous result
+     */
+    CompletableFuture<R> invokeAsync(AsyncContext context, T t);
+
+    /**
+     * Returns a composed function that first applies this function, then applies the {@code after} function
+     * to its result with the same context. The {@code after} function is skipped if the context is cancelled
+     * or has expired by the time it would start.
+     *
+     * @param after the function to apply after this one
+     * @param <V>   the output type of the {@code after} function
+     * @return a composed contextual asynchronous function
+     */
+    @SuppressWarnings("unchecked")
+    default <V> ContextualAsyncFunction1<T, V> andThen(ContextualAsyncFunction1<? super R, ? extends V> after) {
+        Objects.requireNonNull(after);
+        return (context, t) -> Futures.thenCompose(invokeAsync(context, t), r -> {
+            var failure = context.failure();
+            if (failure != null) {
+                return CompletableFuture.failedFuture(failure);
+            }
+            return (CompletableFuture<V>) after.invokeAsync(context, r);
+        });
+    }
+
+    /**
+     * Returns a composed function that first applies this function, then applies the {@code after} function
+     * to its result.
+     *
+     * @param after the function to apply after this one
+     * @param <V>   the output type of the {@code after} function
+     * @return a composed contextual asynchronous function
+     * @see #andThen(ContextualAsyncFunction1)
+     */
+    @SuppressWarnings("unchecked")
+    default <V> ContextualAsyncFunction1<T, V> andThen(AsyncFunction1<? super R, ? extends V> after) {
+        Objects.requireNonNull(after);
+        return andThen((AsyncContext context, R r) -> (CompletableFuture<V>) after.invokeAsync(r));
+    }
+
+    /**
+     * Returns a function that invokes this function with the given context.
+     *
+     * @param context the context to invoke this function with
+     * @return an asynchronous function bound to the context
+     */
+    default AsyncFunction1<T, R> bind(AsyncContext context) {
+        Objects.requireNonNull(context);
+        return t -> {
+            var failure = context.failure();
+            if (failure != null) {
+                return CompletableFuture.failedFuture(failure);
+            }
+            return invokeAsync(context, t);
+        };
+    }
+}
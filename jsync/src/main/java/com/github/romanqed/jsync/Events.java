@@ -0,0 +1,41 @@
+package com.github.romanqed.jsync;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Internal switch for Flight Recorder events, kept apart from the event classes so that
+ * reading it never loads the {@code jdk.jfr} module.
+ * <p>
+ * Events are enabled if the {@value #PROPERTY} system property is set to {@code true} and the {@code jdk.jfr}
+ * module is present in the boot layer. The module is an optional dependency, so applications running on
+ * the module path must add it themselves, e.g. with {@code --add-modules jdk.jfr}; otherwise the property
+ * is ignored.
+ */
+final class Events {
+    static final String PROPERTY = "com.github.romanqed.jsync.jfr";
+    static final boolean ENABLED = Boolean.getBoolean(PROPERTY)
+            && ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private Events() {
+    }
+
+    /**
+     * Runs the body of the given task, recording it as a {@link TaskEvent}.
+     * The body is run even if the event cannot be created.
+     */
+    static void recordTask(CompletableFuture<?> task, long submitted, Runnable body) {
+        TaskEvent event = null;
+        try {
+            event = TaskEvent.begin(submitted);
+        } catch (LinkageError | RuntimeException e) {
+            // Flight Recorder is unusable, run the task without the event
+        }
+        try {
+            body.run();
+        } finally {
+            if (event != null) {
+                TaskEvent.end(event, task.isCompletedExceptionally());
+            }
+        }
+    }
+}
@@ -1,11 +1,22 @@
 package com.github.romanqed.jsync;
 
-import com.github.romanqed.jfunc.Exceptions;
 import com.github.romanqed.jfunc.Function0;
 import com.github.romanqed.jfunc.Runnable0;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collector;
 
 /**
  * Utility class for bridging synchronous functional code ({@link Runnable0}, {@link Function0})
@@ -14,12 +25,98 @@ import java.util.concurrent.Executor;
  * Provides convenience methods to run or supply values asynchronously from functional interfaces
  * that may throw checked exceptions.
  * <p>
- * All exceptions thrown by user-provided functions are rethrown as unchecked via {@link Exceptions#throwAny(Throwable)}.
+ * Also provides combinators for fan-out over collections of futures and for traversing collections with asynchronous
+ * functions with bounded parallelism. The combinators register one callback per future and do not build
+ * the intermediate stages of {@link CompletableFuture#allOf(CompletableFuture[])}; failures are reported with
+ * their original cause, without {@link CompletionException} wrapping.
+ * <p>
+ * Tasks submitted to an executor are represented by a single object that is both the task and its future.
+ * Tasks can also be executed in the calling thread ({@code runNow}, {@code provideNow}), only when the calling thread
+ * already belongs to the target executor ({@code runOn}, {@code provideOn}), or on a trampolining executor
+ * ({@link #trampoline()}) that keeps chained stages from nesting.
+ * <p>
+ * If the {@code com.github.romanqed.jsync.jfr} system property is set to {@code true}, tasks submitted to an executor
+ * emit Flight Recorder events with their execution time and the time they waited in the executor.
+ * The {@code jdk.jfr} module is an optional dependency of this module, so applications using these events
+ * on the module path must add it themselves, e.g. with {@code --add-modules jdk.jfr}.
+ * <p>
+ * Exceptions thrown by user-provided functions complete the returned futures exceptionally. As with
+ * {@link CompletableFuture#supplyAsync(java.util.function.Supplier)}, they are stored wrapped in
+ * {@link CompletionException}, so {@link CompletableFuture#get()} reports the original exception as the cause.
  */
 public final class Futures {
+    private static final Executor DEFAULT_EXECUTOR = new CompletableFuture<Void>().defaultExecutor();
+
     private Futures() {
     }
 
+    static Throwable unwrap(Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null) {
+            return e.getCause();
+        }
+        return e;
+    }
+
+    static Throwable encode(Throwable e) {
+        if (e instanceof CompletionException) {
+            return e;
+        }
+        return new CompletionException(e);
+    }
+
+    /**
+     * Composes the given future with the provided function like {@link CompletableFuture#thenCompose(Function)},
+     * but cancelling the returned future also cancels the stage in flight, which is either the given future
+     * or the future returned by the function.
+     */
+    static <T, U> CompletableFuture<U> composeLinked(CompletableFuture<T> future,
+                                                     Function<? super T, ? extends CompletableFuture<U>> func) {
+        var ret = new CompletableFuture<U>();
+        future.whenComplete((value, e) -> {
+            if (e != null) {
+                ret.completeExceptionally(encode(e));
+                return;
+            }
+            if (ret.isDone()) {
+                return;
+            }
+            CompletableFuture<U> next;
+            try {
+                next = Objects.requireNonNull(func.apply(value));
+            } catch (Throwable ex) {
+                ret.completeExceptionally(encode(ex));
+                return;
+            }
+            next.whenComplete((result, ex) -> {
+                if (ex == null) {
+                    ret.complete(result);
+                } else {
+                    ret.completeExceptionally(encode(ex));
+                }
+            });
+            cancelOnCancel(ret, next);
+        });
+        cancelOnCancel(ret, future);
+        return ret;
+    }
+
+    private static void cancelOnCancel(CompletableFuture<?> future, CompletableFuture<?> source) {
+        future.whenComplete((value, e) -> {
+            if (future.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+    }
+
+    static <T> CompletableFuture<T> invoke(AsyncFunction0<T> func) {
+        try {
+            var ret = func.invokeAsync();
+            return ret == null ? CompletableFuture.failedFuture(new NullPointerException()) : ret;
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Runs the provided {@link Runnable0} asynchronously using the given executor.
      *
@@ -28,13 +125,9 @@ public final class Futures {
      * @return a {@link CompletableFuture} representing the task
      */
     public static CompletableFuture<Void> run(Runnable0 func, Executor executor) {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                func.run();
-            } catch (Throwable e) {
-                Exceptions.throwAny(e);
-            }
-        }, executor);
+        var ret = new RunTask(func);
+        executor.execute(ret);
+        return ret;
     }
 
     /**
@@ -44,13 +137,7 @@ public final class Futures {
      * @return a {@link CompletableFuture} representing the task
      */
     public static CompletableFuture<Void> run(Runnable0 func) {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                func.run();
-            } catch (Throwable e) {
-                Exceptions.throwAny(e);
-            }
-        });
+        return run(func, DEFAULT_EXECUTOR);
     }
 
     /**
@@ -63,14 +150,9 @@ public final class Futures {
      * @return a {@link CompletableFuture} supplying the result
      */
     public static <T> CompletableFuture<T> provide(Function0<T> func, Executor executor) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return func.invoke();
-            } catch (Throwable e) {
-                Exceptions.throwAny(e);
-                return null;
-            }
-        }, executor);
+        var ret = new ProvideTask<>(func);
+        executor.execute(ret);
+        return ret;
     }
 
     /**
@@ -82,13 +164,360 @@ public final class Futures {
      * @return a {@link CompletableFuture} supplying the result
      */
     public static <T> CompletableFuture<T> provide(Function0<T> func) {
-        return CompletableFuture.supplyAsync(() -> {
+        return provide(func, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * Runs the provided {@link Runnable0} in the calling thread and returns an already completed future.
+     *
+     * @param func the runnable to execute
+     * @return a completed {@link CompletableFuture} representing the outcome of the task
+     */
+    public static CompletableFuture<Void> runNow(Runnable0 func) {
+        try {
+            func.run();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(encode(e));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Executes the provided {@link Function0} in the calling thread and returns an already completed future.
+     *
+     * @param func the function to execute
+     * @param <T>  the type of result
+     * @return a completed {@link CompletableFuture} with the outcome of the function
+     */
+    public static <T> CompletableFuture<T> provideNow(Function0<T> func) {
+        try {
+            return CompletableFuture.completedFuture(func.invoke());
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(encode(e));
+        }
+    }
+
+    /**
+     * Runs the provided {@link Runnable0} on the given executor, or in the calling thread
+     * if it is already a worker of that executor.
+     * <p>
+     * The calling thread is recognized as a worker of a {@link java.util.concurrent.ForkJoinPool} it belongs to.
+     * The {@link #trampoline()} executor is never considered current: it runs the task in the calling thread,
+     * or queues it if that thread is already running a trampolined task, instead of nesting it.
+     *
+     * @param func     the runnable to execute
+     * @param executor the executor to run the task
+     * @return a {@link CompletableFuture} representing the task
+     */
+    public static CompletableFuture<Void> runOn(Runnable0 func, Executor executor) {
+        if (isCurrent(executor)) {
+            return runNow(func);
+        }
+        return run(func, executor);
+    }
+
+    /**
+     * Executes the provided {@link Function0} on the given executor, or in the calling thread
+     * if it is already a worker of that executor.
+     *
+     * @param func     the function to execute
+     * @param executor the executor to run the task
+     * @param <T>      the type of result
+     * @return a {@link CompletableFuture} supplying the result
+     * @see #runOn(Runnable0, Executor)
+     */
+    public static <T> CompletableFuture<T> provideOn(Function0<T> func, Executor executor) {
+        if (isCurrent(executor)) {
+            return provideNow(func);
+        }
+        return provide(func, executor);
+    }
+
+    /**
+     * Returns an executor that runs tasks in the calling thread, but queues tasks submitted while another task
+     * of this executor is running in the same thread and runs them after it, instead of nesting them.
+     * <p>
+     * Long chains of dependent stages executed with this executor therefore run in a loop
+     * with a constant stack depth.
+     *
+     * @return the trampolining executor
+     */
+    public static Executor trampoline() {
+        return Trampoline.INSTANCE;
+    }
+
+    private static boolean isCurrent(Executor executor) {
+        // The trampoline is never current, running its tasks inline would nest them
+        return executor instanceof ForkJoinPool
+                && ForkJoinTask.inForkJoinPool()
+                && ForkJoinTask.getPool() == executor;
+    }
+
+    /**
+     * Composes the given future with the provided function, like {@link CompletableFuture#thenCompose(Function)},
+     * but invokes the function inline when the future has already completed normally.
+     * <p>
+     * In that case no dependent completion stage is allocated and the future returned by the function
+     * is returned as is. Pending and exceptionally completed futures fall back to {@code thenCompose}.
+     * If the function throws or returns {@code null}, the returned future is completed exceptionally.
+     *
+     * @param future the future to compose
+     * @param func   the function producing the next stage
+     * @param <T>    the type of the future result
+     * @param <U>    the type of the composed result
+     * @return a {@link CompletableFuture} representing the composed result
+     */
+    public static <T, U> CompletableFuture<U> thenCompose(CompletableFuture<T> future,
+                                                          Function<? super T, ? extends CompletableFuture<U>> func) {
+        if (!future.isDone() || future.isCompletedExceptionally()) {
+            return future.thenCompose(func);
+        }
+        CompletableFuture<U> ret;
+        try {
+            ret = func.apply(future.getNow(null));
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (ret == null) {
+            return CompletableFuture.failedFuture(new NullPointerException());
+        }
+        return ret;
+    }
+
+    /**
+     * Applies the given asynchronous function to every item of the collection, running at most
+     * {@code parallelism} invocations at a time, and collects the results in iteration order.
+     * <p>
+     * The returned future fails with the first failure, after which no more invocations are started.
+     * Completing or cancelling the returned future also stops starting new invocations.
+     *
+     * @param items       the items to traverse
+     * @param func        the function to apply to each item
+     * @param parallelism the maximum number of invocations in flight, must be positive
+     * @param <T>         the type of items
+     * @param <R>         the type of results
+     * @return a {@link CompletableFuture} with the list of results
+     * @throws NullPointerException     if {@code items} or {@code func} is null
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     */
+    public static <T, R> CompletableFuture<List<R>> traverse(Collection<? extends T> items,
+                                                             AsyncFunction1<? super T, ? extends R> func,
+                                                             int parallelism) {
+        Objects.requireNonNull(func);
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        var traversal = new Traversal<T, R>(items.toArray(), func);
+        traversal.start(parallelism);
+        return traversal.result;
+    }
+
+    /**
+     * Applies the given asynchronous function to every item of the collection at once and collects the results
+     * in iteration order.
+     *
+     * @param items the items to traverse
+     * @param func  the function to apply to each item
+     * @param <T>   the type of items
+     * @param <R>   the type of results
+     * @return a {@link CompletableFuture} with the list of results
+     * @throws NullPointerException if {@code items} or {@code func} is null
+     * @see #traverse(Collection, AsyncFunction1, int)
+     */
+    public static <T, R> CompletableFuture<List<R>> traverse(Collection<? extends T> items,
+                                                             AsyncFunction1<? super T, ? extends R> func) {
+        return traverse(items, func, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a future that completes with the results of all given futures in iteration order,
+     * or fails as soon as any of them fails.
+     *
+     * @param futures the futures to wait for
+     * @param <T>     the type of results
+     * @return a {@link CompletableFuture} with the list of results
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CompletableFuture<List<T>> all(Collection<? extends CompletableFuture<? extends T>> futures) {
+        var size = futures.size();
+        if (size == 0) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        var ret = new CompletableFuture<List<T>>();
+        var results = new Object[size];
+        var remaining = new AtomicInteger(size);
+        var index = 0;
+        for (var future : futures) {
+            var current = index++;
+            future.whenComplete((value, e) -> {
+                if (e != null) {
+                    ret.completeExceptionally(unwrap(e));
+                    return;
+                }
+                results[current] = value;
+                if (remaining.decrementAndGet() == 0) {
+                    ret.complete((List<T>) Collections.unmodifiableList(Arrays.asList(results)));
+                }
+            });
+        }
+        return ret;
+    }
+
+    /**
+     * Returns a future that completes with the results of all given futures, reduced with the given collector
+     * in iteration order, or fails as soon as any of them fails.
+     *
+     * @param futures   the futures to wait for
+     * @param collector the collector used to reduce the results
+     * @param <T>       the type of results
+     * @param <A>       the mutable accumulation type of the collector
+     * @param <R>       the type of the reduced result
+     * @return a {@link CompletableFuture} with the reduced result
+     */
+    public static <T, A, R> CompletableFuture<R> collect(Collection<? extends CompletableFuture<? extends T>> futures,
+                                                         Collector<? super T, A, R> collector) {
+        Objects.requireNonNull(collector);
+        return Futures.<T>all(futures).thenApply(results -> {
+            var container = collector.supplier().get();
+            var accumulator = collector.accumulator();
+            for (var result : results) {
+                accumulator.accept(container, result);
+            }
+            return collector.finisher().apply(container);
+        });
+    }
+
+    /**
+     * Returns a future that completes with the outcome of the first given future to complete,
+     * whether it succeeds or fails.
+     * If the collection is empty, the returned future fails with {@link NoSuchElementException}.
+     *
+     * @param futures the futures to wait for
+     * @param <T>     the type of results
+     * @return a {@link CompletableFuture} with the first outcome
+     */
+    public static <T> CompletableFuture<T> any(Collection<? extends CompletableFuture<? extends T>> futures) {
+        if (futures.isEmpty()) {
+            return CompletableFuture.failedFuture(new NoSuchElementException("No futures to wait for"));
+        }
+        var ret = new CompletableFuture<T>();
+        for (var future : futures) {
+            if (ret.isDone()) {
+                break;
+            }
+            future.whenComplete((value, e) -> {
+                if (e == null) {
+                    ret.complete(value);
+                } else {
+                    ret.completeExceptionally(unwrap(e));
+                }
+            });
+        }
+        return ret;
+    }
+
+    /**
+     * Returns a future that completes with the result of the first given future to succeed.
+     * If all of them fail, the returned future fails with the failure of the last one.
+     * If the collection is empty, the returned future fails with {@link NoSuchElementException}.
+     *
+     * @param futures the futures to wait for
+     * @param <T>     the type of results
+     * @return a {@link CompletableFuture} with the first successful result
+     */
+    public static <T> CompletableFuture<T> firstSuccessful(Collection<? extends CompletableFuture<? extends T>> futures) {
+        if (futures.isEmpty()) {
+            return CompletableFuture.failedFuture(new NoSuchElementException("No futures to wait for"));
+        }
+        var ret = new CompletableFuture<T>();
+        var remaining = new AtomicInteger(futures.size());
+        for (var future : futures) {
+            if (ret.isDone()) {
+                break;
+            }
+            future.whenComplete((value, e) -> {
+                if (e == null) {
+                    ret.complete(value);
+                } else if (remaining.decrementAndGet() == 0) {
+                    ret.completeExceptionally(unwrap(e));
+                }
+            });
+        }
+        return ret;
+    }
+
+    /**
+     * A task that is its own future, so submitting a {@link Runnable0} allocates a single object
+     * instead of a future, a task wrapper and a capturing lambda.
+     * If Flight Recorder events are enabled, the task also emits a {@link TaskEvent}.
+     */
+    private static final class RunTask extends CompletableFuture<Void> implements Runnable {
+        private final Runnable0 func;
+        private final long submitted;
+
+        RunTask(Runnable0 func) {
+            this.func = func;
+            this.submitted = Events.ENABLED ? System.nanoTime() : 0;
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                return;
+            }
+            if (Events.ENABLED) {
+                Events.recordTask(this, submitted, this::execute);
+                return;
+            }
+            execute();
+        }
+
+        private void execute() {
             try {
-                return func.invoke();
+                func.run();
             } catch (Throwable e) {
-                Exceptions.throwAny(e);
-                return null;
+                completeExceptionally(encode(e));
+                return;
             }
-        });
+            complete(null);
+        }
+    }
+
+    /**
+     * A task that is its own future, see {@link RunTask}.
+     *
+     * @param <T> the type of result
+     */
+    private static final class ProvideTask<T> extends CompletableFuture<T> implements Runnable {
+        private final Function0<T> func;
+        private final long submitted;
+
+        ProvideTask(Function0<T> func) {
+            this.func = func;
+            this.submitted = Events.ENABLED ? System.nanoTime() : 0;
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                return;
+            }
+            if (Events.ENABLED) {
+                Events.recordTask(this, submitted, this::execute);
+                return;
+            }
+            execute();
+        }
+
+        private void execute() {
+            T value;
+            try {
+                value = func.invoke();
+            } catch (Throwable e) {
+                completeExceptionally(encode(e));
+                return;
+            }
+            complete(value);
+        }
     }
 }
@@ -0,0 +1,160 @@
+package com.github.romanqed.jsync;
+
+import com.github.romanqed.jfunc.Durations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A policy that hedges slow asynchronous invocations, implements {@link AsyncLimiter}.
+ * <p>
+ * If an invocation has not completed after the hedging delay, a second, identical invocation is started,
+ * and the returned future completes with the first successful result. It fails only if both invocations fail,
+ * or if the first one fails before the second one is started. The slower invocation is not cancelled.
+ * <p>
+ * The hedging delay is either fixed, or adapts to the given percentile of recently observed latencies
+ * of successful first invocations, with the initial delay used until enough latencies are observed.
+ * Latencies are sampled into a small ring buffer and the percentile is recomputed periodically,
+ * so recording a latency does not take a lock or sort on every call.
+ */
+public final class HedgePolicy implements AsyncLimiter {
+    private static final int SAMPLES = 128;
+    private static final int RECOMPUTE_PERIOD = 32;
+
+    private final double percentile;
+    private final Executor executor;
+    private final long[] samples;
+    private final AtomicInteger recorded;
+    private volatile long delay;
+
+    /**
+     * Constructs a new {@link HedgePolicy} with an adaptive delay.
+     *
+     * @param percentile   the latency percentile after which a second invocation is started, in (0, 100)
+     * @param initialDelay the delay used until enough latencies are observed, must be positive
+     * @param executor     the executor used to start second invocations
+     * @throws NullPointerException     if {@code initialDelay} or {@code executor} is null
+     * @throws IllegalArgumentException if {@code percentile} or {@code initialDelay} is out of range
+     */
+    public HedgePolicy(double percentile, Duration initialDelay, Executor executor) {
+        if (!(percentile > 0 && percentile < 100)) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100)");
+        }
+        this.percentile = percentile;
+        this.delay = Durations.checkPositive(initialDelay);
+        this.executor = Objects.requireNonNull(executor);
+        this.samples = new long[SAMPLES];
+        this.recorded = new AtomicInteger();
+    }
+
+    /**
+     * Constructs a new {@link HedgePolicy} with an adaptive delay, which starts second invocations on the common pool.
+     *
+     * @param percentile   the latency percentile after which a second invocation is started, in (0, 100)
+     * @param initialDelay the delay used until enough latencies are observed, must be positive
+     * @throws NullPointerException     if {@code initialDelay} is null
+     * @throws IllegalArgumentException if {@code percentile} or {@code initialDelay} is out of range
+     */
+    public HedgePolicy(double percentile, Duration initialDelay) {
+        this(percentile, initialDelay, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new {@link HedgePolicy} with a fixed delay, which starts second invocations on the common pool.
+     *
+     * @param delay the delay after which a second invocation is started, must be positive
+     * @throws NullPointerException     if {@code delay} is null
+     * @throws IllegalArgumentException if {@code delay} is not positive
+     */
+    public HedgePolicy(Duration delay) {
+        this.percentile = 0;
+        this.delay = Durations.checkPositive(delay);
+        this.executor = ForkJoinPool.commonPool();
+        this.samples = null;
+        this.recorded = null;
+    }
+
+    /**
+     * Returns the current hedging delay.
+     *
+     * @return the hedging delay
+     */
+    public Duration delay() {
+        return Duration.ofNanos(delay);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(AsyncFunction0<T> task) {
+        var start = System.nanoTime();
+        var first = Futures.invoke(task);
+        if (first.isDone()) {
+            if (!first.isCompletedExceptionally()) {
+                record(System.nanoTime() - start);
+            }
+            return first;
+        }
+        var ret = new CompletableFuture<T>();
+        // The number of invocations that may still complete the result
+        var pending = new AtomicInteger(1);
+        first.whenComplete((value, e) -> {
+            if (e == null) {
+                record(System.nanoTime() - start);
+            }
+            complete(ret, pending, value, e);
+        });
+        try {
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, executor).execute(() -> {
+                if (ret.isDone() || !acquire(pending)) {
+                    return;
+                }
+                Futures.invoke(task).whenComplete((value, e) -> complete(ret, pending, value, e));
+            });
+        } catch (RejectedExecutionException e) {
+            // Hedging is best-effort, the first invocation proceeds alone
+        }
+        return ret;
+    }
+
+    private static boolean acquire(AtomicInteger pending) {
+        int current;
+        do {
+            current = pending.get();
+            if (current == 0) {
+                return false;
+            }
+        } while (!pending.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private static <T> void complete(CompletableFuture<T> ret, AtomicInteger pending, T value, Throwable e) {
+        if (e == null) {
+            ret.complete(value);
+        } else if (pending.decrementAndGet() == 0) {
+            ret.completeExceptionally(Futures.unwrap(e));
+        }
+    }
+
+    private void record(long latency) {
+        if (samples == null) {
+            return;
+        }
+        var count = recorded.getAndIncrement();
+        // Racy writes may drop a sample, which is acceptable for an estimate
+        samples[count & (SAMPLES - 1)] = latency;
+        if ((count & (RECOMPUTE_PERIOD - 1)) == RECOMPUTE_PERIOD - 1) {
+            // The counter may overflow, in which case the buffer is long full
+            var size = count >= 0 && count < SAMPLES ? count + 1 : SAMPLES;
+            var sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            var index = (int) Math.ceil(percentile / 100 * size) - 1;
+            delay = Math.max(1, sorted[Math.max(0, index)]);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.romanqed.jsync;
+
+import com.github.romanqed.jfunc.Instrumentation;
+import com.github.romanqed.jfunc.InvocationMetrics;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An asynchronous function that records the latency and outcome of every invocation of the wrapped function,
+ * implements {@link AsyncFunction1}.
+ * <p>
+ * The latency spans from the call to the completion of the returned future, and an invocation counts as failed
+ * if the wrapped function throws or its future completes exceptionally. Invocations whose future is already
+ * complete are recorded inline, without registering a completion callback. The future of the wrapped function
+ * is returned as is, so cancelling it still reaches the source.
+ *
+ * @param <T> the input type
+ * @param <R> the result type
+ */
+public final class InstrumentedAsyncFunction1<T, R> implements AsyncFunction1<T, R> {
+    private final AsyncFunction1<T, R> body;
+    private final InvocationMetrics metrics;
+
+    /**
+     * Constructs a new {@link InstrumentedAsyncFunction1}.
+     *
+     * @param body    the function to instrument
+     * @param metrics the metrics receiving the invocations
+     * @throws NullPointerException if {@code body} or {@code metrics} is null
+     */
+    public InstrumentedAsyncFunction1(AsyncFunction1<T, R> body, InvocationMetrics metrics) {
+        this.body = Objects.requireNonNull(body);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    /**
+     * Instruments the given function under the given name, or returns it as is if the instrumentation is disabled.
+     *
+     * @param instrumentation the instrumentation
+     * @param name            the name of the function
+     * @param func            the function to instrument
+     * @param <T>             the input type
+     * @param <R>             the result type
+     * @return the instrumented function, or {@code func} if the instrumentation is disabled
+     * @throws NullPointerException if any of the arguments is null
+     */
+    public static <T, R> AsyncFunction1<T, R> instrument(Instrumentation instrumentation,
+                                                         String name,
+                                                         AsyncFunction1<T, R> func) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(func);
+        if (!instrumentation.isEnabled()) {
+            return func;
+        }
+        return new InstrumentedAsyncFunction1<>(func, instrumentation.metrics(name));
+    }
+
+    /**
+     * Returns the metrics receiving the invocations of this function.
+     *
+     * @return the metrics
+     */
+    public InvocationMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public CompletableFuture<R> invokeAsync(T t) {
+        var start = System.nanoTime();
+        CompletableFuture<R> ret;
+        try {
+            ret = body.invokeAsync(t);
+        } catch (Throwable e) {
+            metrics.record(System.nanoTime() - start, true);
+            throw e;
+        }
+        if (ret.isDone()) {
+            metrics.record(System.nanoTime() - start, ret.isCompletedExceptionally());
+        } else {
+            ret.whenComplete((v, e) -> metrics.record(System.nanoTime() - start, e != null));
+        }
+        return ret;
+    }
+}
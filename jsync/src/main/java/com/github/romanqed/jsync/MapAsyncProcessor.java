@@ -0,0 +1,321 @@
+package com.github.romanqed.jsync;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link Flow.Processor} that maps every item with an asynchronous function.
+ * <p>
+ * At most {@code concurrency} invocations run at a time, and at most {@code bufferSize} items are held by the
+ * processor at once, counting the ones requested from upstream, waiting to start, running and completed but not yet
+ * delivered. Items are requested from upstream only as delivered results free buffer space, so memory stays bounded
+ * regardless of how fast upstream produces. Results are delivered either in the order of the items ({@code ordered})
+ * or as soon as they complete.
+ * <p>
+ * If an invocation fails, upstream is cancelled and the failure is signalled downstream immediately.
+ * The processor supports a single subscriber; further subscribers are rejected with {@link IllegalStateException}.
+ * <p>
+ * All signals are serialized by a drain loop run by whichever thread produced the event, so the processor
+ * needs no executor of its own and takes no locks.
+ *
+ * @param <T> the type of items
+ * @param <R> the type of results
+ */
+public final class MapAsyncProcessor<T, R> implements Flow.Processor<T, R> {
+    private final AsyncFunction1<? super T, ? extends R> func;
+    private final int concurrency;
+    private final int bufferSize;
+    private final int limit;
+    private final boolean ordered;
+    private final Queue<T> inputs;
+    private final Queue<Slot<R>> ready;
+    private final ArrayDeque<Slot<R>> slots;
+    private final AtomicInteger wip;
+    private final AtomicInteger running;
+    private final AtomicLong requested;
+    private final AtomicReference<Flow.Subscriber<? super R>> subscriber;
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super R> downstream;
+    private volatile Throwable error;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    // The fields below are accessed only by the drain loop
+    private boolean started;
+    private boolean terminated;
+    private boolean released;
+    private int freed;
+
+    /**
+     * Constructs a new {@link MapAsyncProcessor}.
+     *
+     * @param func        the function applied to every item
+     * @param concurrency the maximum number of invocations running at a time, must be positive
+     * @param bufferSize  the maximum number of items held at a time, must not be less than {@code concurrency}
+     * @param ordered     true if results are delivered in the order of the items, false if as soon as they complete
+     * @throws NullPointerException     if {@code func} is null
+     * @throws IllegalArgumentException if {@code concurrency} is not positive or {@code bufferSize}
+     *                                  is less than {@code concurrency}
+     */
+    public MapAsyncProcessor(AsyncFunction1<? super T, ? extends R> func,
+                             int concurrency,
+                             int bufferSize,
+                             boolean ordered) {
+        this.func = Objects.requireNonNull(func);
+        if (concurrency <= 0 || bufferSize < concurrency) {
+            throw new IllegalArgumentException("Concurrency must be positive and not greater than buffer size");
+        }
+        this.concurrency = concurrency;
+        this.bufferSize = bufferSize;
+        this.limit = Math.max(1, bufferSize >> 1);
+        this.ordered = ordered;
+        this.inputs = new ConcurrentLinkedQueue<>();
+        this.ready = ordered ? null : new ConcurrentLinkedQueue<>();
+        this.slots = ordered ? new ArrayDeque<>() : null;
+        this.wip = new AtomicInteger();
+        this.running = new AtomicInteger();
+        this.requested = new AtomicLong();
+        this.subscriber = new AtomicReference<>();
+    }
+
+    /**
+     * Constructs a new ordered {@link MapAsyncProcessor} whose buffer holds twice as many items
+     * as can run at a time.
+     *
+     * @param func        the function applied to every item
+     * @param concurrency the maximum number of invocations running at a time, must be positive
+     * @throws NullPointerException     if {@code func} is null
+     * @throws IllegalArgumentException if {@code concurrency} is not positive
+     */
+    public MapAsyncProcessor(AsyncFunction1<? super T, ? extends R> func, int concurrency) {
+        this(func, concurrency, concurrency > Integer.MAX_VALUE / 2 ? concurrency : concurrency * 2, true);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!this.subscriber.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Processor supports only one subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    fail(new IllegalArgumentException("Requested amount must be positive"));
+                } else {
+                    add(n);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                drain();
+            }
+        });
+        downstream = subscriber;
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(T item) {
+        inputs.offer(Objects.requireNonNull(item));
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        fail(Objects.requireNonNull(throwable));
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    private void add(long n) {
+        long current;
+        long updated;
+        do {
+            current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return;
+            }
+            updated = current + n;
+            if (updated < 0) {
+                updated = Long.MAX_VALUE;
+            }
+        } while (!requested.compareAndSet(current, updated));
+    }
+
+    private void fail(Throwable e) {
+        if (error == null) {
+            error = e;
+        }
+    }
+
+    private void start(T item) {
+        var slot = new Slot<R>();
+        if (ordered) {
+            slots.offer(slot);
+        }
+        running.incrementAndGet();
+        CompletableFuture<? extends R> future;
+        try {
+            future = Objects.requireNonNull(func.invokeAsync(item));
+        } catch (Throwable e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, e) -> {
+            if (e != null) {
+                fail(Futures.unwrap(e));
+            } else if (value == null) {
+                fail(new NullPointerException("Function returned null result"));
+            } else {
+                slot.value = value;
+                if (!ordered) {
+                    ready.offer(slot);
+                }
+            }
+            running.decrementAndGet();
+            drain();
+        });
+    }
+
+    private R poll() {
+        if (!ordered) {
+            var slot = ready.poll();
+            return slot == null ? null : slot.value;
+        }
+        var slot = slots.peek();
+        if (slot == null || slot.value == null) {
+            return null;
+        }
+        slots.poll();
+        return slot.value;
+    }
+
+    private boolean isEmpty() {
+        return inputs.isEmpty() && running.get() == 0 && (ordered ? slots.isEmpty() : ready.isEmpty());
+    }
+
+    private void clear() {
+        inputs.clear();
+        if (ordered) {
+            slots.clear();
+        } else {
+            ready.clear();
+        }
+    }
+
+    private void terminate(Flow.Subscription up) {
+        terminated = true;
+        if (up != null && !released) {
+            released = true;
+            if (!done) {
+                up.cancel();
+            }
+        }
+        clear();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        var missed = 1;
+        do {
+            var down = downstream;
+            var up = upstream;
+            if (terminated) {
+                terminate(up);
+            } else if (down != null) {
+                if (cancelled) {
+                    terminate(up);
+                } else if (error != null) {
+                    terminate(up);
+                    down.onError(error);
+                } else if (up != null) {
+                    emit(down, up);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void emit(Flow.Subscriber<? super R> down, Flow.Subscription up) {
+        if (!started) {
+            started = true;
+            up.request(bufferSize);
+        }
+        while (running.get() < concurrency) {
+            var item = inputs.poll();
+            if (item == null) {
+                break;
+            }
+            start(item);
+        }
+        var demand = requested.get();
+        var emitted = 0L;
+        while (emitted != demand && !cancelled && error == null) {
+            var value = poll();
+            if (value == null) {
+                break;
+            }
+            down.onNext(value);
+            ++emitted;
+            ++freed;
+        }
+        if (emitted != 0 && demand != Long.MAX_VALUE) {
+            requested.addAndGet(-emitted);
+        }
+        if (cancelled || error != null) {
+            // Handled by the next iteration of the drain loop
+            wip.incrementAndGet();
+            return;
+        }
+        if (freed >= limit && !done) {
+            up.request(freed);
+            freed = 0;
+        }
+        if (done && isEmpty()) {
+            terminated = true;
+            released = true;
+            down.onComplete();
+        }
+    }
+
+    private static final class Slot<R> {
+        volatile R value;
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.romanqed.jsync;
+
+import com.github.romanqed.jfunc.Durations;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A limiter that bounds the rate of asynchronous invocations using a token bucket, implements {@link AsyncLimiter}.
+ * <p>
+ * The bucket holds up to {@code permits} tokens and is refilled evenly, with {@code permits} tokens per
+ * {@code period}. An invocation that finds a token starts immediately. Otherwise it reserves the next token and
+ * is started on the given executor once that token becomes available, provided the wait does not exceed
+ * the maximum wait time; if it does, the invocation is rejected. No threads are blocked while waiting.
+ * <p>
+ * The bucket is tracked as the theoretical arrival time of the next token (GCRA), updated with a single
+ * compare-and-set, so acquiring a token is lock-free.
+ */
+public final class RateLimiter implements AsyncLimiter {
+    private final long interval;
+    private final long tolerance;
+    private final long maxWait;
+    private final Executor executor;
+    private final AtomicLong next;
+
+    /**
+     * Constructs a new {@link RateLimiter} with the given rate and maximum wait time.
+     *
+     * @param permits  the number of invocations permitted per period, also the bucket capacity, must be positive
+     * @param period   the period in which the bucket is refilled completely, must be positive
+     * @param maxWait  the maximum time an invocation may wait for a token, must not be negative
+     * @param executor the executor used to start deferred invocations
+     * @throws NullPointerException     if any of {@code period}, {@code maxWait} or {@code executor} is null
+     * @throws IllegalArgumentException if {@code permits} or {@code period} is not positive,
+     *                                  or if {@code maxWait} is negative
+     */
+    public RateLimiter(int permits, Duration period, Duration maxWait, Executor executor) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("Permits must be positive");
+        }
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("Max wait must not be negative");
+        }
+        this.interval = Math.max(1, Durations.toNanos(period) / permits);
+        this.tolerance = interval * (permits - 1);
+        this.maxWait = Durations.toNanos(maxWait);
+        this.executor = Objects.requireNonNull(executor);
+        this.next = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Constructs a new {@link RateLimiter} with the given rate and maximum wait time,
+     * which starts deferred invocations on the common pool.
+     *
+     * @param permits the number of invocations permitted per period, also the bucket capacity, must be positive
+     * @param period  the period in which the bucket is refilled completely, must be positive
+     * @param maxWait the maximum time an invocation may wait for a token, must not be negative
+     * @throws NullPointerException     if any of {@code period} or {@code maxWait} is null
+     * @throws IllegalArgumentException if {@code permits} or {@code period} is not positive,
+     *                                  or if {@code maxWait} is negative
+     */
+    public RateLimiter(int permits, Duration period, Duration maxWait) {
+        this(permits, period, maxWait, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new {@link RateLimiter} with the given rate, which rejects invocations
+     * that find no token instead of deferring them.
+     *
+     * @param permits the number of invocations permitted per period, also the bucket capacity, must be positive
+     * @param period  the period in which the bucket is refilled completely, must be positive
+     * @throws NullPointerException     if {@code period} is null
+     * @throws IllegalArgumentException if {@code permits} or {@code period} is not positive
+     */
+    public RateLimiter(int permits, Duration period) {
+        this(permits, period, Duration.ZERO, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(AsyncFunction0<T> task) {
+        var delay = reserve();
+        if (delay < 0) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Rate limit exceeded"));
+        }
+        if (delay == 0) {
+            return Futures.invoke(task);
+        }
+        var ret = new CompletableFuture<T>();
+        CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, executor).execute(() -> {
+            if (ret.isDone()) {
+                return;
+            }
+            Futures.invoke(task).whenComplete((v, e) -> {
+                if (e == null) {
+                    ret.complete(v);
+                } else {
+                    ret.completeExceptionally(Futures.unwrap(e));
+                }
+            });
+        });
+        return ret;
+    }
+
+    /**
+     * Reserves the next token.
+     *
+     * @return the time to wait for the reserved token in nanoseconds, or -1 if the wait would exceed the limit
+     */
+    private long reserve() {
+        while (true) {
+            var now = System.nanoTime();
+            var current = next.get();
+            var start = current - tolerance;
+            var delay = start - now > 0 ? start - now : 0;
+            if (delay > maxWait) {
+                return -1;
+            }
+            var updated = (current - now > 0 ? current : now) + interval;
+            if (next.compareAndSet(current, updated)) {
+                return delay;
+            }
+        }
+    }
+}
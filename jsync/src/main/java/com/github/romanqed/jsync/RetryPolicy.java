@@ -0,0 +1,144 @@
+package com.github.romanqed.jsync;
+
+import com.github.romanqed.jfunc.Durations;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * A policy that retries failed asynchronous invocations with exponential backoff, implements {@link AsyncLimiter}.
+ * <p>
+ * A failed invocation is retried if the failure matches the predicate and the maximum number of attempts
+ * has not been reached. The delay before the {@code n}-th retry is {@code initialDelay * multiplier^(n - 1)},
+ * capped by {@code maxDelay} and reduced by a random fraction of up to {@code jitter}, so that callers failing
+ * together do not retry together. Retries are scheduled with {@link CompletableFuture#delayedExecutor},
+ * so no thread is blocked between attempts. If all attempts fail, the returned future fails with the last failure.
+ * <p>
+ * Completing or cancelling the returned future stops further retries.
+ */
+public final class RetryPolicy implements AsyncLimiter {
+    private final int maxAttempts;
+    private final long initialDelay;
+    private final long maxDelay;
+    private final double multiplier;
+    private final double jitter;
+    private final Predicate<? super Throwable> retryOn;
+    private final Executor executor;
+
+    /**
+     * Constructs a new {@link RetryPolicy}.
+     *
+     * @param maxAttempts  the maximum number of attempts, including the first one, must be positive
+     * @param initialDelay the delay before the first retry, must not be negative
+     * @param maxDelay     the maximum delay between attempts, must not be less than {@code initialDelay}
+     * @param multiplier   the factor by which the delay grows after each retry, must be at least 1
+     * @param jitter       the maximum fraction by which each delay is randomly reduced, must be in [0, 1]
+     * @param retryOn      the predicate that decides whether a failure is retried
+     * @param executor     the executor used to start retries
+     * @throws NullPointerException     if any of the object arguments is null
+     * @throws IllegalArgumentException if any of the numeric arguments is out of range
+     */
+    public RetryPolicy(int maxAttempts,
+                       Duration initialDelay,
+                       Duration maxDelay,
+                       double multiplier,
+                       double jitter,
+                       Predicate<? super Throwable> retryOn,
+                       Executor executor) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Max attempts must be positive");
+        }
+        if (initialDelay.isNegative() || maxDelay.compareTo(initialDelay) < 0) {
+            throw new IllegalArgumentException("Delays must not be negative and max delay must not be less than initial");
+        }
+        if (!(multiplier >= 1)) {
+            throw new IllegalArgumentException("Multiplier must be at least 1");
+        }
+        if (!(jitter >= 0 && jitter <= 1)) {
+            throw new IllegalArgumentException("Jitter must be in [0, 1]");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = Durations.toNanos(initialDelay);
+        this.maxDelay = Durations.toNanos(maxDelay);
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.retryOn = Objects.requireNonNull(retryOn);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Constructs a new {@link RetryPolicy} that doubles the delay after each retry, reduces each delay
+     * by up to a half at random and starts retries on the common pool.
+     *
+     * @param maxAttempts  the maximum number of attempts, including the first one, must be positive
+     * @param initialDelay the delay before the first retry, must not be negative
+     * @param maxDelay     the maximum delay between attempts, must not be less than {@code initialDelay}
+     * @param retryOn      the predicate that decides whether a failure is retried
+     * @throws NullPointerException     if any of the object arguments is null
+     * @throws IllegalArgumentException if any of the numeric arguments is out of range
+     */
+    public RetryPolicy(int maxAttempts, Duration initialDelay, Duration maxDelay, Predicate<? super Throwable> retryOn) {
+        this(maxAttempts, initialDelay, maxDelay, 2, 0.5, retryOn, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(AsyncFunction0<T> task) {
+        var future = Futures.invoke(task);
+        if (maxAttempts == 1 || (future.isDone() && !future.isCompletedExceptionally())) {
+            return future;
+        }
+        var ret = new CompletableFuture<T>();
+        handle(task, future, ret, 1);
+        return ret;
+    }
+
+    private <T> void handle(AsyncFunction0<T> task, CompletableFuture<T> future, CompletableFuture<T> ret, int attempt) {
+        future.whenComplete((value, e) -> {
+            if (e == null) {
+                ret.complete(value);
+                return;
+            }
+            var cause = Futures.unwrap(e);
+            if (attempt >= maxAttempts || ret.isDone() || !test(cause)) {
+                ret.completeExceptionally(cause);
+                return;
+            }
+            try {
+                CompletableFuture.delayedExecutor(delay(attempt), TimeUnit.NANOSECONDS, executor).execute(() -> {
+                    if (!ret.isDone()) {
+                        handle(task, Futures.invoke(task), ret, attempt + 1);
+                    }
+                });
+            } catch (RejectedExecutionException re) {
+                ret.completeExceptionally(cause);
+            }
+        });
+    }
+
+    private boolean test(Throwable cause) {
+        try {
+            return retryOn.test(cause);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private long delay(int attempt) {
+        var delay = (double) initialDelay;
+        for (var i = 1; i < attempt && delay < maxDelay; ++i) {
+            delay *= multiplier;
+        }
+        delay = Math.min(delay, maxDelay);
+        if (jitter > 0) {
+            delay *= 1 - jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return (long) delay;
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.romanqed.jsync;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A Flight Recorder event emitted for every task submitted by {@link Futures#run} and {@link Futures#provide}.
+ * <p>
+ * The duration of the event is the execution time of the task, and {@link #queueDelay} is the time the task
+ * spent waiting in the executor, from the submission to the start of execution. Growing queue delays point
+ * to a saturated executor.
+ * <p>
+ * Events are only created if they are {@link Events#ENABLED enabled} when this module is initialized, which
+ * requires the {@code jdk.jfr} module to be present; otherwise the check is a constant the JIT compiler folds
+ * away, and the {@code jdk.jfr} module is never touched.
+ */
+@Name("com.github.romanqed.jsync.Task")
+@Label("Async Task")
+@Category({"jfunc", "jsync"})
+@Description("Execution of a task submitted by Futures.run or Futures.provide")
+@StackTrace(false)
+final class TaskEvent extends jdk.jfr.Event {
+    @Label("Queue Delay")
+    @Description("Time from the submission of the task to the start of its execution")
+    @Timespan(Timespan.NANOSECONDS)
+    long queueDelay;
+
+    @Label("Failed")
+    @Description("Whether the task completed exceptionally")
+    boolean failed;
+
+    static TaskEvent begin(long submitted) {
+        var ret = new TaskEvent();
+        if (!ret.isEnabled()) {
+            return null;
+        }
+        ret.queueDelay = System.nanoTime() - submitted;
+        ret.begin();
+        return ret;
+    }
+
+    static void end(TaskEvent event, boolean failed) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.failed = failed;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.romanqed.jsync;
+
+import com.github.romanqed.jfunc.Durations;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A policy that bounds the time of asynchronous invocations, implements {@link AsyncLimiter}.
+ * <p>
+ * If an invocation does not complete within the timeout, the returned future is completed exceptionally
+ * with {@link TimeoutException}. Timeouts are tracked by the shared delay scheduler of {@link CompletableFuture}
+ * and are cancelled once the invocation completes, so no thread is created or blocked per invocation.
+ * Invocations that complete synchronously are returned as is. The timed out invocation itself is not cancelled.
+ */
+public final class TimeoutPolicy implements AsyncLimiter {
+    private final long timeout;
+
+    /**
+     * Constructs a new {@link TimeoutPolicy} with the given timeout.
+     *
+     * @param timeout the maximum time an invocation may take, must be positive
+     * @throws NullPointerException     if {@code timeout} is null
+     * @throws IllegalArgumentException if {@code timeout} is not positive
+     */
+    public TimeoutPolicy(Duration timeout) {
+        this.timeout = Durations.checkPositive(timeout);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(AsyncFunction0<T> task) {
+        var future = Futures.invoke(task);
+        if (future.isDone()) {
+            return future;
+        }
+        return future.copy().orTimeout(timeout, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.romanqed.jsync;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * An executor that runs tasks in the calling thread without nesting, used by {@link Futures#trampoline()}.
+ * <p>
+ * The outermost call runs its task and then drains the tasks submitted meanwhile from the same thread,
+ * so recursive submissions are turned into a loop. If a task throws, the remaining tasks are still run
+ * and the first exception or error is rethrown afterwards.
+ */
+final class Trampoline implements Executor {
+    static final Trampoline INSTANCE = new Trampoline();
+    private static final ThreadLocal<ArrayDeque<Runnable>> QUEUE = new ThreadLocal<>();
+
+    private Trampoline() {
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        var queue = QUEUE.get();
+        if (queue != null) {
+            queue.offer(command);
+            return;
+        }
+        queue = new ArrayDeque<>();
+        QUEUE.set(queue);
+        Throwable error = null;
+        try {
+            var next = command;
+            while (next != null) {
+                try {
+                    next.run();
+                } catch (Throwable e) {
+                    if (error == null) {
+                        error = e;
+                    }
+                }
+                next = queue.poll();
+            }
+        } finally {
+            QUEUE.remove();
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        if (error != null) {
+            // Thrown sneakily by a task
+            throw new CompletionException(error);
+        }
+    }
+}
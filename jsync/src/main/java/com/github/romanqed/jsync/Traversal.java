@@ -0,0 +1,101 @@
+package com.github.romanqed.jsync;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An asynchronous traversal of an array of items with bounded parallelism, used by {@link Futures}.
+ * <p>
+ * Each worker takes the next unprocessed item, invokes the function and, once the result is ready,
+ * takes the next item. Results that are already complete are consumed in a loop, without registering
+ * a completion callback, so traversals over synchronous functions neither allocate dependent stages
+ * nor grow the stack. The traversal stops taking items as soon as its result is completed,
+ * either by a failure or by the caller.
+ *
+ * @param <T> the type of items
+ * @param <R> the type of results
+ */
+final class Traversal<T, R> {
+    final CompletableFuture<List<R>> result;
+    private final Object[] items;
+    private final AsyncFunction1<? super T, ? extends R> func;
+    private final Object[] results;
+    private final AtomicInteger cursor;
+    private final AtomicInteger remaining;
+
+    Traversal(Object[] items, AsyncFunction1<? super T, ? extends R> func) {
+        this.result = new CompletableFuture<>();
+        this.items = items;
+        this.func = func;
+        this.results = new Object[items.length];
+        this.cursor = new AtomicInteger();
+        this.remaining = new AtomicInteger(items.length);
+    }
+
+    void start(int parallelism) {
+        if (items.length == 0) {
+            result.complete(List.of());
+            return;
+        }
+        var workers = Math.min(parallelism, items.length);
+        for (var i = 0; i < workers && !result.isDone(); ++i) {
+            next();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void next() {
+        while (!result.isDone()) {
+            var index = cursor.getAndIncrement();
+            if (index >= items.length) {
+                return;
+            }
+            CompletableFuture<? extends R> future;
+            try {
+                future = func.invokeAsync((T) items[index]);
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            if (future == null) {
+                result.completeExceptionally(new NullPointerException());
+                return;
+            }
+            if (!future.isDone()) {
+                future.whenComplete((value, e) -> {
+                    if (e != null) {
+                        result.completeExceptionally(Futures.unwrap(e));
+                    } else if (set(index, value)) {
+                        next();
+                    }
+                });
+                return;
+            }
+            R value;
+            try {
+                value = future.join();
+            } catch (CompletionException | CancellationException e) {
+                result.completeExceptionally(Futures.unwrap(e));
+                return;
+            }
+            if (!set(index, value)) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean set(int index, R value) {
+        results[index] = value;
+        if (remaining.decrementAndGet() == 0) {
+            result.complete((List<R>) Collections.unmodifiableList(Arrays.asList(results)));
+            return false;
+        }
+        return true;
+    }
+}
@@ -10,6 +10,8 @@
 module com.github.romanqed.jsync {
     // Imports
     requires com.github.romanqed.jfunc;
+    // Optional, used only if Flight Recorder events are enabled
+    requires static jdk.jfr;
     // Exports
     exports com.github.romanqed.jsync;
 }
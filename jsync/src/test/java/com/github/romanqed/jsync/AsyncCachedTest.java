@@ -0,0 +1,156 @@
+package com.github.romanqed.jsync;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class AsyncCachedTest extends Assertions {
+
+    @Test
+    public void testCachesPerArgument() throws Throwable {
+        var calls = new AtomicInteger();
+        var func = new AsyncCachedFunction1<Integer, Integer>(t -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(t + 1);
+        });
+        assertEquals(1, func.invokeAsync(0).get());
+        assertEquals(2, func.invokeAsync(1).get());
+        assertEquals(1, func.invokeAsync(0).get());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testSharesPendingLoad() throws Throwable {
+        var calls = new AtomicInteger();
+        var pending = new CompletableFuture<String>();
+        var func = new AsyncCachedFunction1<String, String>(t -> {
+            calls.incrementAndGet();
+            return pending;
+        });
+        var f1 = func.invokeAsync("a");
+        var f2 = func.invokeAsync("a");
+        f1.cancel(false);
+        pending.complete("b");
+        assertEquals("b", f2.get());
+        assertEquals("b", func.invokeAsync("a").get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testDoesNotCacheFailures() throws Throwable {
+        var calls = new AtomicInteger();
+        var func = new AsyncCachedFunction1<Integer, Integer>(t -> {
+            if (calls.incrementAndGet() == 1) {
+                return CompletableFuture.failedFuture(new IllegalStateException());
+            }
+            return CompletableFuture.completedFuture(t);
+        });
+        var e = assertThrows(ExecutionException.class, () -> func.invokeAsync(5).get());
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        assertEquals(0, func.size());
+        assertEquals(5, func.invokeAsync(5).get());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testEviction() throws Throwable {
+        var func = new AsyncCachedFunction1<Integer, Integer>(CompletableFuture::completedFuture, 10);
+        for (var i = 0; i < 100; ++i) {
+            func.invokeAsync(i).get();
+        }
+        assertTrue(func.size() <= 10);
+    }
+
+    @Test
+    public void testExpiration() throws Throwable {
+        var calls = new AtomicInteger();
+        var func = new AsyncCachedFunction1<Integer, Integer>(
+                t -> CompletableFuture.completedFuture(calls.incrementAndGet()), 10, Duration.ofMillis(20));
+        assertEquals(1, func.invokeAsync(0).get());
+        assertEquals(1, func.invokeAsync(0).get());
+        Thread.sleep(40);
+        assertEquals(2, func.invokeAsync(0).get());
+    }
+
+    @Test
+    public void testSweepsExpiredResults() throws Throwable {
+        var func = new AsyncCachedFunction1<Integer, Integer>(CompletableFuture::completedFuture, Long.MAX_VALUE,
+                Duration.ofMillis(200));
+        for (var i = 0; i < 100; ++i) {
+            func.invokeAsync(i).get();
+        }
+        assertEquals(100, func.size());
+        Thread.sleep(300);
+        for (var i = 1000; i < 1010; ++i) {
+            func.invokeAsync(i).get();
+        }
+        assertEquals(10, func.size());
+    }
+
+    @Test
+    public void testRefreshServesStaleValue() throws Throwable {
+        var calls = new AtomicInteger();
+        var reload = new CompletableFuture<Integer>();
+        var func = new AsyncCachedFunction1<Integer, Integer>(t -> {
+            if (calls.incrementAndGet() == 1) {
+                return CompletableFuture.completedFuture(1);
+            }
+            return reload;
+        }, 10, Duration.ofHours(1), Duration.ofMillis(10));
+        assertEquals(1, func.invokeAsync(0).get());
+        Thread.sleep(20);
+        assertEquals(1, func.invokeAsync(0).get());
+        assertEquals(1, func.invokeAsync(0).get());
+        assertEquals(2, calls.get());
+        reload.complete(2);
+        assertEquals(2, func.invokeAsync(0).get());
+    }
+
+    @Test
+    public void testFailedRefreshBacksOff() throws Throwable {
+        var calls = new AtomicInteger();
+        var func = new AsyncCachedFunction1<Integer, Integer>(t -> {
+            if (calls.incrementAndGet() == 1) {
+                return CompletableFuture.completedFuture(1);
+            }
+            return CompletableFuture.failedFuture(new IllegalStateException());
+        }, 10, Duration.ofHours(1), Duration.ofMillis(400));
+        assertEquals(1, func.invokeAsync(0).get());
+        Thread.sleep(450);
+        assertEquals(1, func.invokeAsync(0).get());
+        assertEquals(2, calls.get());
+        // Reads within the back-off period do not reload again
+        for (var i = 0; i < 10; ++i) {
+            assertEquals(1, func.invokeAsync(0).get());
+        }
+        assertEquals(2, calls.get());
+        Thread.sleep(150);
+        assertEquals(1, func.invokeAsync(0).get());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testInvalidate() throws Throwable {
+        var calls = new AtomicInteger();
+        var func = new AsyncCachedFunction1<Integer, Integer>(
+                t -> CompletableFuture.completedFuture(calls.incrementAndGet()));
+        assertEquals(1, func.invokeAsync(0).get());
+        func.invalidate(0);
+        assertEquals(2, func.invokeAsync(0).get());
+        func.invalidateAll();
+        assertEquals(0, func.size());
+        assertEquals(3, func.invokeAsync(0).get());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        AsyncFunction1<Integer, Integer> body = CompletableFuture::completedFuture;
+        assertThrows(IllegalArgumentException.class, () -> new AsyncCachedFunction1<>(body, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AsyncCachedFunction1<>(body, 1, Duration.ofSeconds(1), Duration.ofSeconds(1)));
+    }
+}
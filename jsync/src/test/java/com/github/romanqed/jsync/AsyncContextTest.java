@@ -0,0 +1,112 @@
+package com.github.romanqed.jsync;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class AsyncContextTest extends Assertions {
+    private static final AsyncContext.Key<String> USER = new AsyncContext.Key<>("user");
+    private static final AsyncContext.Key<Integer> ATTEMPT = new AsyncContext.Key<>("attempt");
+
+    @Test
+    public void testAttributes() {
+        var root = AsyncContext.create();
+        var context = root.with(USER, "alice").with(ATTEMPT, 1).with(ATTEMPT, 2);
+        assertNull(root.get(USER));
+        assertEquals("alice", context.get(USER));
+        assertEquals(2, context.get(ATTEMPT));
+    }
+
+    @Test
+    public void testDeadlineKeepsEarliest() {
+        var context = AsyncContext.create();
+        assertNull(context.remaining());
+        var bounded = context.withDeadline(Duration.ofSeconds(1));
+        assertSame(bounded, bounded.withDeadline(Duration.ofHours(1)));
+        assertTrue(bounded.remaining().compareTo(Duration.ofSeconds(1)) <= 0);
+        assertTrue(context.withDeadline(Duration.ofMillis(-1)).isExpired());
+    }
+
+    @Test
+    public void testCancellationIsShared() {
+        var root = AsyncContext.create();
+        var derived = root.with(USER, "bob").withDeadline(Duration.ofHours(1));
+        derived.cancel();
+        assertTrue(root.isCancelled());
+    }
+
+    @Test
+    public void testPipelinePropagatesContext() throws Throwable {
+        ContextualAsyncFunction1<Integer, Integer> first = (context, t) ->
+                CompletableFuture.supplyAsync(() -> t + context.get(ATTEMPT), ForkJoinPool.commonPool());
+        ContextualAsyncFunction1<Integer, String> second = (context, t) ->
+                CompletableFuture.completedFuture(context.get(USER) + t);
+        var pipeline = first.andThen(second);
+        var context = AsyncContext.create().with(USER, "carol").with(ATTEMPT, 1);
+        assertEquals("carol2", pipeline.invokeAsync(context, 1).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testPipelineSkipsStagesAfterDeadline() throws Throwable {
+        var calls = new AtomicInteger();
+        var upstream = new CompletableFuture<Integer>();
+        ContextualAsyncFunction1<Integer, Integer> first = (context, t) -> upstream;
+        var pipeline = first.andThen((AsyncFunction1<Integer, Integer>) t -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(t);
+        });
+        var result = pipeline.invokeAsync(AsyncContext.create(), 0);
+        var expiring = pipeline.invokeAsync(AsyncContext.create().withDeadline(Duration.ofMillis(20)), 0);
+        Thread.sleep(40);
+        upstream.complete(1);
+        assertTrue(assertThrows(ExecutionException.class, expiring::get).getCause() instanceof TimeoutException);
+        assertEquals(1, calls.get());
+        assertEquals(1, result.get());
+    }
+
+    @Test
+    public void testPipelineSkipsStagesAfterCancel() {
+        var calls = new AtomicInteger();
+        var upstream = new CompletableFuture<Integer>();
+        ContextualAsyncFunction1<Integer, Integer> first = (context, t) -> upstream;
+        var pipeline = first.andThen((AsyncFunction1<Integer, Integer>) t -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(t);
+        });
+        var context = AsyncContext.create();
+        var cancelled = pipeline.invokeAsync(context, 0);
+        context.cancel();
+        upstream.complete(1);
+        assertTrue(assertThrows(ExecutionException.class, cancelled::get).getCause() instanceof CancellationException);
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void testExpiredContextSkipsFirstStage() {
+        var calls = new AtomicInteger();
+        var pipeline = ContextualAsyncFunction1.of((Integer t) -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(t);
+        });
+        var context = AsyncContext.create().withDeadline(Duration.ofMillis(-1));
+        var expired = pipeline.invokeAsync(context, 0);
+        assertTrue(assertThrows(ExecutionException.class, expired::get).getCause() instanceof TimeoutException);
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void testBoundFunctionFailsWhenCancelled() {
+        var context = AsyncContext.create();
+        var func = ContextualAsyncFunction1.of((Integer t) -> CompletableFuture.completedFuture(t)).bind(context);
+        context.cancel();
+        assertThrows(CancellationException.class, () -> func.invokeAsync(1).get());
+    }
+}
@@ -1,12 +1,13 @@
 package com.github.romanqed.jsync;
 
+import com.github.romanqed.jfunc.Instrumentation;
 import org.junit.jupiter.api.Test;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 public final class AsyncInterfacesTest {
 
@@ -38,12 +39,103 @@ public final class AsyncInterfacesTest {
         assertEquals(11, composed.invokeAsync(3).get().intValue()); // (3 * 3) + 2
     }
 
+    @Test
+    void asyncFunction1AndThenForwardsCancelToPendingStage() {
+        var first = new CompletableFuture<Integer>();
+        var second = new CompletableFuture<Integer>();
+        AsyncFunction1<Integer, Integer> f1 = t -> first;
+        AsyncFunction1<Integer, Integer> f2 = t -> second;
+
+        var pending = f1.andThen(f2).invokeAsync(0);
+        pending.cancel(true);
+        assertTrue(first.isCancelled());
+
+        var upstream = new CompletableFuture<Integer>();
+        var composed = f2.compose((Integer t) -> upstream).invokeAsync(0);
+        upstream.complete(1);
+        assertFalse(second.isDone());
+        composed.cancel(true);
+        assertTrue(second.isCancelled());
+    }
+
+    @Test
+    void asyncRunnableAndThenForwardsCancelToPendingStage() {
+        var first = new CompletableFuture<Void>();
+        var second = new CompletableFuture<Void>();
+        AsyncRunnable0 r0 = () -> first;
+        var pending = r0.andThen(() -> second).runAsync();
+        pending.cancel(true);
+        assertTrue(first.isCancelled());
+
+        var third = new CompletableFuture<Void>();
+        AsyncRunnable1<Integer> r1 = t -> CompletableFuture.completedFuture(null);
+        var composed = r1.andThen(t -> third).runAsync(0);
+        composed.cancel(true);
+        assertTrue(third.isCancelled());
+
+        var fourth = new CompletableFuture<Void>();
+        AsyncRunnable2<Integer, Integer> r2 = (t1, t2) -> CompletableFuture.completedFuture(null);
+        var chained = r2.andThen((t1, t2) -> fourth).runAsync(0, 0);
+        chained.cancel(true);
+        assertTrue(fourth.isCancelled());
+    }
+
     @Test
     void asyncFunction1IdentityReturnsInput() throws Exception {
         AsyncFunction1<String, String> identity = AsyncFunction1.identity();
         assertEquals("hello", identity.invokeAsync("hello").get());
     }
 
+    @Test
+    void asyncFunction1AndThenInlineReturnsNextFutureForCompleted() throws Exception {
+        var next = new CompletableFuture<Integer>();
+        AsyncFunction1<Integer, Integer> f1 = t -> CompletableFuture.completedFuture(t + 2);
+        AsyncFunction1<Integer, Integer> f2 = t -> {
+            next.complete(t * 3);
+            return next;
+        };
+        var combined = f1.andThenInline(f2);
+
+        assertSame(next, combined.invokeAsync(3));
+        assertEquals(15, next.get().intValue());
+    }
+
+    @Test
+    void asyncFunction1AndThenInlineWaitsForPending() throws Exception {
+        var pending = new CompletableFuture<Integer>();
+        AsyncFunction1<Integer, Integer> f1 = t -> pending;
+        AsyncFunction1<Integer, Integer> f2 = t -> CompletableFuture.completedFuture(t * 3);
+        var future = f1.andThenInline(f2).invokeAsync(0);
+
+        assertFalse(future.isDone());
+        pending.complete(5);
+        assertEquals(15, future.get().intValue());
+    }
+
+    @Test
+    void asyncFunction1AndThenInlinePropagatesFailures() {
+        var error = new IllegalStateException();
+        AsyncFunction1<Integer, Integer> failed = t -> CompletableFuture.failedFuture(error);
+        AsyncFunction1<Integer, Integer> throwing = t -> {
+            throw error;
+        };
+        AsyncFunction1<Integer, Integer> ok = t -> CompletableFuture.completedFuture(t);
+
+        var e1 = assertThrows(ExecutionException.class, () -> failed.andThenInline(ok).invokeAsync(1).get());
+        assertSame(error, e1.getCause());
+        var e2 = assertThrows(ExecutionException.class, () -> ok.andThenInline(throwing).invokeAsync(1).get());
+        assertSame(error, e2.getCause());
+    }
+
+    @Test
+    void asyncFunction1ComposeInlineComposesSequentially() throws Exception {
+        AsyncFunction1<Integer, Integer> f1 = t -> CompletableFuture.completedFuture(t + 2);
+        AsyncFunction1<Integer, Integer> f2 = t -> CompletableFuture.completedFuture(t * 3);
+        var composed = f1.composeInline(f2);
+
+        assertEquals(11, composed.invokeAsync(3).get().intValue()); // (3 * 3) + 2
+    }
+
     // AsyncFunction2
 
     @Test
@@ -96,6 +188,26 @@ public final class AsyncInterfacesTest {
         assertTrue(called2.get());
     }
 
+    @Test
+    void asyncRunnable0AndThenInlineCallsBoth() throws Exception {
+        var called1 = new AtomicBoolean(false);
+        var called2 = new AtomicBoolean(false);
+
+        AsyncRunnable0 r1 = () -> {
+            called1.set(true);
+            return CompletableFuture.completedFuture(null);
+        };
+        AsyncRunnable0 r2 = () -> {
+            called2.set(true);
+            return CompletableFuture.completedFuture(null);
+        };
+
+        r1.andThenInline(r2).runAsync().get();
+
+        assertTrue(called1.get());
+        assertTrue(called2.get());
+    }
+
     // AsyncRunnable1
 
     @Test
@@ -140,6 +252,20 @@ public final class AsyncInterfacesTest {
         assertTrue(called2.get());
     }
 
+    @Test
+    void asyncRunnable1AndThenInlineSkipsAfterFailure() {
+        var called = new AtomicBoolean(false);
+
+        AsyncRunnable1<String> r1 = s -> CompletableFuture.failedFuture(new IllegalStateException());
+        AsyncRunnable1<String> r2 = s -> {
+            called.set(true);
+            return CompletableFuture.completedFuture(null);
+        };
+
+        assertThrows(ExecutionException.class, () -> r1.andThenInline(r2).runAsync("arg").get());
+        assertFalse(called.get());
+    }
+
     // AsyncRunnable2
 
     @Test
@@ -183,4 +309,46 @@ public final class AsyncInterfacesTest {
         assertTrue(called1.get());
         assertTrue(called2.get());
     }
+
+    @Test
+    void asyncRunnable2AndThenInlineCallsBothWithSameArgs() throws Exception {
+        var sum = new int[2];
+
+        AsyncRunnable2<Integer, Integer> r1 = (a, b) -> {
+            sum[0] = a + b;
+            return CompletableFuture.completedFuture(null);
+        };
+        AsyncRunnable2<Integer, Integer> r2 = (a, b) -> {
+            sum[1] = a + b;
+            return CompletableFuture.completedFuture(null);
+        };
+
+        r1.andThenInline(r2).runAsync(1, 2).get();
+
+        assertEquals(3, sum[0]);
+        assertEquals(3, sum[1]);
+    }
+
+    // Instrumentation
+
+    @Test
+    void instrumentedAsyncFunction1RecordsCompletion() throws Exception {
+        var instrumentation = new Instrumentation(metrics -> {
+        });
+        var pending = new CompletableFuture<Integer>();
+        AsyncFunction1<Integer, Integer> f = t -> t < 0 ? CompletableFuture.failedFuture(new IllegalStateException())
+                : t == 0 ? pending : CompletableFuture.completedFuture(t);
+        var instrumented = InstrumentedAsyncFunction1.instrument(instrumentation, "f", f);
+        var metrics = instrumentation.metrics("f");
+
+        assertEquals(1, instrumented.invokeAsync(1).get());
+        assertThrows(ExecutionException.class, () -> instrumented.invokeAsync(-1).get());
+        var future = instrumented.invokeAsync(0);
+        assertSame(pending, future);
+        assertEquals(2, metrics.invocations());
+        pending.complete(0);
+        assertEquals(3, metrics.invocations());
+        assertEquals(1, metrics.errors());
+        assertSame(f, InstrumentedAsyncFunction1.instrument(Instrumentation.disabled(), "f", f));
+    }
 }
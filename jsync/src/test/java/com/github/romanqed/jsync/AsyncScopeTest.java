@@ -0,0 +1,108 @@
+package com.github.romanqed.jsync;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public final class AsyncScopeTest extends Assertions {
+
+    @Test
+    public void testJoinCompletesAfterAllForks() throws Throwable {
+        var scope = new AsyncScope();
+        var pending = new CompletableFuture<Integer>();
+        var f1 = scope.fork(() -> CompletableFuture.completedFuture(1));
+        var f2 = scope.fork(t -> pending, 2);
+        var join = scope.join();
+        assertFalse(join.isDone());
+        pending.complete(2);
+        join.get();
+        assertEquals(1, f1.get());
+        assertEquals(2, f2.get());
+    }
+
+    @Test
+    public void testFailureCancelsSiblings() {
+        var scope = new AsyncScope();
+        var sibling = new CompletableFuture<Integer>();
+        var failing = new CompletableFuture<Integer>();
+        scope.fork(() -> sibling);
+        scope.fork(() -> failing);
+        var error = new IllegalStateException();
+        failing.completeExceptionally(error);
+        assertTrue(sibling.isCancelled());
+        var e = assertThrows(ExecutionException.class, () -> scope.join().get());
+        assertSame(error, e.getCause());
+        var late = scope.fork(() -> CompletableFuture.completedFuture(1));
+        assertThrows(CancellationException.class, late::get);
+    }
+
+    @Test
+    public void testCancelPropagatesToSource() {
+        var scope = new AsyncScope();
+        var source = new CompletableFuture<Integer>();
+        var forked = scope.fork(() -> source);
+        forked.cancel(true);
+        assertTrue(source.isCancelled());
+        assertTrue(scope.isCancelled());
+    }
+
+    @Test
+    public void testDeadlineCancelsForks() throws Throwable {
+        var scope = new AsyncScope(Duration.ofMillis(10));
+        var source = new CompletableFuture<Integer>();
+        scope.fork(() -> source);
+        var e = assertThrows(ExecutionException.class, () -> scope.join().get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof TimeoutException);
+        assertTrue(source.isCancelled());
+    }
+
+    @Test
+    public void testCloseCancelsRunningForks() {
+        var source = new CompletableFuture<Integer>();
+        try (var scope = new AsyncScope()) {
+            scope.fork(() -> source);
+        }
+        assertTrue(source.isCancelled());
+    }
+
+    @Test
+    public void testForkAfterJoinThrows() throws Throwable {
+        var scope = new AsyncScope();
+        scope.join().get();
+        assertThrows(IllegalStateException.class, () -> scope.fork(() -> CompletableFuture.completedFuture(1)));
+    }
+
+    @Test
+    public void testJoinWaitsForConcurrentFork() throws Throwable {
+        for (var i = 0; i < 500; ++i) {
+            var scope = new AsyncScope();
+            var source = new CompletableFuture<Integer>();
+            var start = new CountDownLatch(1);
+            var forked = new AtomicBoolean();
+            var thread = new Thread(() -> {
+                try {
+                    start.await();
+                    scope.fork(() -> source);
+                    forked.set(true);
+                } catch (IllegalStateException | InterruptedException e) {
+                    // Joined first
+                }
+            });
+            thread.start();
+            start.countDown();
+            var join = scope.join();
+            thread.join();
+            assertEquals(forked.get(), !join.isDone());
+            source.complete(1);
+            join.get(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.github.romanqed.jsync;
+
+import com.github.romanqed.jfunc.UncheckedException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class BatchingTest extends Assertions {
+
+    private static AsyncFunction1<List<Integer>, Map<Integer, Integer>> doubling(List<List<Integer>> calls) {
+        return keys -> {
+            synchronized (calls) {
+                calls.add(keys);
+            }
+            var ret = new HashMap<Integer, Integer>();
+            for (var key : keys) {
+                ret.put(key, key * 2);
+            }
+            return CompletableFuture.completedFuture(ret);
+        };
+    }
+
+    @Test
+    public void testDispatchesFullBatch() throws Throwable {
+        var calls = new ArrayList<List<Integer>>();
+        var func = new BatchingAsyncFunction1<>(doubling(calls), 3, Duration.ofHours(1));
+        var f1 = func.invokeAsync(1);
+        var f2 = func.invokeAsync(2);
+        assertFalse(f1.isDone());
+        var f3 = func.invokeAsync(3);
+        assertEquals(2, f1.get());
+        assertEquals(4, f2.get());
+        assertEquals(6, f3.get());
+        assertEquals(List.of(List.of(1, 2, 3)), calls);
+    }
+
+    @Test
+    public void testDeduplicatesKeys() throws Throwable {
+        var calls = new ArrayList<List<Integer>>();
+        var func = new BatchingAsyncFunction1<>(doubling(calls), 10, Duration.ofHours(1));
+        var f1 = func.invokeAsync(1);
+        var f2 = func.invokeAsync(1);
+        var f3 = func.invokeAsync(2);
+        assertNotSame(f1, f2);
+        f2.cancel(true);
+        func.dispatch();
+        assertEquals(2, f1.get());
+        assertEquals(4, f3.get());
+        assertEquals(List.of(List.of(1, 2)), calls);
+    }
+
+    @Test
+    public void testDispatchesAfterWindow() throws Throwable {
+        var calls = new ArrayList<List<Integer>>();
+        var func = new BatchingAsyncFunction1<>(doubling(calls), 100, Duration.ofMillis(10));
+        var f1 = func.invokeAsync(1);
+        var f2 = func.invokeAsync(2);
+        assertEquals(2, f1.get(5, TimeUnit.SECONDS));
+        assertEquals(4, f2.get(5, TimeUnit.SECONDS));
+        synchronized (calls) {
+            assertEquals(List.of(List.of(1, 2)), calls);
+        }
+    }
+
+    @Test
+    public void testMissingKeysCompleteWithNull() throws Throwable {
+        var func = new BatchingAsyncFunction1<Integer, Integer>(
+                keys -> CompletableFuture.completedFuture(Map.of()), 10, Duration.ofHours(1));
+        var future = func.invokeAsync(1);
+        func.dispatch();
+        assertNull(future.get());
+    }
+
+    @Test
+    public void testFailsRestOfBatchWhenLookupThrows() throws Throwable {
+        // Map.of rejects null lookups with NullPointerException
+        var func = new BatchingAsyncFunction1<Integer, Integer>(
+                keys -> CompletableFuture.completedFuture(Map.of(1, 2)), 10, Duration.ofHours(1));
+        var f1 = func.invokeAsync(1);
+        var f2 = func.invokeAsync(null);
+        func.dispatch();
+        assertEquals(2, f1.get());
+        assertTrue(assertThrows(ExecutionException.class, f2::get).getCause() instanceof NullPointerException);
+    }
+
+    @Test
+    public void testFailsWholeBatch() {
+        var error = new IOException();
+        var func = new BatchingAsyncFunction1<Integer, Integer>(
+                keys -> CompletableFuture.failedFuture(error), 10, Duration.ofHours(1));
+        var f1 = func.invokeAsync(1);
+        var f2 = func.invokeAsync(2);
+        func.dispatch();
+        assertSame(error, assertThrows(ExecutionException.class, f1::get).getCause());
+        assertSame(error, assertThrows(ExecutionException.class, f2::get).getCause());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchingAsyncFunction1<>(doubling(new ArrayList<>()), 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchingAsyncFunction1<>(doubling(new ArrayList<>()), 1, Duration.ofMillis(-1)));
+    }
+
+    @Test
+    public void testRunnableWritesFullBatches() throws Throwable {
+        var batches = new ArrayList<List<Integer>>();
+        var runnable = new BatchingRunnable1<Integer>(batches::add, 3, Duration.ofHours(1));
+        for (var i = 0; i < 7; ++i) {
+            runnable.run(i);
+        }
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4, 5)), batches);
+        assertEquals(1, runnable.size());
+        runnable.close();
+        assertEquals(List.of(6), batches.get(2));
+        assertThrows(IllegalStateException.class, () -> runnable.run(7));
+    }
+
+    @Test
+    public void testRunnableWritesOnWindow() throws Throwable {
+        var written = new CompletableFuture<List<Integer>>();
+        var runnable = new BatchingRunnable1<Integer>(written::complete, 10, Duration.ofMillis(10));
+        runnable.run(1);
+        runnable.run(2);
+        assertEquals(List.of(1, 2), written.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRunnableAppliesBackpressure() throws Throwable {
+        var written = new AtomicInteger();
+        var runnable = new BatchingRunnable1<Integer>(batch -> written.addAndGet(batch.size()),
+                2, Duration.ofHours(1), 2, ForkJoinPool.commonPool());
+        var threads = new ArrayList<Thread>();
+        for (var i = 0; i < 4; ++i) {
+            var thread = new Thread(() -> {
+                try {
+                    for (var j = 0; j < 1000; ++j) {
+                        runnable.run(j);
+                        assertTrue(runnable.size() <= 2);
+                    }
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        runnable.close();
+        assertEquals(4000, written.get());
+    }
+
+    @Test
+    public void testRunnableReportsSinkFailure() {
+        var error = new IOException();
+        var runnable = new BatchingRunnable1<Integer>(batch -> {
+            throw error;
+        }, 1, Duration.ofHours(1));
+        assertSame(error, assertThrows(IOException.class, () -> runnable.run(1)));
+        assertEquals(0, runnable.size());
+    }
+
+    @Test
+    public void testRunnableCloseWrapsCheckedSinkFailure() throws Throwable {
+        var error = new IOException();
+        var runnable = new BatchingRunnable1<Integer>(batch -> {
+            throw error;
+        }, 10, Duration.ofHours(1));
+        var e = assertThrows(UncheckedException.class, () -> {
+            try (runnable) {
+                runnable.run(1);
+            }
+        });
+        assertSame(error, e.getCause());
+    }
+
+    @Test
+    public void testAsyncRunnableCompletesItems() throws Throwable {
+        var batches = new ArrayList<List<Integer>>();
+        var pending = new CompletableFuture<Void>();
+        var runnable = new BatchingAsyncRunnable1<Integer>(batch -> {
+            batches.add(batch);
+            return pending;
+        }, 2, Duration.ofHours(1));
+        var f1 = runnable.runAsync(1);
+        var f2 = runnable.runAsync(2);
+        var f3 = runnable.runAsync(3);
+        assertEquals(List.of(List.of(1, 2)), batches);
+        assertFalse(f1.isDone());
+        pending.complete(null);
+        f1.get();
+        f2.get();
+        assertFalse(f3.isDone());
+        runnable.flush().get();
+        f3.get();
+        assertEquals(List.of(3), batches.get(1));
+    }
+
+    @Test
+    public void testAsyncRunnableRejectsWhenFull() {
+        var runnable = new BatchingAsyncRunnable1<Integer>(batch -> new CompletableFuture<>(),
+                2, Duration.ofHours(1), 2, 0, ForkJoinPool.commonPool());
+        runnable.runAsync(1);
+        runnable.runAsync(2);
+        var e = assertThrows(ExecutionException.class, () -> runnable.runAsync(3).get());
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void testAsyncRunnableWaitsForCapacity() throws Throwable {
+        var batches = new ArrayList<List<Integer>>();
+        var writes = new ArrayList<CompletableFuture<Void>>();
+        var runnable = new BatchingAsyncRunnable1<Integer>(batch -> {
+            batches.add(batch);
+            var write = new CompletableFuture<Void>();
+            writes.add(write);
+            return write;
+        }, 2, Duration.ofHours(1), 2, 2, ForkJoinPool.commonPool());
+        runnable.runAsync(1);
+        runnable.runAsync(2);
+        var f3 = runnable.runAsync(3);
+        var f4 = runnable.runAsync(4);
+        var e = assertThrows(ExecutionException.class, () -> runnable.runAsync(5).get());
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertEquals(2, runnable.waiting());
+        assertFalse(f3.isDone());
+        writes.get(0).complete(null);
+        assertEquals(0, runnable.waiting());
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4)), batches);
+        assertFalse(f3.isDone());
+        writes.get(1).complete(null);
+        f3.get();
+        f4.get();
+        assertEquals(0, runnable.size());
+    }
+
+    @Test
+    public void testAsyncRunnableDropsCancelledWaitingItem() throws Throwable {
+        var batches = new ArrayList<List<Integer>>();
+        var pending = new CompletableFuture<Void>();
+        var runnable = new BatchingAsyncRunnable1<Integer>(batch -> {
+            batches.add(batch);
+            return pending;
+        }, 1, Duration.ofHours(1), 1, 1, ForkJoinPool.commonPool());
+        runnable.runAsync(1);
+        runnable.runAsync(2).cancel(true);
+        assertEquals(0, runnable.waiting());
+        var f3 = runnable.runAsync(3);
+        assertEquals(1, runnable.waiting());
+        runnable.close();
+        assertFalse(runnable.completion().isDone());
+        pending.complete(null);
+        f3.get();
+        runnable.completion().get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(List.of(1), List.of(3)), batches);
+    }
+
+    @Test
+    public void testAsyncRunnableDrainsOnClose() throws Throwable {
+        var written = new AtomicInteger();
+        var runnable = new BatchingAsyncRunnable1<Integer>(batch -> CompletableFuture.runAsync(
+                () -> written.addAndGet(batch.size())), 4, Duration.ofHours(1));
+        for (var i = 0; i < 6; ++i) {
+            runnable.runAsync(i);
+        }
+        runnable.close();
+        runnable.completion().get(5, TimeUnit.SECONDS);
+        assertEquals(6, written.get());
+        var e = assertThrows(ExecutionException.class, () -> runnable.runAsync(7).get());
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void testAsyncRunnableFailsBatch() {
+        var error = new IllegalStateException();
+        var runnable = new BatchingAsyncRunnable1<Integer>(batch -> CompletableFuture.failedFuture(error),
+                1, Duration.ofHours(1));
+        var e = assertThrows(ExecutionException.class, () -> runnable.runAsync(1).get());
+        assertSame(error, e.getCause());
+        assertEquals(0, runnable.size());
+    }
+
+    @Test
+    public void testInvalidRunnableArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchingRunnable1<Integer>(batch -> {
+                }, 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new BatchingAsyncRunnable1<Integer>(
+                batch -> CompletableFuture.completedFuture(null), 4, Duration.ZERO, 2, 0, ForkJoinPool.commonPool()));
+        assertThrows(IllegalArgumentException.class, () -> new BatchingAsyncRunnable1<Integer>(
+                batch -> CompletableFuture.completedFuture(null), 2, Duration.ZERO, 2, -1, ForkJoinPool.commonPool()));
+    }
+}
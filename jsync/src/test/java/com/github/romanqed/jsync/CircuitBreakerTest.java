@@ -0,0 +1,122 @@
+package com.github.romanqed.jsync;
+
+import com.github.romanqed.jfunc.Function1;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class CircuitBreakerTest extends Assertions {
+
+    @Test
+    public void testOpensOnFailureRate() {
+        var breaker = new CircuitBreaker(0.5, 4, Duration.ofHours(1));
+        var calls = new AtomicInteger();
+        var func = breaker.limit((AsyncFunction1<Boolean, Integer>) fail -> {
+            calls.incrementAndGet();
+            return fail ? CompletableFuture.failedFuture(new IllegalStateException()) : CompletableFuture.completedFuture(1);
+        });
+        func.invokeAsync(false);
+        func.invokeAsync(true);
+        func.invokeAsync(false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        func.invokeAsync(true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        var e = assertThrows(ExecutionException.class, () -> func.invokeAsync(false).get());
+        assertTrue(e.getCause() instanceof CallNotPermittedException);
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    public void testHalfOpenProbeCloses() throws Throwable {
+        var breaker = new CircuitBreaker(1, 1, null, 1, 1, Duration.ofMillis(10), 1);
+        var fail = new boolean[]{true};
+        Function1<Integer, Integer> func = breaker.guard(t -> {
+            if (fail[0]) {
+                throw new IOException();
+            }
+            return t;
+        });
+        assertThrows(IOException.class, () -> func.invoke(1));
+        assertThrows(CallNotPermittedException.class, () -> func.invoke(1));
+        Thread.sleep(20);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        fail[0] = false;
+        assertEquals(2, func.invoke(2));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void testHalfOpenProbeFailureReopens() throws Throwable {
+        var breaker = new CircuitBreaker(1, 1, null, 1, 1, Duration.ofMillis(10), 1);
+        var pending = new CompletableFuture<Integer>();
+        breaker.submit(() -> CompletableFuture.failedFuture(new IllegalStateException()));
+        Thread.sleep(20);
+        var probe = breaker.submit(() -> pending);
+        var rejected = breaker.submit(() -> CompletableFuture.completedFuture(1));
+        assertTrue(assertThrows(ExecutionException.class, rejected::get).getCause() instanceof CallNotPermittedException);
+        pending.completeExceptionally(new IllegalStateException());
+        assertTrue(probe.isCompletedExceptionally());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    public void testHungProbeDoesNotKeepHalfOpen() throws Throwable {
+        var breaker = new CircuitBreaker(1, 1, null, 1, 1, Duration.ofMillis(50), Duration.ofMillis(20), 1);
+        var hung = new CompletableFuture<Integer>();
+        breaker.submit(() -> CompletableFuture.failedFuture(new IllegalStateException()));
+        Thread.sleep(60);
+        breaker.submit(() -> hung);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        Thread.sleep(30);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        Thread.sleep(50);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertEquals(1, breaker.submit(() -> CompletableFuture.completedFuture(1)).get());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        hung.completeExceptionally(new IllegalStateException());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void testCancelledCallsAreNeutral() throws Throwable {
+        var breaker = new CircuitBreaker(1, 1, null, 1, 1, Duration.ofMillis(10), Duration.ofHours(1), 1);
+        var cancelled = breaker.submit(CompletableFuture::new);
+        cancelled.cancel(true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        breaker.submit(() -> CompletableFuture.failedFuture(new IllegalStateException()));
+        Thread.sleep(20);
+        var probe = breaker.submit(CompletableFuture::new);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        probe.cancel(true);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertEquals(1, breaker.submit(() -> CompletableFuture.completedFuture(1)).get());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void testOpensOnSlowCallRate() throws Throwable {
+        var breaker = new CircuitBreaker(1, 0.5, Duration.ofMillis(5), 2, 2, Duration.ofHours(1), 1);
+        var pending = new CompletableFuture<Integer>();
+        breaker.submit(() -> pending);
+        Thread.sleep(10);
+        pending.complete(1);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        breaker.submit(() -> CompletableFuture.completedFuture(1));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        breaker.reset();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0, 1, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0.5, 0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CircuitBreaker(0.5, 1, null, 2, 3, Duration.ofSeconds(1), 1));
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.romanqed.jsync;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class CoalescingTest extends Assertions {
+
+    @Test
+    public void testFunction1SharesInFlightInvocation() throws Throwable {
+        var calls = new AtomicInteger();
+        var pending = new CompletableFuture<Integer>();
+        var func = new CoalescingAsyncFunction1<Integer, Integer>(t -> {
+            calls.incrementAndGet();
+            return pending;
+        });
+        var f1 = func.invokeAsync(1);
+        var f2 = func.invokeAsync(1);
+        assertEquals(1, calls.get());
+        assertEquals(1, func.inFlight());
+        pending.complete(5);
+        assertEquals(5, f1.get());
+        assertEquals(5, f2.get());
+        assertEquals(0, func.inFlight());
+    }
+
+    @Test
+    public void testFunction1SeparatesKeys() throws Throwable {
+        var calls = new AtomicInteger();
+        var func = new CoalescingAsyncFunction1<Integer, Integer>(t -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        func.invokeAsync(1);
+        func.invokeAsync(2);
+        func.invokeAsync(null);
+        func.invokeAsync(null);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testFunction1DoesNotCacheResults() throws Throwable {
+        var calls = new AtomicInteger();
+        var func = new CoalescingAsyncFunction1<Integer, Integer>(
+                t -> CompletableFuture.completedFuture(calls.incrementAndGet()));
+        assertEquals(1, func.invokeAsync(0).get());
+        assertEquals(2, func.invokeAsync(0).get());
+    }
+
+    @Test
+    public void testFunction1CancelDoesNotAffectOthers() throws Throwable {
+        var pending = new CompletableFuture<Integer>();
+        var func = new CoalescingAsyncFunction1<Integer, Integer>(t -> pending);
+        var f1 = func.invokeAsync(1);
+        var f2 = func.invokeAsync(1);
+        f1.cancel(false);
+        pending.complete(3);
+        assertEquals(3, f2.get());
+    }
+
+    @Test
+    public void testFunction1PropagatesFailures() {
+        var error = new IllegalStateException();
+        var func = new CoalescingAsyncFunction1<Integer, Integer>(t -> {
+            throw error;
+        });
+        var e = assertThrows(ExecutionException.class, () -> func.invokeAsync(1).get());
+        assertSame(error, e.getCause());
+        assertEquals(0, func.inFlight());
+    }
+
+    @Test
+    public void testFunction0SharesInFlightInvocation() throws Throwable {
+        var calls = new AtomicInteger();
+        var pending = new CompletableFuture<String>();
+        var func = new CoalescingAsyncFunction0<>(() -> {
+            calls.incrementAndGet();
+            return pending;
+        });
+        var f1 = func.invokeAsync();
+        var f2 = func.invokeAsync();
+        assertTrue(func.isInFlight());
+        pending.complete("value");
+        assertEquals("value", f1.get());
+        assertEquals("value", f2.get());
+        assertFalse(func.isInFlight());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testFunction0PropagatesFailures() {
+        var error = new IOException();
+        var func = new CoalescingAsyncFunction0<String>(() -> CompletableFuture.failedFuture(error));
+        var e = assertThrows(ExecutionException.class, () -> func.invokeAsync().get());
+        assertSame(error, e.getCause());
+        assertFalse(func.isInFlight());
+    }
+}
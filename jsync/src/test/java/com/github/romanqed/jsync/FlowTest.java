@@ -0,0 +1,191 @@
+package com.github.romanqed.jsync;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public final class FlowTest extends Assertions {
+
+    private static <T> CompletableFuture<List<T>> collect(Flow.Publisher<T> publisher) {
+        var ret = new CompletableFuture<List<T>>();
+        var items = Collections.synchronizedList(new ArrayList<T>());
+        publisher.subscribe(new Flow.Subscriber<T>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(T item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                ret.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                ret.complete(items);
+            }
+        });
+        return ret;
+    }
+
+    private static void publish(Flow.Subscriber<Integer> subscriber, int count) {
+        try (var publisher = new SubmissionPublisher<Integer>()) {
+            publisher.subscribe(subscriber);
+            for (var i = 0; i < count; ++i) {
+                publisher.submit(i);
+            }
+        }
+    }
+
+    @Test
+    public void testOrderedMapping() throws Throwable {
+        var processor = new MapAsyncProcessor<Integer, Integer>(
+                t -> CompletableFuture.supplyAsync(() -> t * 2), 4, 8, true);
+        var result = collect(processor);
+        publish(processor, 1000);
+        var expected = IntStream.range(0, 1000).map(t -> t * 2).boxed().collect(Collectors.toList());
+        assertEquals(expected, result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testUnorderedMapping() throws Throwable {
+        var processor = new MapAsyncProcessor<Integer, Integer>(
+                t -> CompletableFuture.supplyAsync(() -> t + 1), 4, 4, false);
+        var result = collect(processor);
+        publish(processor, 1000);
+        var values = new ArrayList<>(result.get(5, TimeUnit.SECONDS));
+        Collections.sort(values);
+        assertEquals(IntStream.range(1, 1001).boxed().collect(Collectors.toList()), values);
+    }
+
+    @Test
+    public void testBoundsConcurrencyAndDemand() throws Throwable {
+        var pending = new ArrayList<CompletableFuture<Integer>>();
+        var processor = new MapAsyncProcessor<Integer, Integer>(t -> {
+            var future = new CompletableFuture<Integer>();
+            pending.add(future);
+            return future;
+        }, 2, 4, true);
+        var upstream = new AtomicInteger();
+        processor.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                upstream.addAndGet((int) n);
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        var result = collect(processor);
+        assertEquals(4, upstream.get());
+        for (var i = 0; i < 4; ++i) {
+            processor.onNext(i);
+        }
+        assertEquals(2, pending.size());
+        // Out-of-order completion is held until the head completes
+        pending.get(1).complete(1);
+        assertEquals(3, pending.size());
+        pending.get(0).complete(0);
+        pending.get(2).complete(2);
+        pending.get(3).complete(3);
+        assertEquals(8, upstream.get());
+        processor.onComplete();
+        assertEquals(List.of(0, 1, 2, 3), result.get());
+    }
+
+    @Test
+    public void testFailureCancelsUpstream() {
+        var cancelled = new AtomicInteger();
+        var error = new IllegalStateException();
+        var processor = new MapAsyncProcessor<Integer, Integer>(t -> CompletableFuture.failedFuture(error), 1);
+        processor.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+                cancelled.incrementAndGet();
+            }
+        });
+        var result = collect(processor);
+        processor.onNext(1);
+        var e = assertThrows(ExecutionException.class, result::get);
+        assertSame(error, e.getCause());
+        assertEquals(1, cancelled.get());
+    }
+
+    @Test
+    public void testRejectsSecondSubscriber() {
+        var processor = new MapAsyncProcessor<Integer, Integer>(CompletableFuture::completedFuture, 1);
+        collect(processor);
+        var e = assertThrows(ExecutionException.class, () -> collect(processor).get());
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testAsyncSubscriber() throws Throwable {
+        var sum = new AtomicInteger();
+        var active = new AtomicInteger();
+        var peak = new AtomicInteger();
+        var subscriber = new AsyncSubscriber<Integer>(t -> CompletableFuture.runAsync(() -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            sum.addAndGet(t);
+            active.decrementAndGet();
+        }), 3);
+        publish(subscriber, 100);
+        subscriber.completion().get(5, TimeUnit.SECONDS);
+        assertEquals(4950, sum.get());
+        assertTrue(peak.get() <= 3);
+    }
+
+    @Test
+    public void testAsyncSubscriberFailure() {
+        var error = new IllegalStateException();
+        var subscriber = new AsyncSubscriber<Integer>(t -> CompletableFuture.failedFuture(error), 1);
+        publish(subscriber, 10);
+        var e = assertThrows(ExecutionException.class, () -> subscriber.completion().get(5, TimeUnit.SECONDS));
+        assertSame(error, e.getCause());
+    }
+
+    @Test
+    public void testPipeline() throws Throwable {
+        var processor = new MapAsyncProcessor<Integer, Integer>(t -> CompletableFuture.completedFuture(t * t), 2);
+        var sum = new AtomicInteger();
+        var subscriber = new AsyncSubscriber<Integer>(t -> {
+            sum.addAndGet(t);
+            return CompletableFuture.completedFuture(null);
+        }, 1);
+        processor.subscribe(subscriber);
+        publish(processor, 10);
+        subscriber.completion().get(5, TimeUnit.SECONDS);
+        assertEquals(285, sum.get());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MapAsyncProcessor<Integer, Integer>(CompletableFuture::completedFuture, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MapAsyncProcessor<Integer, Integer>(CompletableFuture::completedFuture, 4, 2, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AsyncSubscriber<Integer>(t -> CompletableFuture.completedFuture(null), 0));
+    }
+}
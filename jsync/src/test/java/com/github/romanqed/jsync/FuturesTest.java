@@ -0,0 +1,228 @@
+package com.github.romanqed.jsync;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public final class FuturesTest extends Assertions {
+
+    @Test
+    public void testTraversePreservesOrder() throws Throwable {
+        var items = List.of(1, 2, 3, 4, 5);
+        var result = Futures.traverse(items, t -> CompletableFuture.completedFuture(t * 10), 2);
+        assertEquals(List.of(10, 20, 30, 40, 50), result.get());
+    }
+
+    @Test
+    public void testTraverseBoundsParallelism() throws Throwable {
+        var active = new AtomicInteger();
+        var peak = new AtomicInteger();
+        var pending = new ArrayList<CompletableFuture<Integer>>();
+        var items = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+        var result = Futures.traverse(items, (Integer t) -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            var future = new CompletableFuture<Integer>();
+            pending.add(future);
+            return future.whenComplete((v, e) -> active.decrementAndGet());
+        }, 3);
+        assertEquals(3, pending.size());
+        for (var i = 0; i < 10; ++i) {
+            pending.get(i).complete(i);
+        }
+        assertEquals(items, result.get());
+        assertEquals(3, peak.get());
+    }
+
+    @Test
+    public void testTraverseLargeSynchronousCollection() throws Throwable {
+        var items = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+        var result = Futures.traverse(items, CompletableFuture::completedFuture, 4);
+        assertEquals(items, result.get());
+    }
+
+    @Test
+    public void testTraverseStopsOnFailure() {
+        var calls = new AtomicInteger();
+        var error = new IllegalStateException();
+        var result = Futures.traverse(List.of(1, 2, 3), (Integer t) -> {
+            calls.incrementAndGet();
+            return CompletableFuture.<Integer>failedFuture(error);
+        }, 1);
+        var e = assertThrows(ExecutionException.class, result::get);
+        assertSame(error, e.getCause());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testTraverseEmpty() throws Throwable {
+        assertEquals(List.of(), Futures.traverse(List.<Integer>of(), CompletableFuture::completedFuture, 1).get());
+        assertThrows(IllegalArgumentException.class,
+                () -> Futures.traverse(List.of(1), CompletableFuture::completedFuture, 0));
+    }
+
+    @Test
+    public void testAll() throws Throwable {
+        var pending = new CompletableFuture<Integer>();
+        var result = Futures.all(List.of(CompletableFuture.completedFuture(1), pending));
+        assertFalse(result.isDone());
+        pending.complete(2);
+        assertEquals(List.of(1, 2), result.get());
+        var error = new IllegalStateException();
+        var failed = Futures.all(List.of(new CompletableFuture<Integer>(), CompletableFuture.failedFuture(error)));
+        assertSame(error, assertThrows(ExecutionException.class, failed::get).getCause());
+    }
+
+    @Test
+    public void testCollect() throws Throwable {
+        var futures = List.of(CompletableFuture.completedFuture("a"), CompletableFuture.completedFuture("b"));
+        assertEquals("a,b", Futures.collect(futures, Collectors.joining(",")).get());
+    }
+
+    @Test
+    public void testAny() throws Throwable {
+        var pending = new CompletableFuture<Integer>();
+        assertEquals(1, Futures.any(List.of(pending, CompletableFuture.completedFuture(1))).get());
+        var e = assertThrows(ExecutionException.class, () -> Futures.any(List.of()).get());
+        assertTrue(e.getCause() instanceof NoSuchElementException);
+    }
+
+    @Test
+    public void testFirstSuccessful() throws Throwable {
+        var error = new IllegalStateException();
+        var pending = new CompletableFuture<Integer>();
+        var result = Futures.firstSuccessful(List.of(CompletableFuture.failedFuture(error), pending));
+        assertFalse(result.isDone());
+        pending.complete(5);
+        assertEquals(5, result.get());
+        var failed = Futures.firstSuccessful(List.of(
+                CompletableFuture.<Integer>failedFuture(new IllegalArgumentException()),
+                CompletableFuture.<Integer>failedFuture(error)));
+        assertSame(error, assertThrows(ExecutionException.class, failed::get).getCause());
+    }
+
+    @Test
+    public void testRunAndProvide() throws Throwable {
+        var called = new AtomicInteger();
+        Futures.run(called::incrementAndGet).get(5, TimeUnit.SECONDS);
+        assertEquals(1, called.get());
+        assertEquals("ok", Futures.provide(() -> "ok", Runnable::run).get());
+        var error = new java.io.IOException();
+        var e = assertThrows(ExecutionException.class, () -> Futures.provide(() -> {
+            throw error;
+        }).get(5, TimeUnit.SECONDS));
+        assertSame(error, e.getCause());
+    }
+
+    @Test
+    public void testRunNowAndProvideNow() throws Throwable {
+        var thread = new Thread[1];
+        var future = Futures.runNow(() -> thread[0] = Thread.currentThread());
+        assertTrue(future.isDone());
+        assertSame(Thread.currentThread(), thread[0]);
+        assertEquals(5, Futures.provideNow(() -> 5).getNow(null));
+        assertTrue(Futures.provideNow(() -> {
+            throw new java.io.IOException();
+        }).isCompletedExceptionally());
+    }
+
+    @Test
+    public void testProvideOnSkipsHopInsidePool() throws Throwable {
+        var pool = new ForkJoinPool(1);
+        try {
+            var inner = Futures.provide(() -> {
+                var outer = Thread.currentThread();
+                return Futures.provideOn(() -> Thread.currentThread() == outer, pool).getNow(false);
+            }, pool);
+            assertTrue(inner.get(5, TimeUnit.SECONDS));
+            Executor executor = Runnable::run;
+            assertEquals(1, Futures.provideOn(() -> 1, executor).get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testTrampolineKeepsStackFlat() throws Throwable {
+        var trampoline = Futures.trampoline();
+        var start = new CompletableFuture<Integer>();
+        CompletableFuture<Integer> chain = start;
+        for (var i = 0; i < 100_000; ++i) {
+            chain = chain.thenApplyAsync(v -> v + 1, trampoline);
+        }
+        trampoline.execute(() -> start.complete(0));
+        assertEquals(100_000, chain.get());
+    }
+
+    @Test
+    public void testTaskFailuresAreEncodedLikeSupplyAsync() {
+        var error = new java.io.IOException();
+        var stored = Futures.provide(() -> {
+            throw error;
+        }, Runnable::run).handle((value, e) -> e).join();
+        assertTrue(stored instanceof CompletionException);
+        assertSame(error, stored.getCause());
+        stored = Futures.runNow(() -> {
+            throw error;
+        }).handle((value, e) -> e).join();
+        assertTrue(stored instanceof CompletionException);
+        assertSame(error, stored.getCause());
+    }
+
+    @Test
+    public void testTrampolineDrainsAfterError() {
+        var trampoline = Futures.trampoline();
+        var ran = new AtomicInteger();
+        var error = new Error();
+        var thrown = assertThrows(Error.class, () -> trampoline.execute(() -> {
+            trampoline.execute(() -> {
+                throw error;
+            });
+            trampoline.execute(ran::incrementAndGet);
+        }));
+        assertSame(error, thrown);
+        assertEquals(1, ran.get());
+        trampoline.execute(ran::incrementAndGet);
+        assertEquals(2, ran.get());
+    }
+
+    @Test
+    public void testProvideOnQueuesOnTrampoline() throws Throwable {
+        var trampoline = Futures.trampoline();
+        var nested = new AtomicReference<CompletableFuture<Integer>>();
+        var doneInside = new AtomicReference<Boolean>();
+        trampoline.execute(() -> {
+            nested.set(Futures.provideOn(() -> 1, trampoline));
+            doneInside.set(nested.get().isDone());
+        });
+        assertFalse(doneInside.get());
+        assertEquals(1, nested.get().getNow(null));
+    }
+
+    @Test
+    public void testTaskEventsAreRecorded() throws Throwable {
+        var java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        var process = new ProcessBuilder(java,
+                "-D" + Events.PROPERTY + "=true",
+                "-cp", System.getProperty("java.class.path"),
+                TaskEventProbe.class.getName())
+                .redirectErrorStream(true)
+                .start();
+        var output = new String(process.getInputStream().readAllBytes());
+        assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+        assertEquals(0, process.exitValue(), output);
+    }
+}
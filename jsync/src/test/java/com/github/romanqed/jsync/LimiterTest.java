@@ -0,0 +1,150 @@
+package com.github.romanqed.jsync;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class LimiterTest extends Assertions {
+
+    @Test
+    public void testConcurrencyLimiterQueuesExcess() throws Throwable {
+        var limiter = new ConcurrencyLimiter(2);
+        var pending = new ArrayList<CompletableFuture<Integer>>();
+        var calls = new AtomicInteger();
+        AsyncFunction1<Integer, Integer> func = limiter.limit((Integer t) -> {
+            calls.incrementAndGet();
+            var future = new CompletableFuture<Integer>();
+            pending.add(future);
+            return future;
+        });
+        var f1 = func.invokeAsync(1);
+        func.invokeAsync(2);
+        var f3 = func.invokeAsync(3);
+        assertEquals(2, calls.get());
+        assertEquals(2, limiter.active());
+        assertEquals(1, limiter.queued());
+        pending.get(0).complete(10);
+        assertEquals(10, f1.get());
+        assertEquals(3, calls.get());
+        assertFalse(f3.isDone());
+        pending.get(2).complete(30);
+        assertEquals(30, f3.get());
+        assertEquals(1, limiter.active());
+        assertEquals(0, limiter.queued());
+    }
+
+    @Test
+    public void testConcurrencyLimiterRejectsWhenQueueIsFull() {
+        var limiter = new ConcurrencyLimiter(1, 1);
+        AsyncFunction0<Integer> task = CompletableFuture::new;
+        limiter.submit(task);
+        limiter.submit(task);
+        var e = assertThrows(ExecutionException.class, () -> limiter.submit(task).get());
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void testConcurrencyLimiterDrainsSynchronousTasks() throws Throwable {
+        var limiter = new ConcurrencyLimiter(1);
+        var blocker = new CompletableFuture<Void>();
+        var runnable = limiter.limitRunnable(() -> blocker);
+        runnable.runAsync();
+        var count = new AtomicInteger();
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        for (var i = 0; i < 10_000; ++i) {
+            futures.add(limiter.submit(() -> {
+                count.incrementAndGet();
+                return CompletableFuture.completedFuture(null);
+            }));
+        }
+        blocker.complete(null);
+        for (var future : futures) {
+            future.get();
+        }
+        assertEquals(10_000, count.get());
+        assertEquals(0, limiter.active());
+    }
+
+    @Test
+    public void testConcurrencyLimiterSkipsCancelled() throws Throwable {
+        var limiter = new ConcurrencyLimiter(1);
+        var blocker = new CompletableFuture<Integer>();
+        var calls = new AtomicInteger();
+        limiter.submit(() -> blocker);
+        var cancelled = limiter.submit(() -> CompletableFuture.completedFuture(calls.incrementAndGet()));
+        cancelled.cancel(false);
+        blocker.complete(0);
+        assertEquals(0, calls.get());
+        assertEquals(0, limiter.active());
+    }
+
+    @Test
+    public void testConcurrencyLimiterFreesQueueOnCancel() throws Throwable {
+        var limiter = new ConcurrencyLimiter(1, 1);
+        var blocker = new CompletableFuture<Integer>();
+        limiter.submit(() -> blocker);
+        limiter.submit(() -> CompletableFuture.completedFuture(1)).cancel(false);
+        assertEquals(0, limiter.queued());
+        var queued = limiter.submit(() -> CompletableFuture.completedFuture(2));
+        assertEquals(1, limiter.queued());
+        blocker.complete(0);
+        assertEquals(2, queued.get());
+    }
+
+    @Test
+    public void testRateLimiterRejectsAfterBurst() throws Throwable {
+        var limiter = new RateLimiter(3, Duration.ofHours(1));
+        AsyncFunction0<Integer> task = () -> CompletableFuture.completedFuture(1);
+        for (var i = 0; i < 3; ++i) {
+            assertEquals(1, limiter.submit(task).get());
+        }
+        var e = assertThrows(ExecutionException.class, () -> limiter.submit(task).get());
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void testRateLimiterDefersWithinMaxWait() throws Throwable {
+        var limiter = new RateLimiter(1, Duration.ofMillis(20), Duration.ofSeconds(1));
+        var calls = new AtomicInteger();
+        AsyncRunnable1<Integer> runnable = limiter.limitRunnable(t -> {
+            calls.addAndGet(t);
+            return CompletableFuture.completedFuture(null);
+        });
+        runnable.runAsync(1).get();
+        var deferred = runnable.runAsync(2);
+        assertEquals(1, calls.get());
+        deferred.get(5, TimeUnit.SECONDS);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testLimitAcceptsImplicitLambdas() throws Throwable {
+        var limiter = new ConcurrencyLimiter(4);
+        AsyncFunction1<Integer, Integer> func = limiter.limit(t -> CompletableFuture.completedFuture(t + 1));
+        assertEquals(2, func.invokeAsync(1).get());
+        AsyncFunction2<String, String, String> join = limiter.limit((t1, t2) -> CompletableFuture.completedFuture(t1 + t2));
+        assertEquals("ab", join.invokeAsync("a", "b").get());
+        var calls = new AtomicInteger();
+        AsyncRunnable1<Integer> runnable = limiter.limitRunnable(t -> {
+            calls.addAndGet(t);
+            return CompletableFuture.completedFuture(null);
+        });
+        runnable.runAsync(3).get();
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter(0));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, Duration.ZERO));
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.romanqed.jsync;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class PolicyTest extends Assertions {
+
+    @Test
+    public void testTimeoutPolicyFailsSlowInvocations() {
+        var policy = new TimeoutPolicy(Duration.ofMillis(10));
+        var func = policy.limit((AsyncFunction0<Integer>) CompletableFuture::new);
+        var e = assertThrows(ExecutionException.class, () -> func.invokeAsync().get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof TimeoutException);
+    }
+
+    @Test
+    public void testTimeoutPolicyPassesFastInvocations() throws Throwable {
+        var policy = new TimeoutPolicy(Duration.ofSeconds(5));
+        var completed = CompletableFuture.completedFuture(1);
+        assertSame(completed, policy.submit(() -> completed));
+        var pending = new CompletableFuture<Integer>();
+        var future = policy.submit(() -> pending);
+        pending.complete(2);
+        assertEquals(2, future.get());
+    }
+
+    @Test
+    public void testRetryPolicyRetriesMatchingFailures() throws Throwable {
+        var calls = new AtomicInteger();
+        var policy = new RetryPolicy(3, Duration.ofMillis(1), Duration.ofMillis(5),
+                e -> e instanceof UncheckedIOException);
+        var func = policy.limit((AsyncFunction1<Integer, Integer>) t -> {
+            if (calls.incrementAndGet() < 3) {
+                return CompletableFuture.failedFuture(new UncheckedIOException(new IOException()));
+            }
+            return CompletableFuture.completedFuture(t);
+        });
+        assertEquals(7, func.invokeAsync(7).get(5, TimeUnit.SECONDS));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testRetryPolicyGivesUp() {
+        var calls = new AtomicInteger();
+        var policy = new RetryPolicy(3, Duration.ofMillis(1), Duration.ofMillis(5), e -> true);
+        var error = new IllegalStateException();
+        var future = policy.submit(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(error);
+        });
+        var e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertSame(error, e.getCause());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testRetryPolicySkipsNonMatchingFailures() {
+        var calls = new AtomicInteger();
+        var policy = new RetryPolicy(3, Duration.ZERO, Duration.ZERO, e -> e instanceof UncheckedIOException);
+        var future = policy.submit(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException());
+        });
+        assertThrows(ExecutionException.class, future::get);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testHedgePolicyTakesFirstSuccess() throws Throwable {
+        var calls = new AtomicInteger();
+        var slow = new CompletableFuture<Integer>();
+        var policy = new HedgePolicy(Duration.ofMillis(10));
+        var future = policy.submit(() -> {
+            if (calls.incrementAndGet() == 1) {
+                return slow;
+            }
+            return CompletableFuture.completedFuture(2);
+        });
+        assertEquals(2, future.get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testHedgePolicyWaitsForHedgeAfterFailure() throws Throwable {
+        var first = new CompletableFuture<Integer>();
+        var second = new CompletableFuture<Integer>();
+        var calls = new AtomicInteger();
+        var policy = new HedgePolicy(Duration.ofMillis(1));
+        var future = policy.submit(() -> calls.incrementAndGet() == 1 ? first : second);
+        while (calls.get() < 2) {
+            Thread.onSpinWait();
+        }
+        first.completeExceptionally(new IllegalStateException());
+        assertFalse(future.isDone());
+        second.complete(3);
+        assertEquals(3, future.get());
+    }
+
+    @Test
+    public void testHedgePolicyAdaptsDelay() {
+        var policy = new HedgePolicy(50, Duration.ofHours(1));
+        for (var i = 0; i < 64; ++i) {
+            policy.submit(() -> CompletableFuture.completedFuture(0));
+        }
+        assertTrue(policy.delay().compareTo(Duration.ofHours(1)) < 0);
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeoutPolicy(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryPolicy(0, Duration.ZERO, Duration.ZERO, e -> true));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryPolicy(1, Duration.ofSeconds(2), Duration.ofSeconds(1), e -> true));
+        assertThrows(IllegalArgumentException.class, () -> new HedgePolicy(100, Duration.ofSeconds(1)));
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.romanqed.jsync;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks through {@link Futures} with Flight Recorder events enabled and checks the recorded events,
+ * exiting with a non-zero status on mismatch. Launched in a separate JVM by {@link FuturesTest},
+ * since events can only be enabled when the module is initialized.
+ */
+final class TaskEventProbe {
+
+    public static void main(String[] args) throws Throwable {
+        check(Events.ENABLED, "events are disabled");
+        var file = Files.createTempFile("jsync", ".jfr");
+        var executor = Executors.newSingleThreadExecutor();
+        try (var recording = new Recording()) {
+            recording.enable("com.github.romanqed.jsync.Task").withThreshold(Duration.ZERO);
+            recording.start();
+            Futures.run(() -> Thread.sleep(50), executor);
+            var queued = Futures.provide(() -> 1, executor);
+            var failed = Futures.run(() -> {
+                throw new IllegalStateException();
+            }, executor);
+            check(queued.get(5, TimeUnit.SECONDS) == 1, "queued task failed");
+            check(failed.handle((value, e) -> e != null).get(5, TimeUnit.SECONDS), "failing task succeeded");
+            recording.stop();
+            recording.dump(file);
+            var events = RecordingFile.readAllEvents(file);
+            events.sort(Comparator.comparing(RecordedEvent::getStartTime));
+            check(events.size() == 3, "expected 3 events, got " + events.size());
+            check(events.get(0).getDuration().toMillis() >= 40, "blocking task is too short");
+            check(events.get(1).getDuration("queueDelay").toMillis() >= 40, "queue delay is not measured");
+            check(!events.get(1).getBoolean("failed"), "queued task is marked failed");
+            check(events.get(2).getBoolean("failed"), "failing task is not marked failed");
+        } finally {
+            executor.shutdown();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println(message);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.romanqed.juni;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A Flight Recorder event emitted when a synchronous call of a unified function blocks the calling thread
+ * on a pending asynchronous result, for example {@code UniFunction1.of(async).invoke(t)}.
+ * <p>
+ * The duration of the event is the time the thread was blocked; waits on results that are already available
+ * are not recorded. The stack trace points to the sync-over-async call site.
+ * <p>
+ * Events are only created if the {@value Awaits#EVENTS_PROPERTY} system property is set to {@code true}
+ * and the {@code jdk.jfr} module is present when this module is initialized; otherwise the check is a constant
+ * the JIT compiler folds away, and the {@code jdk.jfr} module is never touched.
+ */
+@Name("com.github.romanqed.juni.Await")
+@Label("Blocking Await")
+@Category({"jfunc", "juni"})
+@Description("Thread blocked on the asynchronous result of a unified function")
+final class AwaitEvent extends jdk.jfr.Event {
+
+    @Label("Timeout")
+    @Description("Maximum time to wait, or 0 if the wait is not bounded")
+    @Timespan(Timespan.NANOSECONDS)
+    long timeout;
+
+    @Label("Completed")
+    @Description("Whether the result became available during the wait")
+    boolean completed;
+
+    static AwaitEvent start() {
+        var ret = new AwaitEvent();
+        if (!ret.isEnabled()) {
+            return null;
+        }
+        ret.begin();
+        return ret;
+    }
+
+    static void end(AwaitEvent event, long timeout, TimeUnit unit, boolean completed) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.timeout = unit == null ? 0 : unit.toNanos(timeout);
+            event.completed = completed;
+            event.commit();
+        }
+    }
+}
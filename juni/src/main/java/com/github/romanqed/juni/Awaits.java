@@ -0,0 +1,94 @@
+package com.github.romanqed.juni;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Internal utility class for synchronously waiting for the results of asynchronous functions.
+ * <p>
+ * Already completed futures are read without blocking and without {@link ExecutionException} wrapping.
+ * Pending futures can optionally be spun on for a short time before the calling thread is parked;
+ * the number of spins is set by the {@value #SPINS_PROPERTY} system property and is zero by default.
+ * If the {@value #EVENTS_PROPERTY} system property is set to {@code true}, parked waits are reported
+ * to Flight Recorder as {@link AwaitEvent}s. The {@code jdk.jfr} module is an optional dependency of this module,
+ * so applications running on the module path must add it themselves, e.g. with {@code --add-modules jdk.jfr};
+ * otherwise the property is ignored.
+ */
+final class Awaits {
+    static final String SPINS_PROPERTY = "com.github.romanqed.juni.spins";
+    static final String EVENTS_PROPERTY = "com.github.romanqed.juni.jfr";
+    private static final int SPINS = Math.max(0, Integer.getInteger(SPINS_PROPERTY, 0));
+    private static final boolean EVENTS = Boolean.getBoolean(EVENTS_PROPERTY)
+            && ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private Awaits() {
+    }
+
+    static <T> T await(CompletableFuture<T> future) throws Throwable {
+        if (!future.isDone() && !spin(future)) {
+            return EVENTS ? record(future, 0, null) : get(future, 0, null);
+        }
+        return now(future);
+    }
+
+    static <T> T await(CompletableFuture<T> future, long timeout, TimeUnit unit) throws Throwable {
+        if (!future.isDone() && !spin(future)) {
+            return EVENTS ? record(future, timeout, unit) : get(future, timeout, unit);
+        }
+        return now(future);
+    }
+
+    /**
+     * Blocks until the given future completes, or until the timeout elapses if {@code unit} is not null.
+     */
+    static <T> T get(CompletableFuture<T> future, long timeout, TimeUnit unit) throws Throwable {
+        try {
+            return unit == null ? future.get() : future.get(timeout, unit);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    /**
+     * Blocks like {@link #get(CompletableFuture, long, TimeUnit)}, recording the wait as an {@link AwaitEvent}.
+     * The wait happens even if the event cannot be created.
+     */
+    private static <T> T record(CompletableFuture<T> future, long timeout, TimeUnit unit) throws Throwable {
+        AwaitEvent event = null;
+        try {
+            event = AwaitEvent.start();
+        } catch (LinkageError | RuntimeException e) {
+            // Flight Recorder is unusable, wait without the event
+        }
+        try {
+            return get(future, timeout, unit);
+        } finally {
+            if (event != null) {
+                AwaitEvent.end(event, timeout, unit, future.isDone());
+            }
+        }
+    }
+
+    private static boolean spin(CompletableFuture<?> future) {
+        for (var i = 0; i < SPINS; ++i) {
+            if (future.isDone()) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        return future.isDone();
+    }
+
+    private static <T> T now(CompletableFuture<T> future) throws Throwable {
+        try {
+            return future.getNow(null);
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.romanqed.juni;
+
+import com.github.romanqed.jfunc.Instrumentation;
+import com.github.romanqed.jfunc.InstrumentedFunction1;
+import com.github.romanqed.jfunc.InvocationMetrics;
+import com.github.romanqed.jsync.InstrumentedAsyncFunction1;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A unified function that records the latency and outcome of every invocation of the wrapped function,
+ * on both the synchronous and the asynchronous path, implements {@link UniFunction1}.
+ * <p>
+ * Both paths record into the same metrics, following the rules of {@link InstrumentedFunction1} and
+ * {@link InstrumentedAsyncFunction1} respectively. The nature of the wrapped function is preserved.
+ *
+ * @param <T> the input type
+ * @param <R> the result type
+ */
+public final class InstrumentedUniFunction1<T, R> implements UniFunction1<T, R> {
+    private final UniFunction1<T, R> body;
+    private final InstrumentedFunction1<T, R> sync;
+    private final InstrumentedAsyncFunction1<T, R> async;
+
+    /**
+     * Constructs a new {@link InstrumentedUniFunction1}.
+     *
+     * @param body    the function to instrument
+     * @param metrics the metrics receiving the invocations
+     * @throws NullPointerException if {@code body} or {@code metrics} is null
+     */
+    public InstrumentedUniFunction1(UniFunction1<T, R> body, InvocationMetrics metrics) {
+        this.body = Objects.requireNonNull(body);
+        this.sync = new InstrumentedFunction1<>(body, metrics);
+        this.async = new InstrumentedAsyncFunction1<>(body, metrics);
+    }
+
+    /**
+     * Instruments the given function under the given name, or returns it as is if the instrumentation is disabled.
+     *
+     * @param instrumentation the instrumentation
+     * @param name            the name of the function
+     * @param func            the function to instrument
+     * @param <T>             the input type
+     * @param <R>             the result type
+     * @return the instrumented function, or {@code func} if the instrumentation is disabled
+     * @throws NullPointerException if any of the arguments is null
+     */
+    public static <T, R> UniFunction1<T, R> instrument(Instrumentation instrumentation,
+                                                       String name,
+                                                       UniFunction1<T, R> func) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(func);
+        if (!instrumentation.isEnabled()) {
+            return func;
+        }
+        return new InstrumentedUniFunction1<>(func, instrumentation.metrics(name));
+    }
+
+    /**
+     * Returns the metrics receiving the invocations of this function.
+     *
+     * @return the metrics
+     */
+    public InvocationMetrics metrics() {
+        return sync.metrics();
+    }
+
+    @Override
+    public boolean isSync() {
+        return body.isSync();
+    }
+
+    @Override
+    public boolean isAsync() {
+        return body.isAsync();
+    }
+
+    @Override
+    public boolean isUni() {
+        return body.isUni();
+    }
+
+    @Override
+    public R invoke(T t) throws Throwable {
+        return sync.invoke(t);
+    }
+
+    @Override
+    public CompletableFuture<R> invokeAsync(T t) {
+        return async.invokeAsync(t);
+    }
+}
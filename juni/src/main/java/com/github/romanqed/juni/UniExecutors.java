@@ -0,0 +1,105 @@
+package com.github.romanqed.juni;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Utility class that holds the default executor policy used by unified functions created from
+ * synchronous implementations without an explicit executor, e.g. {@link UniFunction1#of(com.github.romanqed.jfunc.Function1)}.
+ * <p>
+ * By default, the asynchronous path of such functions runs on the default {@link CompletableFuture} executor,
+ * which is usually the common {@link java.util.concurrent.ForkJoinPool}. Blocking synchronous functions can starve
+ * that pool, so the default can be replaced either programmatically via {@link #setDefault(Executor)},
+ * or with the {@value #POLICY_PROPERTY} system property:
+ * <ul>
+ *     <li>{@code common} - the default {@link CompletableFuture} executor;</li>
+ *     <li>{@code virtual} - a virtual-thread-per-task executor, if supported by the running JVM (Java 21+).</li>
+ * </ul>
+ * The policy is resolved on every asynchronous call, so changing it affects already created functions.
+ */
+public final class UniExecutors {
+    /**
+     * The name of the system property selecting the initial default executor policy.
+     */
+    public static final String POLICY_PROPERTY = "com.github.romanqed.juni.executor";
+
+    static final Executor DEFAULT = command -> UniExecutors.current.execute(command);
+    private static final Executor COMMON = new CompletableFuture<Void>().defaultExecutor();
+    private static volatile Executor current = initial();
+
+    private UniExecutors() {
+    }
+
+    private static Executor initial() {
+        var policy = System.getProperty(POLICY_PROPERTY);
+        if ("virtual".equals(policy) && isVirtualThreadSupported()) {
+            return virtualThreadExecutor();
+        }
+        return COMMON;
+    }
+
+    /**
+     * Returns the executor currently used by default.
+     *
+     * @return the default executor
+     */
+    public static Executor getDefault() {
+        return current;
+    }
+
+    /**
+     * Sets the executor to be used by default.
+     *
+     * @param executor the executor to be used, or null to restore the default {@link CompletableFuture} executor
+     */
+    public static void setDefault(Executor executor) {
+        current = executor == null ? COMMON : executor;
+    }
+
+    /**
+     * Checks whether the running JVM supports virtual threads.
+     *
+     * @return true if virtual threads are supported
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualHolder.EXECUTOR != null;
+    }
+
+    /**
+     * Returns a shared executor that starts a new virtual thread for each task.
+     *
+     * @return the virtual-thread-per-task executor
+     * @throws UnsupportedOperationException if the running JVM does not support virtual threads
+     */
+    public static Executor virtualThreadExecutor() {
+        var ret = VirtualHolder.EXECUTOR;
+        if (ret == null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by the running JVM");
+        }
+        return ret;
+    }
+
+    /**
+     * Makes the virtual-thread-per-task executor the default one.
+     *
+     * @throws UnsupportedOperationException if the running JVM does not support virtual threads
+     */
+    public static void useVirtualThreads() {
+        setDefault(virtualThreadExecutor());
+    }
+
+    private static final class VirtualHolder {
+        static final Executor EXECUTOR = create();
+
+        private static Executor create() {
+            try {
+                var method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return Objects.requireNonNull((Executor) method.invoke(null));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.github.romanqed.juni;
 
-import com.github.romanqed.jfunc.Exceptions;
 import com.github.romanqed.jfunc.Function0;
 import com.github.romanqed.jsync.AsyncFunction0;
+import com.github.romanqed.jsync.Futures;
 
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A unified interface representing a zero-argument function with return value,
@@ -17,12 +19,29 @@ public interface UniFunction0<T> extends Uni, Function0<T>, AsyncFunction0<T> {
 
     /**
      * Wraps a synchronous function into a {@code UniFunction0}.
+     * The asynchronous path runs the function on the executor selected by {@link UniExecutors}.
      *
      * @param func the sync function
      * @param <T>  the return type
      * @return a unified implementation
      */
     static <T> UniFunction0<T> of(Function0<T> func) {
+        return of(func, UniExecutors.DEFAULT);
+    }
+
+    /**
+     * Wraps a synchronous function into a {@code UniFunction0}.
+     * The asynchronous path runs the function on the given executor.
+     *
+     * @param func     the sync function
+     * @param executor the executor used to run the function asynchronously
+     * @param <T>      the return type
+     * @return a unified implementation
+     * @throws NullPointerException if {@code func} or {@code executor} is null
+     */
+    static <T> UniFunction0<T> of(Function0<T> func, Executor executor) {
+        Objects.requireNonNull(func);
+        Objects.requireNonNull(executor);
         return new UniFunction0<>() {
 
             @Override
@@ -37,14 +56,7 @@ public interface UniFunction0<T> extends Uni, Function0<T>, AsyncFunction0<T> {
 
             @Override
             public CompletableFuture<T> invokeAsync() {
-                return CompletableFuture.supplyAsync(() -> {
-                    try {
-                        return func.invoke();
-                    } catch (Throwable e) {
-                        Exceptions.throwAny(e);
-                        return null;
-                    }
-                });
+                return Futures.provide(() -> func.invoke(), executor);
             }
         };
     }
@@ -66,14 +78,7 @@ public interface UniFunction0<T> extends Uni, Function0<T>, AsyncFunction0<T> {
 
             @Override
             public T invoke() throws Throwable {
-                try {
-                    return func.invokeAsync().get();
-                } catch (ExecutionException e) {
-                    throw e.getCause();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw e;
-                }
+                return Awaits.await(func.invokeAsync());
             }
 
             @Override
@@ -82,4 +87,18 @@ public interface UniFunction0<T> extends Uni, Function0<T>, AsyncFunction0<T> {
             }
         };
     }
+
+    /**
+     * Executes this function synchronously, waiting at most the given time for its asynchronous result.
+     * If the result is already available, it is returned without blocking.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout argument
+     * @return the result
+     * @throws java.util.concurrent.TimeoutException if the wait timed out
+     * @throws Throwable                             if the function fails or the wait is interrupted
+     */
+    default T invoke(long timeout, TimeUnit unit) throws Throwable {
+        return Awaits.await(invokeAsync(), timeout, unit);
+    }
 }
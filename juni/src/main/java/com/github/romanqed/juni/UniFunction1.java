@@ -1,11 +1,13 @@
 package com.github.romanqed.juni;
 
-import com.github.romanqed.jfunc.Exceptions;
 import com.github.romanqed.jfunc.Function1;
 import com.github.romanqed.jsync.AsyncFunction1;
+import com.github.romanqed.jsync.Futures;
 
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A unified interface representing a unary function with return value,
@@ -18,6 +20,7 @@ public interface UniFunction1<T, R> extends Uni, Function1<T, R>, AsyncFunction1
 
     /**
      * Creates a synchronous unified function from the given {@link Function1}.
+     * The asynchronous path runs the function on the executor selected by {@link UniExecutors}.
      *
      * @param func the function to wrap
      * @param <T>  the input type
@@ -25,6 +28,23 @@ public interface UniFunction1<T, R> extends Uni, Function1<T, R>, AsyncFunction1
      * @return a unified function that executes synchronously
      */
     static <T, R> UniFunction1<T, R> of(Function1<T, R> func) {
+        return of(func, UniExecutors.DEFAULT);
+    }
+
+    /**
+     * Creates a synchronous unified function from the given {@link Function1}.
+     * The asynchronous path runs the function on the given executor.
+     *
+     * @param func     the function to wrap
+     * @param executor the executor used to run the function asynchronously
+     * @param <T>      the input type
+     * @param <R>      the result type
+     * @return a unified function that executes synchronously
+     * @throws NullPointerException if {@code func} or {@code executor} is null
+     */
+    static <T, R> UniFunction1<T, R> of(Function1<T, R> func, Executor executor) {
+        Objects.requireNonNull(func);
+        Objects.requireNonNull(executor);
         return new UniFunction1<>() {
 
             @Override
@@ -39,14 +59,7 @@ public interface UniFunction1<T, R> extends Uni, Function1<T, R>, AsyncFunction1
 
             @Override
             public CompletableFuture<R> invokeAsync(T t) {
-                return CompletableFuture.supplyAsync(() -> {
-                    try {
-                        return func.invoke(t);
-                    } catch (Throwable e) {
-                        Exceptions.throwAny(e);
-                        return null;
-                    }
-                });
+                return Futures.provide(() -> func.invoke(t), executor);
             }
         };
     }
@@ -69,14 +82,7 @@ public interface UniFunction1<T, R> extends Uni, Function1<T, R>, AsyncFunction1
 
             @Override
             public R invoke(T t) throws Throwable {
-                try {
-                    return func.invokeAsync(t).get();
-                } catch (ExecutionException e) {
-                    throw e.getCause();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw e;
-                }
+                return Awaits.await(func.invokeAsync(t));
             }
 
             @Override
@@ -85,4 +91,19 @@ public interface UniFunction1<T, R> extends Uni, Function1<T, R>, AsyncFunction1
             }
         };
     }
+
+    /**
+     * Executes this function synchronously, waiting at most the given time for its asynchronous result.
+     * If the result is already available, it is returned without blocking.
+     *
+     * @param t       the input argument
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout argument
+     * @return the result
+     * @throws java.util.concurrent.TimeoutException if the wait timed out
+     * @throws Throwable                             if the function fails or the wait is interrupted
+     */
+    default R invoke(T t, long timeout, TimeUnit unit) throws Throwable {
+        return Awaits.await(invokeAsync(t), timeout, unit);
+    }
 }
@@ -1,11 +1,13 @@
 package com.github.romanqed.juni;
 
-import com.github.romanqed.jfunc.Exceptions;
 import com.github.romanqed.jfunc.Function2;
 import com.github.romanqed.jsync.AsyncFunction2;
+import com.github.romanqed.jsync.Futures;
 
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A unified interface representing a binary function with return value,
@@ -19,6 +21,7 @@ public interface UniFunction2<T1, T2, R> extends Uni, Function2<T1, T2, R>, Asyn
 
     /**
      * Creates a synchronous unified function from the given {@link Function2}.
+     * The asynchronous path runs the function on the executor selected by {@link UniExecutors}.
      *
      * @param func the function to wrap
      * @param <T1> the type of the first argument
@@ -27,6 +30,24 @@ public interface UniFunction2<T1, T2, R> extends Uni, Function2<T1, T2, R>, Asyn
      * @return a unified function that executes synchronously
      */
     static <T1, T2, R> UniFunction2<T1, T2, R> of(Function2<T1, T2, R> func) {
+        return of(func, UniExecutors.DEFAULT);
+    }
+
+    /**
+     * Creates a synchronous unified function from the given {@link Function2}.
+     * The asynchronous path runs the function on the given executor.
+     *
+     * @param func     the function to wrap
+     * @param executor the executor used to run the function asynchronously
+     * @param <T1>     the type of the first argument
+     * @param <T2>     the type of the second argument
+     * @param <R>      the result type
+     * @return a unified function that executes synchronously
+     * @throws NullPointerException if {@code func} or {@code executor} is null
+     */
+    static <T1, T2, R> UniFunction2<T1, T2, R> of(Function2<T1, T2, R> func, Executor executor) {
+        Objects.requireNonNull(func);
+        Objects.requireNonNull(executor);
         return new UniFunction2<>() {
 
             @Override
@@ -41,14 +62,7 @@ public interface UniFunction2<T1, T2, R> extends Uni, Function2<T1, T2, R>, Asyn
 
             @Override
             public CompletableFuture<R> invokeAsync(T1 t1, T2 t2) {
-                return CompletableFuture.supplyAsync(() -> {
-                    try {
-                        return func.invoke(t1, t2);
-                    } catch (Throwable e) {
-                        Exceptions.throwAny(e);
-                        return null;
-                    }
-                });
+                return Futures.provide(() -> func.invoke(t1, t2), executor);
             }
         };
     }
@@ -72,14 +86,7 @@ public interface UniFunction2<T1, T2, R> extends Uni, Function2<T1, T2, R>, Asyn
 
             @Override
             public R invoke(T1 t1, T2 t2) throws Throwable {
-                try {
-                    return func.invokeAsync(t1, t2).get();
-                } catch (ExecutionException e) {
-                    throw e.getCause();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw e;
-                }
+                return Awaits.await(func.invokeAsync(t1, t2));
             }
 
             @Override
@@ -88,4 +95,20 @@ public interface UniFunction2<T1, T2, R> extends Uni, Function2<T1, T2, R>, Asyn
             }
         };
     }
+
+    /**
+     * Executes this function synchronously, waiting at most the given time for its asynchronous result.
+     * If the result is already available, it is returned without blocking.
+     *
+     * @param t1      the first argument
+     * @param t2      the second argument
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout argument
+     * @return the result
+     * @throws java.util.concurrent.TimeoutException if the wait timed out
+     * @throws Throwable                             if the function fails or the wait is interrupted
+     */
+    default R invoke(T1 t1, T2 t2, long timeout, TimeUnit unit) throws Throwable {
+        return Awaits.await(invokeAsync(t1, t2), timeout, unit);
+    }
 }
@@ -1,11 +1,13 @@
 package com.github.romanqed.juni;
 
-import com.github.romanqed.jfunc.Exceptions;
 import com.github.romanqed.jfunc.Runnable0;
 import com.github.romanqed.jsync.AsyncRunnable0;
+import com.github.romanqed.jsync.Futures;
 
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A unified interface representing a zero-argument runnable,
@@ -15,11 +17,27 @@ public interface UniRunnable0 extends Uni, Runnable0, AsyncRunnable0 {
 
     /**
      * Wraps a synchronous runnable into a {@link UniRunnable0}.
+     * The asynchronous path runs the runnable on the executor selected by {@link UniExecutors}.
      *
      * @param func the runnable to wrap
      * @return a unified runnable that executes synchronously
      */
     static UniRunnable0 of(Runnable0 func) {
+        return of(func, UniExecutors.DEFAULT);
+    }
+
+    /**
+     * Wraps a synchronous runnable into a {@link UniRunnable0}.
+     * The asynchronous path runs the runnable on the given executor.
+     *
+     * @param func     the runnable to wrap
+     * @param executor the executor used to run the runnable asynchronously
+     * @return a unified runnable that executes synchronously
+     * @throws NullPointerException if {@code func} or {@code executor} is null
+     */
+    static UniRunnable0 of(Runnable0 func, Executor executor) {
+        Objects.requireNonNull(func);
+        Objects.requireNonNull(executor);
         return new UniRunnable0() {
 
             @Override
@@ -34,13 +52,7 @@ public interface UniRunnable0 extends Uni, Runnable0, AsyncRunnable0 {
 
             @Override
             public CompletableFuture<Void> runAsync() {
-                return CompletableFuture.runAsync(() -> {
-                    try {
-                        func.run();
-                    } catch (Throwable e) {
-                        Exceptions.throwAny(e);
-                    }
-                });
+                return Futures.run(() -> func.run(), executor);
             }
         };
     }
@@ -61,14 +73,7 @@ public interface UniRunnable0 extends Uni, Runnable0, AsyncRunnable0 {
 
             @Override
             public void run() throws Throwable {
-                try {
-                    func.runAsync().get();
-                } catch (ExecutionException e) {
-                    throw e.getCause();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw e;
-                }
+                Awaits.await(func.runAsync());
             }
 
             @Override
@@ -77,4 +82,17 @@ public interface UniRunnable0 extends Uni, Runnable0, AsyncRunnable0 {
             }
         };
     }
+
+    /**
+     * Executes this runnable synchronously, waiting at most the given time for its asynchronous completion.
+     * If the operation has already completed, returns without blocking.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout argument
+     * @throws java.util.concurrent.TimeoutException if the wait timed out
+     * @throws Throwable                             if the runnable fails or the wait is interrupted
+     */
+    default void run(long timeout, TimeUnit unit) throws Throwable {
+        Awaits.await(runAsync(), timeout, unit);
+    }
 }
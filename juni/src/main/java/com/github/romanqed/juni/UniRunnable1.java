@@ -1,11 +1,13 @@
 package com.github.romanqed.juni;
 
-import com.github.romanqed.jfunc.Exceptions;
 import com.github.romanqed.jfunc.Runnable1;
 import com.github.romanqed.jsync.AsyncRunnable1;
+import com.github.romanqed.jsync.Futures;
 
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A unified interface representing a unary runnable,
@@ -17,12 +19,29 @@ public interface UniRunnable1<T> extends Uni, Runnable1<T>, AsyncRunnable1<T> {
 
     /**
      * Creates a synchronous unified runnable from the given {@link Runnable1}.
+     * The asynchronous path runs the runnable on the executor selected by {@link UniExecutors}.
      *
      * @param func the runnable to wrap
      * @param <T>  the input type
      * @return a unified runnable that executes synchronously
      */
     static <T> UniRunnable1<T> of(Runnable1<T> func) {
+        return of(func, UniExecutors.DEFAULT);
+    }
+
+    /**
+     * Creates a synchronous unified runnable from the given {@link Runnable1}.
+     * The asynchronous path runs the runnable on the given executor.
+     *
+     * @param func     the runnable to wrap
+     * @param executor the executor used to run the runnable asynchronously
+     * @param <T>      the input type
+     * @return a unified runnable that executes synchronously
+     * @throws NullPointerException if {@code func} or {@code executor} is null
+     */
+    static <T> UniRunnable1<T> of(Runnable1<T> func, Executor executor) {
+        Objects.requireNonNull(func);
+        Objects.requireNonNull(executor);
         return new UniRunnable1<>() {
 
             @Override
@@ -37,13 +56,7 @@ public interface UniRunnable1<T> extends Uni, Runnable1<T>, AsyncRunnable1<T> {
 
             @Override
             public CompletableFuture<Void> runAsync(T t) {
-                return CompletableFuture.runAsync(() -> {
-                    try {
-                        func.run(t);
-                    } catch (Throwable e) {
-                        Exceptions.throwAny(e);
-                    }
-                });
+                return Futures.run(() -> func.run(t), executor);
             }
         };
     }
@@ -66,14 +79,7 @@ public interface UniRunnable1<T> extends Uni, Runnable1<T>, AsyncRunnable1<T> {
 
             @Override
             public void run(T t) throws Throwable {
-                try {
-                    func.runAsync(t).get();
-                } catch (ExecutionException e) {
-                    throw e.getCause();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw e;
-                }
+                Awaits.await(func.runAsync(t));
             }
 
             @Override
@@ -82,4 +88,18 @@ public interface UniRunnable1<T> extends Uni, Runnable1<T>, AsyncRunnable1<T> {
             }
         };
     }
+
+    /**
+     * Executes this runnable synchronously, waiting at most the given time for its asynchronous completion.
+     * If the operation has already completed, returns without blocking.
+     *
+     * @param t       the input argument
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout argument
+     * @throws java.util.concurrent.TimeoutException if the wait timed out
+     * @throws Throwable                             if the runnable fails or the wait is interrupted
+     */
+    default void run(T t, long timeout, TimeUnit unit) throws Throwable {
+        Awaits.await(runAsync(t), timeout, unit);
+    }
 }
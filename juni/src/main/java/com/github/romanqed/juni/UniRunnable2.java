@@ -1,11 +1,13 @@
 package com.github.romanqed.juni;
 
-import com.github.romanqed.jfunc.Exceptions;
 import com.github.romanqed.jfunc.Runnable2;
 import com.github.romanqed.jsync.AsyncRunnable2;
+import com.github.romanqed.jsync.Futures;
 
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A unified interface representing a binary runnable,
@@ -18,6 +20,7 @@ public interface UniRunnable2<T1, T2> extends Uni, Runnable2<T1, T2>, AsyncRunna
 
     /**
      * Creates a synchronous unified runnable from the given {@link Runnable2}.
+     * The asynchronous path runs the runnable on the executor selected by {@link UniExecutors}.
      *
      * @param func the runnable to wrap
      * @param <T1> the type of the first argument
@@ -25,6 +28,23 @@ public interface UniRunnable2<T1, T2> extends Uni, Runnable2<T1, T2>, AsyncRunna
      * @return a unified runnable that executes synchronously
      */
     static <T1, T2> UniRunnable2<T1, T2> of(Runnable2<T1, T2> func) {
+        return of(func, UniExecutors.DEFAULT);
+    }
+
+    /**
+     * Creates a synchronous unified runnable from the given {@link Runnable2}.
+     * The asynchronous path runs the runnable on the given executor.
+     *
+     * @param func     the runnable to wrap
+     * @param executor the executor used to run the runnable asynchronously
+     * @param <T1>     the type of the first argument
+     * @param <T2>     the type of the second argument
+     * @return a unified runnable that executes synchronously
+     * @throws NullPointerException if {@code func} or {@code executor} is null
+     */
+    static <T1, T2> UniRunnable2<T1, T2> of(Runnable2<T1, T2> func, Executor executor) {
+        Objects.requireNonNull(func);
+        Objects.requireNonNull(executor);
         return new UniRunnable2<>() {
 
             @Override
@@ -39,13 +59,7 @@ public interface UniRunnable2<T1, T2> extends Uni, Runnable2<T1, T2>, AsyncRunna
 
             @Override
             public CompletableFuture<Void> runAsync(T1 t1, T2 t2) {
-                return CompletableFuture.runAsync(() -> {
-                    try {
-                        func.run(t1, t2);
-                    } catch (Throwable e) {
-                        Exceptions.throwAny(e);
-                    }
-                });
+                return Futures.run(() -> func.run(t1, t2), executor);
             }
         };
     }
@@ -68,14 +82,7 @@ public interface UniRunnable2<T1, T2> extends Uni, Runnable2<T1, T2>, AsyncRunna
 
             @Override
             public void run(T1 t1, T2 t2) throws Throwable {
-                try {
-                    func.runAsync(t1, t2).get();
-                } catch (ExecutionException e) {
-                    throw e.getCause();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw e;
-                }
+                Awaits.await(func.runAsync(t1, t2));
             }
 
             @Override
@@ -84,4 +91,19 @@ public interface UniRunnable2<T1, T2> extends Uni, Runnable2<T1, T2>, AsyncRunna
             }
         };
     }
+
+    /**
+     * Executes this runnable synchronously, waiting at most the given time for its asynchronous completion.
+     * If the operation has already completed, returns without blocking.
+     *
+     * @param t1      the first argument
+     * @param t2      the second argument
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout argument
+     * @throws java.util.concurrent.TimeoutException if the wait timed out
+     * @throws Throwable                             if the runnable fails or the wait is interrupted
+     */
+    default void run(T1 t1, T2 t2, long timeout, TimeUnit unit) throws Throwable {
+        Awaits.await(runAsync(t1, t2), timeout, unit);
+    }
 }
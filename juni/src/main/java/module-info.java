@@ -14,6 +14,8 @@ module com.github.romanqed.juni {
     // Imports
     requires com.github.romanqed.jfunc;
     requires com.github.romanqed.jsync;
+    // Optional, used only if Flight Recorder events are enabled
+    requires static jdk.jfr;
     // Exports
     exports com.github.romanqed.juni;
 }
@@ -0,0 +1,48 @@
+package com.github.romanqed.juni;
+
+import com.github.romanqed.jsync.AsyncFunction1;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocks on an asynchronous unified function with Flight Recorder events enabled and checks the recorded events,
+ * exiting with a non-zero status on mismatch. Launched in a separate JVM by {@link UniInterfacesTest},
+ * since events can only be enabled when the module is initialized.
+ */
+final class AwaitEventProbe {
+
+    public static void main(String[] args) throws Throwable {
+        var file = Files.createTempFile("juni", ".jfr");
+        try (var recording = new Recording()) {
+            recording.enable("com.github.romanqed.juni.Await").withThreshold(Duration.ZERO);
+            recording.start();
+            UniFunction1<Integer, Integer> uni = UniFunction1.of((AsyncFunction1<Integer, Integer>) t ->
+                    CompletableFuture.supplyAsync(() -> t,
+                            CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS)));
+            check(uni.invoke(1) == 1, "wrong result");
+            // Already completed results are not recorded
+            UniFunction1.of((AsyncFunction1<Integer, Integer>) CompletableFuture::completedFuture).invoke(2);
+            recording.stop();
+            recording.dump(file);
+            var events = RecordingFile.readAllEvents(file);
+            check(events.size() == 1, "expected 1 event, got " + events.size());
+            var event = events.get(0);
+            check(event.getBoolean("completed"), "wait is not marked completed");
+            check(!event.getDuration().isZero(), "wait is not measured");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println(message);
+            System.exit(1);
+        }
+    }
+}
@@ -4,9 +4,13 @@ import com.github.romanqed.jfunc.*;
 import com.github.romanqed.jsync.*;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -242,4 +246,111 @@ public final class UniInterfacesTest {
         var e = assertThrows(ExecutionException.class, () -> uni.invokeAsync().get());
         assertEquals("error", e.getCause().getMessage());
     }
+
+    // Executor tests
+
+    @Test
+    void uniFunction1OfSyncUsesGivenExecutor() throws Exception {
+        var submitted = new AtomicInteger();
+        Function1<Integer, Integer> syncFunc = t -> t * 2;
+        var uni = UniFunction1.of(syncFunc, task -> {
+            submitted.incrementAndGet();
+            task.run();
+        });
+
+        assertEquals(8, uni.invokeAsync(4).get());
+        assertEquals(1, submitted.get());
+    }
+
+    @Test
+    void uniRunnable0OfSyncUsesDefaultExecutor() throws Exception {
+        var submitted = new AtomicInteger();
+        var called = new AtomicBoolean();
+        Runnable0 syncFunc = () -> called.set(true);
+        var uni = UniRunnable0.of(syncFunc);
+        UniExecutors.setDefault(task -> {
+            submitted.incrementAndGet();
+            task.run();
+        });
+        try {
+            uni.runAsync().get();
+        } finally {
+            UniExecutors.setDefault(null);
+        }
+
+        assertTrue(called.get());
+        assertEquals(1, submitted.get());
+    }
+
+    @Test
+    void uniExecutorsVirtualThreadSupportIsConsistent() {
+        if (UniExecutors.isVirtualThreadSupported()) {
+            assertNotNull(UniExecutors.virtualThreadExecutor());
+        } else {
+            assertThrows(UnsupportedOperationException.class, UniExecutors::virtualThreadExecutor);
+        }
+    }
+
+    // Sync-over-async tests
+
+    @Test
+    void uniFunction1OfAsyncUnwrapsCompletedFailure() {
+        var error = new IllegalStateException("error");
+        AsyncFunction1<Integer, Integer> asyncFunc = t -> CompletableFuture.failedFuture(error);
+        var uni = UniFunction1.of(asyncFunc);
+
+        assertSame(error, assertThrows(IllegalStateException.class, () -> uni.invoke(1)));
+    }
+
+    @Test
+    void uniFunction1InvokeWithTimeout() throws Throwable {
+        var pending = new CompletableFuture<Integer>();
+        AsyncFunction1<Integer, Integer> asyncFunc = t -> t == 0 ? pending : CompletableFuture.completedFuture(t);
+        var uni = UniFunction1.of(asyncFunc);
+
+        assertEquals(5, uni.invoke(5, 10, TimeUnit.MILLISECONDS));
+        assertThrows(TimeoutException.class, () -> uni.invoke(0, 10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void uniRunnable0RunWithTimeout() {
+        AsyncRunnable0 asyncFunc = CompletableFuture::new;
+        var uni = UniRunnable0.of(asyncFunc);
+
+        assertThrows(TimeoutException.class, () -> uni.run(10, TimeUnit.MILLISECONDS));
+    }
+
+    // Instrumentation
+
+    @Test
+    void instrumentedUniFunction1RecordsBothPaths() throws Throwable {
+        var instrumentation = new Instrumentation(metrics -> {
+        });
+        UniFunction1<Integer, Integer> uni = UniFunction1.of((Integer t) -> t * 2);
+        var instrumented = InstrumentedUniFunction1.instrument(instrumentation, "uni", uni);
+
+        assertTrue(instrumented.isSync());
+        assertEquals(4, instrumented.invoke(2));
+        assertEquals(6, instrumented.invokeAsync(3).get(5, TimeUnit.SECONDS));
+        var metrics = instrumentation.metrics("uni");
+        assertEquals(2, metrics.invocations());
+        assertEquals(0, metrics.errors());
+        assertSame(uni, InstrumentedUniFunction1.instrument(Instrumentation.disabled(), "uni", uni));
+    }
+
+    // Flight Recorder
+
+    @Test
+    void awaitEventIsRecordedForBlockingWaits() throws Throwable {
+        var java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        var process = new ProcessBuilder(java,
+                "-D" + Awaits.EVENTS_PROPERTY + "=true",
+                "-cp", System.getProperty("java.class.path"),
+                AwaitEventProbe.class.getName())
+                .redirectErrorStream(true)
+                .start();
+        var output = new String(process.getInputStream().readAllBytes());
+        assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+        assertEquals(0, process.exitValue(), output);
+    }
 }
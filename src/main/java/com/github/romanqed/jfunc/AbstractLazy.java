@@ -0,0 +1,195 @@
+package com.github.romanqed.jfunc;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A base for lock-free lazy containers.
+ * <p>
+ * The initialization state is a single int field updated with CAS. The thread that wins the transition
+ * from {@link #NEW} to {@link #INIT} computes the value, the others spin briefly and then park
+ * until the value is published. Parked threads are pushed onto a lock-free stack of waiters,
+ * which the publishing thread unparks right after publishing. A failed initialization returns the container to {@link #NEW},
+ * so the next caller retries it, unless failure caching is enabled: then the thrown exception is stored
+ * in the {@link #FAILED} state and rethrown to callers until the retry delay elapses.
+ * After successful initialization the body reference is dropped, which releases any state captured by it.
+ *
+ * @param <B> the type of the wrapped body
+ * @param <T> the type of the lazily computed value
+ */
+abstract class AbstractLazy<B, T> {
+    static final int NEW = 0;
+    static final int INIT = 1;
+    static final int DONE = 2;
+    static final int FAILED = 3;
+    static final long NO_CACHE = -1;
+    static final long NO_RETRY = Long.MAX_VALUE;
+
+    private static final int SPINS = 128;
+    private static final VarHandle STATE;
+    private static final VarHandle WAITERS;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+            STATE = lookup.findVarHandle(AbstractLazy.class, "state", int.class);
+            WAITERS = lookup.findVarHandle(AbstractLazy.class, "waiters", Waiter.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long retryAfter;
+    volatile int state;
+    private volatile Waiter waiters;
+    B body;
+    T value;
+    private Thread owner;
+    private Throwable error;
+    private long retryAt;
+
+    /**
+     * Constructs a new container.
+     *
+     * @param body       the body computing the value
+     * @param retryAfter the time in nanoseconds during which a failure is rethrown instead of retrying,
+     *                   {@link #NO_CACHE} to not cache failures, {@link #NO_RETRY} to cache them forever
+     */
+    AbstractLazy(B body, long retryAfter) {
+        this.body = Objects.requireNonNull(body);
+        this.retryAfter = retryAfter;
+    }
+
+    AbstractLazy(B body) {
+        this(body, NO_CACHE);
+    }
+
+    static long toRetryAfter(Duration retryAfter) {
+        if (retryAfter.isNegative()) {
+            throw new IllegalArgumentException("Retry delay must not be negative");
+        }
+        // Saturates to NO_RETRY on overflow
+        return Durations.toNanos(retryAfter);
+    }
+
+    /**
+     * Waits until the value is either published or can be computed by the calling thread.
+     *
+     * @return true if the calling thread must compute the value and then call
+     * {@link #set(Object)} or {@link #fail(Throwable)}, false if the value or the failure is already published
+     * @throws IllegalStateException if the calling thread is already computing the value
+     */
+    final boolean acquire() {
+        var spins = 0;
+        while (true) {
+            var state = this.state;
+            if (state == DONE) {
+                return false;
+            }
+            if (state == FAILED) {
+                if (retryAfter == NO_RETRY || System.nanoTime() - retryAt < 0) {
+                    return false;
+                }
+                if (STATE.compareAndSet(this, FAILED, INIT)) {
+                    owner = Thread.currentThread();
+                    return true;
+                }
+                continue;
+            }
+            if (state == NEW) {
+                if (STATE.compareAndSet(this, NEW, INIT)) {
+                    owner = Thread.currentThread();
+                    return true;
+                }
+                continue;
+            }
+            if (owner == Thread.currentThread()) {
+                throw new IllegalStateException("Recursive lazy initialization");
+            }
+            if (spins < SPINS) {
+                ++spins;
+                Thread.onSpinWait();
+                continue;
+            }
+            var node = new Waiter(Thread.currentThread());
+            do {
+                node.next = waiters;
+            } while (!WAITERS.compareAndSet(this, node.next, node));
+            // Rechecked after the push, so that a publication between the check above and the push is not missed
+            if (this.state == INIT) {
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    /**
+     * Publishes the computed value and drops the body.
+     *
+     * @param value the computed value
+     */
+    final void set(T value) {
+        this.value = value;
+        this.body = null;
+        this.owner = null;
+        this.state = DONE;
+        release();
+    }
+
+    /**
+     * Publishes the failure of the computation, or, if failures are not cached,
+     * returns the container to its initial state.
+     *
+     * @param error the thrown exception
+     */
+    final void fail(Throwable error) {
+        this.owner = null;
+        if (retryAfter == NO_CACHE) {
+            this.state = NEW;
+            release();
+            return;
+        }
+        this.error = error;
+        if (retryAfter == NO_RETRY) {
+            this.body = null;
+        } else {
+            this.retryAt = System.nanoTime() + retryAfter;
+        }
+        this.state = FAILED;
+        release();
+    }
+
+    private void release() {
+        if (waiters == null) {
+            return;
+        }
+        var node = (Waiter) WAITERS.getAndSet(this, null);
+        while (node != null) {
+            LockSupport.unpark(node.thread);
+            node = node.next;
+        }
+    }
+
+    /**
+     * Returns the published value, or rethrows the published failure.
+     *
+     * @return the published value
+     */
+    final T result() {
+        if (state != DONE) {
+            Exceptions.throwAny(error);
+        }
+        return value;
+    }
+
+    private static final class Waiter {
+        final Thread thread;
+        Waiter next;
+
+        Waiter(Thread thread) {
+            this.thread = thread;
+        }
+    }
+}
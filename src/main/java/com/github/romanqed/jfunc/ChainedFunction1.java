@@ -0,0 +1,81 @@
+package com.github.romanqed.jfunc;
+
+import java.util.Objects;
+
+/**
+ * A flat pipeline of {@link Function1} stages, created by {@link Function1#chain(Function1)}.
+ * <p>
+ * Composing a chained function with {@link #andThen(Function1)} or {@link #compose(Function1)} copies
+ * the stages into a new array instead of wrapping one more lambda, so the whole pipeline is invoked
+ * by a single loop regardless of its length. Identity stages are dropped.
+ *
+ * @param <T> the type of the function parameter
+ * @param <R> the type of the return value
+ */
+final class ChainedFunction1<T, R> implements Function1<T, R> {
+    @SuppressWarnings("rawtypes")
+    private static final Function1[] EMPTY = new Function1[0];
+    static final Function1<Object, Object> IDENTITY = value -> value;
+
+    private final Function1<Object, Object>[] stages;
+
+    private ChainedFunction1(Function1<Object, Object>[] stages) {
+        this.stages = stages;
+    }
+
+    static <T, R> Function1<T, R> of(Function1<T, R> func) {
+        Objects.requireNonNull(func);
+        if (func instanceof ChainedFunction1) {
+            return func;
+        }
+        return new ChainedFunction1<>(flatten(func));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function1<Object, Object>[] flatten(Function1<?, ?> func) {
+        if (func instanceof ChainedFunction1) {
+            return ((ChainedFunction1<?, ?>) func).stages;
+        }
+        if (func == IDENTITY) {
+            return EMPTY;
+        }
+        return new Function1[]{func};
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function1<Object, Object>[] concat(Function1<Object, Object>[] first,
+                                                      Function1<Object, Object>[] second) {
+        if (first.length == 0) {
+            return second;
+        }
+        if (second.length == 0) {
+            return first;
+        }
+        var ret = (Function1<Object, Object>[]) new Function1[first.length + second.length];
+        System.arraycopy(first, 0, ret, 0, first.length);
+        System.arraycopy(second, 0, ret, first.length, second.length);
+        return ret;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R invoke(T t) throws Throwable {
+        Object value = t;
+        for (var stage : stages) {
+            value = stage.invoke(value);
+        }
+        return (R) value;
+    }
+
+    @Override
+    public <V> Function1<T, V> andThen(Function1<? super R, ? extends V> after) {
+        Objects.requireNonNull(after);
+        return new ChainedFunction1<>(concat(stages, flatten(after)));
+    }
+
+    @Override
+    public <V> Function1<V, R> compose(Function1<? super V, ? extends T> before) {
+        Objects.requireNonNull(before);
+        return new ChainedFunction1<>(concat(flatten(before), stages));
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.romanqed.jfunc;
+
+import java.util.Objects;
+
+/**
+ * Represents a function that accepts a single {@code double} parameter and does not return a value.
+ * This is the primitive specialization of {@link Runnable1} for {@code double}.
+ *
+ * <p>This is a
+ * <a href="https://docs.oracle.com/javase/8/docs/api/java/lang/FunctionalInterface.html">functional interface</a>
+ * whose functional method is {@link #run(double)}.
+ */
+@FunctionalInterface
+public interface DoubleRunnable1 {
+
+    /**
+     * Creates a combined {@link DoubleRunnable1} containing the calls of
+     * the passed interfaces inside in the specified order.
+     *
+     * @param first  the function that will be executed first, must be non-null
+     * @param second the function that will be executed second, must be non-null
+     * @return a composed {@link DoubleRunnable1}
+     * @throws NullPointerException if first or second function is null
+     */
+    static DoubleRunnable1 combine(DoubleRunnable1 first, DoubleRunnable1 second) {
+        return first.andThen(second);
+    }
+
+    /**
+     * Adapts the given generic {@link Runnable1} to a {@link DoubleRunnable1}.
+     * The parameter is boxed on every call.
+     *
+     * @param func the function to adapt
+     * @return the adapted function
+     * @throws NullPointerException if func is null
+     */
+    static DoubleRunnable1 of(Runnable1<Double> func) {
+        Objects.requireNonNull(func);
+        return func::run;
+    }
+
+    /**
+     * Main functional method of interface, takes one parameter and performs assumed action.
+     *
+     * @param value function parameter
+     * @throws Throwable if problems occur during execution
+     */
+    void run(double value) throws Throwable;
+
+    /**
+     * Creates a combined {@link DoubleRunnable1} containing first a call to this function,
+     * and then a call to the specified function.
+     *
+     * @param func the function that will be executed after this function
+     * @return a composed {@link DoubleRunnable1}
+     * @throws NullPointerException if passed function is null
+     */
+    default DoubleRunnable1 andThen(DoubleRunnable1 func) {
+        Objects.requireNonNull(func);
+        return value -> {
+            run(value);
+            func.run(value);
+        };
+    }
+
+    /**
+     * Returns a generic {@link Runnable1} view of this function.
+     * The parameter is unboxed on every call.
+     *
+     * @return the generic view
+     */
+    default Runnable1<Double> boxed() {
+        return this::run;
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.romanqed.jfunc;
+
+import java.util.Objects;
+
+/**
+ * Represents a function that takes one {@code double} parameter and returns a {@code double} value.
+ * This is the primitive specialization of {@link Function1} for {@code double} to {@code double} mapping.
+ *
+ * <p>This is a
+ * <a href="https://docs.oracle.com/javase/8/docs/api/java/lang/FunctionalInterface.html">functional interface</a>
+ * whose functional method is {@link #invoke(double)}.
+ */
+@FunctionalInterface
+public interface DoubleUnaryFunction {
+
+    /**
+     * Returns a function that always returns its input argument.
+     *
+     * @return a function that always returns its input argument
+     */
+    static DoubleUnaryFunction identity() {
+        return value -> value;
+    }
+
+    /**
+     * Adapts the given generic {@link Function1} to a {@link DoubleUnaryFunction}.
+     * The parameter and the result are boxed and unboxed on every call.
+     *
+     * @param func the function to adapt
+     * @return the adapted function
+     * @throws NullPointerException if func is null
+     */
+    static DoubleUnaryFunction of(Function1<Double, Double> func) {
+        Objects.requireNonNull(func);
+        return func::invoke;
+    }
+
+    /**
+     * Main functional method of interface, takes one parameter, performs assumed action and produce result.
+     *
+     * @param value function parameter
+     * @return produced result
+     * @throws Throwable if problems occur during execution
+     */
+    double invoke(double value) throws Throwable;
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     * applies the {@code after} function
+     * @throws NullPointerException if after is null
+     * @see #compose(DoubleUnaryFunction)
+     */
+    default DoubleUnaryFunction andThen(DoubleUnaryFunction after) {
+        Objects.requireNonNull(after);
+        return (double value) -> after.invoke(invoke(value));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * The intermediate value is not boxed.
+     *
+     * @param <V>   the type of output of the {@code after} function, and of the
+     *              composed function
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     * applies the {@code after} function
+     * @throws NullPointerException if after is null
+     */
+    default <V> DoubleFunction1<V> andThenToObj(DoubleFunction1<? extends V> after) {
+        Objects.requireNonNull(after);
+        return (double value) -> after.invoke(invoke(value));
+    }
+
+    /**
+     * Returns a composed function that first applies the {@code before}
+     * function to its input, and then applies this function to the result.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param before the function to apply before this function is applied
+     * @return a composed function that first applies the {@code before}
+     * function and then applies this function
+     * @throws NullPointerException if before is null
+     * @see #andThen(DoubleUnaryFunction)
+     */
+    default DoubleUnaryFunction compose(DoubleUnaryFunction before) {
+        Objects.requireNonNull(before);
+        return (double value) -> invoke(before.invoke(value));
+    }
+
+    /**
+     * Returns a generic {@link Function1} view of this function.
+     * The parameter and the result are unboxed and boxed on every call.
+     *
+     * @return the generic view
+     */
+    default Function1<Double, Double> boxed() {
+        return this::invoke;
+    }
+}
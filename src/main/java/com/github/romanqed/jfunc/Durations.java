@@ -0,0 +1,42 @@
+package com.github.romanqed.jfunc;
+
+import java.time.Duration;
+
+/**
+ * Utility class containing conversions of {@link Duration} arguments to nanoseconds.
+ * <p>
+ * Durations that do not fit into a long are saturated instead of throwing {@link ArithmeticException},
+ * so arbitrarily long timeouts, windows and time-to-live values can be passed.
+ */
+public final class Durations {
+    private Durations() {
+    }
+
+    /**
+     * Converts the given duration to nanoseconds, saturating durations that do not fit into a long.
+     *
+     * @param duration the duration to convert
+     * @return the duration in nanoseconds, or {@link Long#MAX_VALUE} or {@link Long#MIN_VALUE} on overflow
+     */
+    public static long toNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Converts the given duration to nanoseconds, ensuring it is positive.
+     *
+     * @param duration the duration to convert
+     * @return the duration in nanoseconds, saturated to {@link Long#MAX_VALUE}
+     * @throws IllegalArgumentException if the duration is zero or negative
+     */
+    public static long checkPositive(Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        return toNanos(duration);
+    }
+}
@@ -1,9 +1,16 @@
 package com.github.romanqed.jfunc;
 
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Utility class containing methods that allow wrapping function calls with checked exceptions.
+ * <p>
+ * Checked exceptions are wrapped into {@link UncheckedException}, which does not capture its own stack trace.
  */
 public final class Exceptions {
     private Exceptions() {
@@ -66,6 +73,25 @@ public final class Exceptions {
         }
     }
 
+    /**
+     * Executes the given {@link Runnable3}, rethrowing any thrown exception as-is.
+     *
+     * @param func the operation to execute
+     * @param t1   the first input
+     * @param t2   the second input
+     * @param t3   the third input
+     * @param <T1> type of the first input
+     * @param <T2> type of the second input
+     * @param <T3> type of the third input
+     */
+    public static <T1, T2, T3> void silent(Runnable3<T1, T2, T3> func, T1 t1, T2 t2, T3 t3) {
+        try {
+            func.run(t1, t2, t3);
+        } catch (Throwable e) {
+            throwAny(e);
+        }
+    }
+
     /**
      * Executes the given {@link Function0}, rethrowing any thrown exception as-is.
      *
@@ -123,11 +149,34 @@ public final class Exceptions {
         }
     }
 
+    /**
+     * Executes the given {@link Function3}, rethrowing any thrown exception as-is.
+     *
+     * @param func the function to execute
+     * @param t1   first input
+     * @param t2   second input
+     * @param t3   third input
+     * @param <T1> type of first input
+     * @param <T2> type of second input
+     * @param <T3> type of third input
+     * @param <R>  result type
+     * @return the result of the function
+     */
+    public static <T1, T2, T3, R> R silent(Function3<T1, T2, T3, R> func, T1 t1, T2 t2, T3 t3) {
+        try {
+            return func.invoke(t1, t2, t3);
+        } catch (Throwable e) {
+            throwAny(e);
+            // Stub-return to suppress javac error, cannot be reached
+            return null;
+        }
+    }
+
     /**
      * Calls the passed function, catching exceptions if they are thrown.
      *
      * @param func the target function to be called
-     * @throws RuntimeException if function throws {@link Throwable} exception
+     * @throws UncheckedException if function throws a checked exception
      */
     public static void suppress(Runnable0 func) {
         try {
@@ -135,17 +184,17 @@ public final class Exceptions {
         } catch (Error | RuntimeException e) {
             throw e;
         } catch (Throwable e) {
-            throw new RuntimeException(e);
+            throw new UncheckedException(e);
         }
     }
 
     /**
-     * Executes the given {@link Runnable1}, wrapping any thrown checked exception in a {@link RuntimeException}.
+     * Executes the given {@link Runnable1}, wrapping any thrown checked exception in an {@link UncheckedException}.
      *
      * @param func the operation to execute
      * @param t    the input parameter
      * @param <T>  the input type
-     * @throws RuntimeException if an exception is thrown during execution
+     * @throws UncheckedException if a checked exception is thrown during execution
      */
     public static <T> void suppress(Runnable1<T> func, T t) {
         try {
@@ -153,19 +202,19 @@ public final class Exceptions {
         } catch (Error | RuntimeException e) {
             throw e;
         } catch (Throwable e) {
-            throw new RuntimeException(e);
+            throw new UncheckedException(e);
         }
     }
 
     /**
-     * Executes the given {@link Runnable2}, wrapping any thrown checked exception in a {@link RuntimeException}.
+     * Executes the given {@link Runnable2}, wrapping any thrown checked exception in an {@link UncheckedException}.
      *
      * @param func the operation to execute
      * @param t1   the first input
      * @param t2   the second input
      * @param <T1> the type of the first input
      * @param <T2> the type of the second input
-     * @throws RuntimeException if an exception is thrown during execution
+     * @throws UncheckedException if a checked exception is thrown during execution
      */
     public static <T1, T2> void suppress(Runnable2<T1, T2> func, T1 t1, T2 t2) {
         try {
@@ -173,7 +222,29 @@ public final class Exceptions {
         } catch (Error | RuntimeException e) {
             throw e;
         } catch (Throwable e) {
-            throw new RuntimeException(e);
+            throw new UncheckedException(e);
+        }
+    }
+
+    /**
+     * Executes the given {@link Runnable3}, wrapping any thrown checked exception in an {@link UncheckedException}.
+     *
+     * @param func the operation to execute
+     * @param t1   the first input
+     * @param t2   the second input
+     * @param t3   the third input
+     * @param <T1> the type of the first input
+     * @param <T2> the type of the second input
+     * @param <T3> the type of the third input
+     * @throws UncheckedException if a checked exception is thrown during execution
+     */
+    public static <T1, T2, T3> void suppress(Runnable3<T1, T2, T3> func, T1 t1, T2 t2, T3 t3) {
+        try {
+            func.run(t1, t2, t3);
+        } catch (Error | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UncheckedException(e);
         }
     }
 
@@ -231,13 +302,36 @@ public final class Exceptions {
         }
     }
 
+    /**
+     * Executes the given {@link Function3} and handles any thrown exception using the provided fallback function.
+     *
+     * @param func   the function to execute
+     * @param t1     the first input
+     * @param t2     the second input
+     * @param t3     the third input
+     * @param except the fallback function to handle thrown exceptions
+     * @param <T1>   the type of the first input
+     * @param <T2>   the type of the second input
+     * @param <T3>   the type of the third input
+     * @param <R>    the result type
+     * @return the result of the function, or the result of {@code except} if an exception occurs
+     */
+    public static <T1, T2, T3, R> R suppress(Function3<T1, T2, T3, R> func, T1 t1, T2 t2, T3 t3,
+                                             Function<Throwable, R> except) {
+        try {
+            return func.invoke(t1, t2, t3);
+        } catch (Throwable e) {
+            return except.apply(e);
+        }
+    }
+
     /**
      * Calls the passed function, catching exceptions if they are thrown.
      *
      * @param func the target function to be called
      * @param <T>  type of {@link Function0} return value
      * @return the resulting value produced by the target function
-     * @throws RuntimeException if function throws {@link Throwable} exception
+     * @throws UncheckedException if function throws a checked exception
      */
     public static <T> T suppress(Function0<T> func) {
         try {
@@ -245,19 +339,19 @@ public final class Exceptions {
         } catch (Error | RuntimeException e) {
             throw e;
         } catch (Throwable e) {
-            throw new RuntimeException(e);
+            throw new UncheckedException(e);
         }
     }
 
     /**
-     * Executes the given {@link Function1}, wrapping any thrown checked exception in a {@link RuntimeException}.
+     * Executes the given {@link Function1}, wrapping any thrown checked exception in an {@link UncheckedException}.
      *
      * @param func the function to execute
      * @param t    the input parameter
      * @param <T>  the input type
      * @param <R>  the result type
      * @return the result of the function
-     * @throws RuntimeException if an exception is thrown during execution
+     * @throws UncheckedException if a checked exception is thrown during execution
      */
     public static <T, R> R suppress(Function1<T, R> func, T t) {
         try {
@@ -265,12 +359,12 @@ public final class Exceptions {
         } catch (Error | RuntimeException e) {
             throw e;
         } catch (Throwable e) {
-            throw new RuntimeException(e);
+            throw new UncheckedException(e);
         }
     }
 
     /**
-     * Executes the given {@link Function2}, wrapping any thrown checked exception in a {@link RuntimeException}.
+     * Executes the given {@link Function2}, wrapping any thrown checked exception in an {@link UncheckedException}.
      *
      * @param func the function to execute
      * @param t1   the first input
@@ -279,7 +373,7 @@ public final class Exceptions {
      * @param <T2> the type of the second input
      * @param <R>  the result type
      * @return the result of the function
-     * @throws RuntimeException if an exception is thrown during execution
+     * @throws UncheckedException if a checked exception is thrown during execution
      */
     public static <T1, T2, R> R suppress(Function2<T1, T2, R> func, T1 t1, T2 t2) {
         try {
@@ -287,7 +381,166 @@ public final class Exceptions {
         } catch (Error | RuntimeException e) {
             throw e;
         } catch (Throwable e) {
-            throw new RuntimeException(e);
+            throw new UncheckedException(e);
+        }
+    }
+
+    /**
+     * Executes the given {@link Function3}, wrapping any thrown checked exception in an {@link UncheckedException}.
+     *
+     * @param func the function to execute
+     * @param t1   the first input
+     * @param t2   the second input
+     * @param t3   the third input
+     * @param <T1> the type of the first input
+     * @param <T2> the type of the second input
+     * @param <T3> the type of the third input
+     * @param <R>  the result type
+     * @return the result of the function
+     * @throws UncheckedException if a checked exception is thrown during execution
+     */
+    public static <T1, T2, T3, R> R suppress(Function3<T1, T2, T3, R> func, T1 t1, T2 t2, T3 t3) {
+        try {
+            return func.invoke(t1, t2, t3);
+        } catch (Error | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UncheckedException(e);
         }
     }
+
+    /**
+     * Converts the given {@link Runnable0} into a {@link Runnable} that rethrows any thrown exception as-is.
+     * The conversion is done once, so the returned instance can be stored and invoked on hot paths
+     * without allocating per call.
+     *
+     * @param func the operation to convert
+     * @return the unchecked view of the operation
+     * @throws NullPointerException if func is null
+     */
+    public static Runnable uncheckedRunnable(Runnable0 func) {
+        Objects.requireNonNull(func);
+        return () -> {
+            try {
+                func.run();
+            } catch (Throwable e) {
+                throwAny(e);
+            }
+        };
+    }
+
+    /**
+     * Converts the given {@link Runnable1} into a {@link Consumer} that rethrows any thrown exception as-is.
+     * The conversion is done once, so the returned instance can be stored and invoked on hot paths
+     * without allocating per call.
+     *
+     * @param func the operation to convert
+     * @param <T>  the input type
+     * @return the unchecked view of the operation
+     * @throws NullPointerException if func is null
+     */
+    public static <T> Consumer<T> uncheckedConsumer(Runnable1<T> func) {
+        Objects.requireNonNull(func);
+        return t -> {
+            try {
+                func.run(t);
+            } catch (Throwable e) {
+                throwAny(e);
+            }
+        };
+    }
+
+    /**
+     * Converts the given {@link Runnable2} into a {@link BiConsumer} that rethrows any thrown exception as-is.
+     * The conversion is done once, so the returned instance can be stored and invoked on hot paths
+     * without allocating per call.
+     *
+     * @param func the operation to convert
+     * @param <T1> the type of the first input
+     * @param <T2> the type of the second input
+     * @return the unchecked view of the operation
+     * @throws NullPointerException if func is null
+     */
+    public static <T1, T2> BiConsumer<T1, T2> uncheckedBiConsumer(Runnable2<T1, T2> func) {
+        Objects.requireNonNull(func);
+        return (t1, t2) -> {
+            try {
+                func.run(t1, t2);
+            } catch (Throwable e) {
+                throwAny(e);
+            }
+        };
+    }
+
+    /**
+     * Converts the given {@link Function0} into a {@link Supplier} that rethrows any thrown exception as-is.
+     * The conversion is done once, so the returned instance can be stored and invoked on hot paths
+     * without allocating per call.
+     *
+     * @param func the function to convert
+     * @param <R>  the result type
+     * @return the unchecked view of the function
+     * @throws NullPointerException if func is null
+     */
+    public static <R> Supplier<R> uncheckedSupplier(Function0<R> func) {
+        Objects.requireNonNull(func);
+        return () -> {
+            try {
+                return func.invoke();
+            } catch (Throwable e) {
+                throwAny(e);
+                // Stub-return to suppress javac error, cannot be reached
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Converts the given {@link Function1} into a {@link Function} that rethrows any thrown exception as-is.
+     * The conversion is done once, so the returned instance can be stored and invoked on hot paths
+     * without allocating per call.
+     *
+     * @param func the function to convert
+     * @param <T>  the input type
+     * @param <R>  the result type
+     * @return the unchecked view of the function
+     * @throws NullPointerException if func is null
+     */
+    public static <T, R> Function<T, R> uncheckedFunction(Function1<T, R> func) {
+        Objects.requireNonNull(func);
+        return t -> {
+            try {
+                return func.invoke(t);
+            } catch (Throwable e) {
+                throwAny(e);
+                // Stub-return to suppress javac error, cannot be reached
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Converts the given {@link Function2} into a {@link BiFunction} that rethrows any thrown exception as-is.
+     * The conversion is done once, so the returned instance can be stored and invoked on hot paths
+     * without allocating per call.
+     *
+     * @param func the function to convert
+     * @param <T1> the type of the first input
+     * @param <T2> the type of the second input
+     * @param <R>  the result type
+     * @return the unchecked view of the function
+     * @throws NullPointerException if func is null
+     */
+    public static <T1, T2, R> BiFunction<T1, T2, R> uncheckedBiFunction(Function2<T1, T2, R> func) {
+        Objects.requireNonNull(func);
+        return (t1, t2) -> {
+            try {
+                return func.invoke(t1, t2);
+            } catch (Throwable e) {
+                throwAny(e);
+                // Stub-return to suppress javac error, cannot be reached
+                return null;
+            }
+        };
+    }
 }
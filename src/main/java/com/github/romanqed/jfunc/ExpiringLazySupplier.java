@@ -0,0 +1,184 @@
+package com.github.romanqed.jfunc;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * A container that provides lazy initialization of a value that can be invalidated or can expire,
+ * implements {@link Supplier}.
+ * <p>
+ * The value is computed on first access and cached until it expires or {@link #invalidate()} is called,
+ * after which the next access computes it again. Optionally, the value can be refreshed ahead of expiry:
+ * the first access within the refresh window before expiry schedules a recomputation on the given executor,
+ * while callers keep receiving the current value without blocking. If the refresh fails or is rejected
+ * by the executor, the current value is served until it expires, and the next refresh is attempted only
+ * after a quarter of the refresh-ahead window, so a failing body is not called on every access.
+ *
+ * @param <T> the type of results supplied by this supplier
+ */
+public final class ExpiringLazySupplier<T> implements Supplier<T> {
+    private static final long NO_EXPIRY = -1;
+    private static final VarHandle HOLDER;
+    private static final VarHandle REFRESHING;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+            HOLDER = lookup.findVarHandle(ExpiringLazySupplier.class, "holder", Holder.class);
+            REFRESHING = lookup.findVarHandle(ExpiringLazySupplier.class, "refreshing", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object lock;
+    private final Supplier<T> body;
+    private final long ttl;
+    private final long refreshAhead;
+    private final Executor executor;
+    private volatile Holder<T> holder;
+    private volatile boolean refreshing;
+
+    /**
+     * Constructs a new {@link ExpiringLazySupplier} with the given computation body, time-to-live
+     * and refresh-ahead window.
+     *
+     * @param body         the supplier to be evaluated lazily
+     * @param ttl          the time after which the computed value expires
+     * @param refreshAhead the time before expiry from which the value is recomputed in the background
+     * @param executor     the executor used to recompute the value in the background
+     * @throws NullPointerException     if any of the arguments is null
+     * @throws IllegalArgumentException if {@code ttl} is not positive, or if {@code refreshAhead}
+     *                                  is not positive or is not less than {@code ttl}
+     */
+    public ExpiringLazySupplier(Supplier<T> body, Duration ttl, Duration refreshAhead, Executor executor) {
+        this.body = Objects.requireNonNull(body);
+        this.ttl = Durations.checkPositive(ttl);
+        this.refreshAhead = Durations.checkPositive(refreshAhead);
+        if (this.refreshAhead >= this.ttl) {
+            throw new IllegalArgumentException("Refresh-ahead window must be less than time-to-live");
+        }
+        this.executor = Objects.requireNonNull(executor);
+        this.lock = new Object();
+    }
+
+    /**
+     * Constructs a new {@link ExpiringLazySupplier} with the given computation body and time-to-live.
+     *
+     * @param body the supplier to be evaluated lazily
+     * @param ttl  the time after which the computed value expires
+     * @throws NullPointerException     if any of the arguments is null
+     * @throws IllegalArgumentException if {@code ttl} is not positive
+     */
+    public ExpiringLazySupplier(Supplier<T> body, Duration ttl) {
+        this.body = Objects.requireNonNull(body);
+        this.ttl = Durations.checkPositive(ttl);
+        this.refreshAhead = 0;
+        this.executor = null;
+        this.lock = new Object();
+    }
+
+    /**
+     * Constructs a new {@link ExpiringLazySupplier} with the given computation body.
+     * The computed value never expires and is only recomputed after {@link #invalidate()}.
+     *
+     * @param body the supplier to be evaluated lazily
+     * @throws NullPointerException if {@code body} is null
+     */
+    public ExpiringLazySupplier(Supplier<T> body) {
+        this.body = Objects.requireNonNull(body);
+        this.ttl = NO_EXPIRY;
+        this.refreshAhead = 0;
+        this.executor = null;
+        this.lock = new Object();
+    }
+
+    /**
+     * Gets the cached result, or, if there is no result or it has expired, calls the wrapped lambda interface.
+     *
+     * @return a result
+     */
+    @Override
+    public T get() {
+        var holder = this.holder;
+        if (holder != null) {
+            if (ttl == NO_EXPIRY) {
+                return holder.value;
+            }
+            var now = System.nanoTime();
+            if (now - holder.expiresAt < 0) {
+                if (executor != null && now - holder.refreshAt >= 0) {
+                    refresh(holder);
+                }
+                return holder.value;
+            }
+        }
+        synchronized (lock) {
+            holder = this.holder;
+            if (holder == null || (ttl != NO_EXPIRY && System.nanoTime() - holder.expiresAt >= 0)) {
+                holder = create(body.get());
+                this.holder = holder;
+            }
+            return holder.value;
+        }
+    }
+
+    /**
+     * Discards the cached result, so the next call will compute it again.
+     * A background refresh that is in progress will not restore the discarded result.
+     */
+    public void invalidate() {
+        holder = null;
+    }
+
+    private Holder<T> create(T value) {
+        if (ttl == NO_EXPIRY) {
+            return new Holder<>(value, 0, 0);
+        }
+        var now = System.nanoTime();
+        return new Holder<>(value, now + ttl, now + ttl - refreshAhead);
+    }
+
+    private void refresh(Holder<T> current) {
+        if (!REFRESHING.compareAndSet(this, false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    HOLDER.compareAndSet(this, current, create(body.get()));
+                } catch (Throwable e) {
+                    // The current value stays in use until it expires
+                    backOff(current);
+                } finally {
+                    refreshing = false;
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            backOff(current);
+            refreshing = false;
+        }
+    }
+
+    private void backOff(Holder<T> current) {
+        var refreshAt = System.nanoTime() + Math.max(1, refreshAhead >> 2);
+        HOLDER.compareAndSet(this, current, new Holder<>(current.value, current.expiresAt, refreshAt));
+    }
+
+    private static final class Holder<T> {
+        final T value;
+        final long expiresAt;
+        final long refreshAt;
+
+        Holder(T value, long expiresAt, long refreshAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+    }
+}
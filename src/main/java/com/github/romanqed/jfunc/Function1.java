@@ -21,8 +21,27 @@ public interface Function1<T, R> {
      * @param <T> the type of the input and output objects to the function
      * @return a function that always returns its input argument
      */
+    @SuppressWarnings("unchecked")
     static <T> Function1<T, T> identity() {
-        return value -> value;
+        return (Function1<T, T>) ChainedFunction1.IDENTITY;
+    }
+
+    /**
+     * Returns a function that starts a flat composition pipeline with the given function.
+     * <p>
+     * Functions composed with the returned function via {@link #andThen(Function1)} or {@link #compose(Function1)}
+     * are stored as stages of a single array-backed pipeline instead of being wrapped one into another,
+     * so long chains are invoked by a single loop rather than a deep stack of nested lambdas.
+     * {@link #identity()} stages are dropped from the pipeline.
+     *
+     * @param func the first stage of the pipeline
+     * @param <T>  the type of the function parameter
+     * @param <R>  the type of the return value
+     * @return a function that applies the pipeline stages in order
+     * @throws NullPointerException if func is null
+     */
+    static <T, R> Function1<T, R> chain(Function1<T, R> func) {
+        return ChainedFunction1.of(func);
     }
 
     /**
@@ -0,0 +1,101 @@
+package com.github.romanqed.jfunc;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An opt-in switch for instrumenting functions, which creates named {@link InvocationMetrics}
+ * and hands them to a {@link MetricsExporter}.
+ * <p>
+ * Functions are instrumented at the moment they are wrapped: if the instrumentation is disabled,
+ * the wrapping methods return the original function, so disabled instrumentation costs nothing
+ * on the invocation path. Functions instrumented under the same name share the same metrics.
+ *
+ * @see InstrumentedFunction1
+ */
+public final class Instrumentation {
+    private static final Instrumentation DISABLED = new Instrumentation();
+
+    private final MetricsExporter exporter;
+    private final Map<String, InvocationMetrics> metrics;
+
+    /**
+     * Constructs a new enabled {@link Instrumentation} that publishes metrics through the given exporter.
+     *
+     * @param exporter the exporter notified about every created metrics instance
+     * @throws NullPointerException if {@code exporter} is null
+     */
+    public Instrumentation(MetricsExporter exporter) {
+        this.exporter = Objects.requireNonNull(exporter);
+        this.metrics = new ConcurrentHashMap<>();
+    }
+
+    private Instrumentation() {
+        this.exporter = null;
+        this.metrics = null;
+    }
+
+    /**
+     * Returns the disabled {@link Instrumentation}, which leaves functions as they are.
+     *
+     * @return the disabled instrumentation
+     */
+    public static Instrumentation disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Checks whether this instrumentation is enabled.
+     *
+     * @return true if functions are instrumented, false otherwise
+     */
+    public boolean isEnabled() {
+        return exporter != null;
+    }
+
+    /**
+     * Returns the metrics with the given name, creating and exporting them if necessary.
+     *
+     * @param name the name of the instrumented function
+     * @return the metrics with the given name
+     * @throws NullPointerException  if {@code name} is null
+     * @throws IllegalStateException if this instrumentation is disabled
+     */
+    public InvocationMetrics metrics(String name) {
+        Objects.requireNonNull(name);
+        if (exporter == null) {
+            throw new IllegalStateException("Instrumentation is disabled");
+        }
+        var ret = metrics.get(name);
+        if (ret != null) {
+            return ret;
+        }
+        var created = new InvocationMetrics(name);
+        ret = metrics.putIfAbsent(name, created);
+        if (ret != null) {
+            return ret;
+        }
+        exporter.export(created);
+        return created;
+    }
+
+    /**
+     * Instruments the given function under the given name, or returns it as is if this instrumentation is disabled.
+     *
+     * @param name the name of the function
+     * @param func the function to instrument
+     * @param <T>  the type of the function parameter
+     * @param <R>  the type of the result of the function
+     * @return the instrumented function, or {@code func} if this instrumentation is disabled
+     * @throws NullPointerException if {@code name} or {@code func} is null
+     */
+    public <T, R> Function1<T, R> instrument(String name, Function1<T, R> func) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(func);
+        if (exporter == null) {
+            return func;
+        }
+        return new InstrumentedFunction1<>(func, metrics(name));
+    }
+}
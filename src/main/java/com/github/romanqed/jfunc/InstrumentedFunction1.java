@@ -0,0 +1,53 @@
+package com.github.romanqed.jfunc;
+
+import java.util.Objects;
+
+/**
+ * A function that records the latency and outcome of every invocation of the wrapped function,
+ * implements {@link Function1}.
+ * <p>
+ * An invocation counts as failed if the wrapped function throws.
+ *
+ * @param <T> the type of the function parameter
+ * @param <R> the type of the result of the function
+ * @see Instrumentation#instrument(String, Function1)
+ */
+public final class InstrumentedFunction1<T, R> implements Function1<T, R> {
+    private final Function1<T, R> body;
+    private final InvocationMetrics metrics;
+
+    /**
+     * Constructs a new {@link InstrumentedFunction1}.
+     *
+     * @param body    the function to instrument
+     * @param metrics the metrics receiving the invocations
+     * @throws NullPointerException if {@code body} or {@code metrics} is null
+     */
+    public InstrumentedFunction1(Function1<T, R> body, InvocationMetrics metrics) {
+        this.body = Objects.requireNonNull(body);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    /**
+     * Returns the metrics receiving the invocations of this function.
+     *
+     * @return the metrics
+     */
+    public InvocationMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public R invoke(T t) throws Throwable {
+        var start = System.nanoTime();
+        R ret;
+        try {
+            ret = body.invoke(t);
+        } catch (Throwable e) {
+            metrics.record(System.nanoTime() - start, true);
+            throw e;
+        }
+        metrics.record(System.nanoTime() - start, false);
+        return ret;
+    }
+}
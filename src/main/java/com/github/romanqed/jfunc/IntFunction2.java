@@ -0,0 +1,69 @@
+package com.github.romanqed.jfunc;
+
+import java.util.Objects;
+
+/**
+ * Represents a function that takes two {@code int} parameters and returns a value.
+ * This is the {@code int}-consuming primitive specialization of {@link Function2}.
+ *
+ * <p>This is a
+ * <a href="https://docs.oracle.com/javase/8/docs/api/java/lang/FunctionalInterface.html">functional interface</a>
+ * whose functional method is {@link #invoke(int, int)}.
+ *
+ * @param <R> the type of the return value
+ */
+@FunctionalInterface
+public interface IntFunction2<R> {
+
+    /**
+     * Adapts the given generic {@link Function2} to a {@link IntFunction2}.
+     * The parameters are boxed on every call.
+     *
+     * @param func the function to adapt
+     * @param <R>  the type of the return value
+     * @return the adapted function
+     * @throws NullPointerException if func is null
+     */
+    static <R> IntFunction2<R> of(Function2<Integer, Integer, R> func) {
+        Objects.requireNonNull(func);
+        return func::invoke;
+    }
+
+    /**
+     * Main functional method of interface, takes two parameters, performs assumed action and produce result.
+     *
+     * @param v1 first function parameter
+     * @param v2 second function parameter
+     * @return produced result
+     * @throws Throwable if problems occur during execution
+     */
+    R invoke(int v1, int v2) throws Throwable;
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its inputs, and then applies the {@code after} function to the result.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param <V>   the type of output of the {@code after} function, and of the
+     *              composed function
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     * applies the {@code after} function
+     * @throws NullPointerException if after is null
+     */
+    default <V> IntFunction2<V> andThen(Function1<? super R, ? extends V> after) {
+        Objects.requireNonNull(after);
+        return (int v1, int v2) -> after.invoke(invoke(v1, v2));
+    }
+
+    /**
+     * Returns a generic {@link Function2} view of this function.
+     * The parameters are unboxed on every call.
+     *
+     * @return the generic view
+     */
+    default Function2<Integer, Integer, R> boxed() {
+        return this::invoke;
+    }
+}
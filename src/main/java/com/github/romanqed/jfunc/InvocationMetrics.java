@@ -0,0 +1,137 @@
+package com.github.romanqed.jfunc;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Invocation statistics of an instrumented function: the number of invocations, the number of failed ones
+ * and the distribution of their latencies.
+ * <p>
+ * Counters are striped ({@link LongAdder}), so concurrent recording does not contend on a single memory location,
+ * and latencies are kept in a lock-free log-linear histogram with a relative error of about 3%.
+ * Reading the statistics does not block recording, but the values read are not an atomic snapshot.
+ *
+ * @see Instrumentation
+ */
+public final class InvocationMetrics {
+    private final String name;
+    private final LongAdder invocations;
+    private final LongAdder errors;
+    private final LongAdder total;
+    private final LongAccumulator max;
+    private final LatencyHistogram histogram;
+
+    /**
+     * Constructs a new {@link InvocationMetrics} with the given name.
+     *
+     * @param name the name of the instrumented function
+     * @throws NullPointerException if {@code name} is null
+     */
+    public InvocationMetrics(String name) {
+        this.name = Objects.requireNonNull(name);
+        this.invocations = new LongAdder();
+        this.errors = new LongAdder();
+        this.total = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+        this.histogram = new LatencyHistogram();
+    }
+
+    /**
+     * Returns the name of the instrumented function.
+     *
+     * @return the name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Records a completed invocation.
+     *
+     * @param nanos  the latency of the invocation in nanoseconds
+     * @param failed true if the invocation failed, false otherwise
+     */
+    public void record(long nanos, boolean failed) {
+        invocations.increment();
+        if (failed) {
+            errors.increment();
+        }
+        total.add(nanos);
+        max.accumulate(nanos);
+        histogram.record(nanos);
+    }
+
+    /**
+     * Returns the number of recorded invocations.
+     *
+     * @return the number of invocations
+     */
+    public long invocations() {
+        return invocations.sum();
+    }
+
+    /**
+     * Returns the number of recorded invocations that failed.
+     *
+     * @return the number of failed invocations
+     */
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * Returns the mean latency of the recorded invocations.
+     *
+     * @return the mean latency in nanoseconds, or 0 if nothing has been recorded
+     */
+    public long mean() {
+        var count = invocations.sum();
+        return count == 0 ? 0 : total.sum() / count;
+    }
+
+    /**
+     * Returns the maximum latency of the recorded invocations.
+     *
+     * @return the maximum latency in nanoseconds, or 0 if nothing has been recorded
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Returns the latency at the given percentile of the recorded invocations.
+     *
+     * @param percentile the percentile, in the range {@code (0, 100]}
+     * @return the latency in nanoseconds, or 0 if nothing has been recorded
+     * @throws IllegalArgumentException if {@code percentile} is out of range
+     */
+    public long percentile(double percentile) {
+        if (!(percentile > 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be in range (0, 100]");
+        }
+        return Math.min(histogram.percentile(percentile), max.get());
+    }
+
+    /**
+     * Discards all recorded statistics.
+     */
+    public void reset() {
+        invocations.reset();
+        errors.reset();
+        total.reset();
+        max.reset();
+        histogram.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "InvocationMetrics{" +
+                "name='" + name + '\'' +
+                ", invocations=" + invocations() +
+                ", errors=" + errors() +
+                ", mean=" + mean() +
+                ", max=" + max() +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.romanqed.jfunc;
+
+/**
+ * The management interface of {@link InvocationMetrics} registered by {@link JmxMetricsExporter}.
+ * All latencies are in nanoseconds.
+ */
+public interface InvocationMetricsMXBean {
+
+    /**
+     * Returns the name of the instrumented function.
+     *
+     * @return the name
+     */
+    String getName();
+
+    /**
+     * Returns the number of recorded invocations.
+     *
+     * @return the number of invocations
+     */
+    long getInvocations();
+
+    /**
+     * Returns the number of recorded invocations that failed.
+     *
+     * @return the number of failed invocations
+     */
+    long getErrors();
+
+    /**
+     * Returns the mean latency.
+     *
+     * @return the mean latency
+     */
+    long getMeanLatency();
+
+    /**
+     * Returns the median latency.
+     *
+     * @return the median latency
+     */
+    long getP50Latency();
+
+    /**
+     * Returns the 99th percentile latency.
+     *
+     * @return the 99th percentile latency
+     */
+    long getP99Latency();
+
+    /**
+     * Returns the 99.9th percentile latency.
+     *
+     * @return the 99.9th percentile latency
+     */
+    long getP999Latency();
+
+    /**
+     * Returns the maximum latency.
+     *
+     * @return the maximum latency
+     */
+    long getMaxLatency();
+
+    /**
+     * Discards all recorded statistics.
+     */
+    void reset();
+}
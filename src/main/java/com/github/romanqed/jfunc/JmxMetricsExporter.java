@@ -0,0 +1,139 @@
+package com.github.romanqed.jfunc;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+
+/**
+ * An exporter that registers every {@link InvocationMetrics} as an MXBean, implements {@link MetricsExporter}.
+ * <p>
+ * The beans are named {@code <domain>:type=InvocationMetrics,name=<name>}, with the name quoted.
+ * A bean already registered under the same name is replaced.
+ * <p>
+ * The {@code java.management} module is an optional dependency of this module, so applications using
+ * this exporter on the module path must require it themselves.
+ */
+public final class JmxMetricsExporter implements MetricsExporter {
+    private static final String DEFAULT_DOMAIN = "com.github.romanqed.jfunc";
+
+    private final MBeanServer server;
+    private final String domain;
+
+    /**
+     * Constructs a new {@link JmxMetricsExporter} that registers beans in the given server and domain.
+     *
+     * @param server the server to register beans in
+     * @param domain the domain of the bean names
+     * @throws NullPointerException if {@code server} or {@code domain} is null
+     */
+    public JmxMetricsExporter(MBeanServer server, String domain) {
+        this.server = Objects.requireNonNull(server);
+        this.domain = Objects.requireNonNull(domain);
+    }
+
+    /**
+     * Constructs a new {@link JmxMetricsExporter} that registers beans in the platform server
+     * under the {@code com.github.romanqed.jfunc} domain.
+     */
+    public JmxMetricsExporter() {
+        this(ManagementFactory.getPlatformMBeanServer(), DEFAULT_DOMAIN);
+    }
+
+    /**
+     * Returns the name under which the given metrics are registered.
+     *
+     * @param metrics the metrics
+     * @return the name of the bean
+     * @throws IllegalArgumentException if the resulting name is malformed
+     */
+    public ObjectName nameOf(InvocationMetrics metrics) {
+        try {
+            return new ObjectName(domain + ":type=InvocationMetrics,name=" + ObjectName.quote(metrics.name()));
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Malformed bean name for " + metrics.name(), e);
+        }
+    }
+
+    /**
+     * Registers the given metrics as an MXBean.
+     *
+     * @param metrics the metrics to publish
+     * @throws IllegalStateException if the bean cannot be registered
+     */
+    @Override
+    public void export(InvocationMetrics metrics) {
+        var name = nameOf(metrics);
+        var bean = new Bean(metrics);
+        try {
+            try {
+                server.registerMBean(bean, name);
+            } catch (InstanceAlreadyExistsException e) {
+                try {
+                    server.unregisterMBean(name);
+                } catch (InstanceNotFoundException ignored) {
+                    // Unregistered concurrently
+                }
+                server.registerMBean(bean, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register bean " + name, e);
+        }
+    }
+
+    private static final class Bean implements InvocationMetricsMXBean {
+        private final InvocationMetrics metrics;
+
+        private Bean(InvocationMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public String getName() {
+            return metrics.name();
+        }
+
+        @Override
+        public long getInvocations() {
+            return metrics.invocations();
+        }
+
+        @Override
+        public long getErrors() {
+            return metrics.errors();
+        }
+
+        @Override
+        public long getMeanLatency() {
+            return metrics.mean();
+        }
+
+        @Override
+        public long getP50Latency() {
+            return metrics.percentile(50);
+        }
+
+        @Override
+        public long getP99Latency() {
+            return metrics.percentile(99);
+        }
+
+        @Override
+        public long getP999Latency() {
+            return metrics.percentile(99.9);
+        }
+
+        @Override
+        public long getMaxLatency() {
+            return metrics.max();
+        }
+
+        @Override
+        public void reset() {
+            metrics.reset();
+        }
+    }
+}
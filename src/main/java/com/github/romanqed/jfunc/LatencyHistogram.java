@@ -0,0 +1,77 @@
+package com.github.romanqed.jfunc;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of non-negative values with log-linear buckets, used by {@link InvocationMetrics}.
+ * <p>
+ * Values below {@code 2^PRECISION} get a bucket each; above that, every power of two is split into
+ * {@code 2^PRECISION} equal buckets, which bounds the relative error of reported values by {@code 2^-PRECISION}
+ * (about 3%), the same scheme HdrHistogram uses. Values above {@code 2^MAX_EXPONENT} nanoseconds
+ * (about 18 minutes) fall into the last bucket.
+ */
+final class LatencyHistogram {
+    private static final int PRECISION = 5;
+    private static final int SUB_BUCKETS = 1 << PRECISION;
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = (MAX_EXPONENT - PRECISION + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+
+    LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        if (value > MAX_VALUE) {
+            value = MAX_VALUE;
+        }
+        var shift = 63 - Long.numberOfLeadingZeros(value) - PRECISION;
+        var sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long highest(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        var shift = index / SUB_BUCKETS - 1;
+        var sub = index % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+
+    void record(long value) {
+        counts.getAndIncrement(index(Math.max(0, value)));
+    }
+
+    long percentile(double percentile) {
+        var snapshot = new long[BUCKETS];
+        var total = 0L;
+        for (var i = 0; i < BUCKETS; ++i) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        var rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        var seen = 0L;
+        for (var i = 0; i < BUCKETS; ++i) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return highest(i);
+            }
+        }
+        return highest(BUCKETS - 1);
+    }
+
+    void reset() {
+        for (var i = 0; i < BUCKETS; ++i) {
+            counts.set(i, 0);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.github.romanqed.jfunc;
 
-import java.util.Objects;
 import java.util.function.Function;
 
 /**
@@ -9,14 +8,9 @@ import java.util.function.Function;
  * @param <T> the type of the function parameter
  * @param <R> the type of the result of the function
  */
-public final class LazyFunction<T, R> implements Function<T, R> {
-    private final Object lock;
-    private final Function<T, R> body;
-    private volatile R value;
-
+public final class LazyFunction<T, R> extends AbstractLazy<Function<T, R>, R> implements Function<T, R> {
     public LazyFunction(Function<T, R> body) {
-        this.body = Objects.requireNonNull(body);
-        this.lock = new Object();
+        super(body);
     }
 
     /**
@@ -27,13 +21,19 @@ public final class LazyFunction<T, R> implements Function<T, R> {
      */
     @Override
     public R apply(T t) {
-        if (value == null) {
-            synchronized (lock) {
-                if (value == null) {
-                    value = body.apply(t);
-                }
-            }
+        if (state == DONE) {
+            return value;
+        }
+        if (!acquire()) {
+            return result();
+        }
+        try {
+            var ret = body.apply(t);
+            set(ret);
+            return ret;
+        } catch (Throwable e) {
+            fail(e);
+            throw e;
         }
-        return value;
     }
 }
@@ -1,18 +1,12 @@
 package com.github.romanqed.jfunc;
 
-import java.util.Objects;
-
 /**
  * A container that provides lazy initialization, implements {@link LazyFunction1}.
  *
  * @param <T> the type of the function parameter
  * @param <R> the type of the result of the function
  */
-public final class LazyFunction1<T, R> implements Function1<T, R> {
-    private final Object lock;
-    private final Function1<T, R> body;
-    private volatile R value;
-
+public final class LazyFunction1<T, R> extends AbstractLazy<Function1<T, R>, R> implements Function1<T, R> {
     /**
      * Constructs a new {@link LazyFunction1} with the given computation body.
      * The result will be computed once for the first input, and reused for all subsequent calls.
@@ -22,8 +16,7 @@ public final class LazyFunction1<T, R> implements Function1<T, R> {
      * @throws NullPointerException if {@code body} is null
      */
     public LazyFunction1(Function1<T, R> body) {
-        this.body = Objects.requireNonNull(body);
-        this.lock = new Object();
+        super(body);
     }
 
     /**
@@ -35,13 +28,19 @@ public final class LazyFunction1<T, R> implements Function1<T, R> {
      */
     @Override
     public R invoke(T t) throws Throwable {
-        if (value == null) {
-            synchronized (lock) {
-                if (value == null) {
-                    value = body.invoke(t);
-                }
-            }
+        if (state == DONE) {
+            return value;
+        }
+        if (!acquire()) {
+            return result();
+        }
+        try {
+            var ret = body.invoke(t);
+            set(ret);
+            return ret;
+        } catch (Throwable e) {
+            fail(e);
+            throw e;
         }
-        return value;
     }
 }
@@ -1,6 +1,6 @@
 package com.github.romanqed.jfunc;
 
-import java.util.Objects;
+import java.time.Duration;
 import java.util.function.Supplier;
 
 /**
@@ -8,21 +8,44 @@ import java.util.function.Supplier;
  *
  * @param <T> the type of results supplied by this supplier
  */
-public final class LazySupplier<T> implements Supplier<T> {
-    private final Object lock;
-    private final Supplier<T> body;
-    private volatile T value;
-
+public final class LazySupplier<T> extends AbstractLazy<Supplier<T>, T> implements Supplier<T> {
     /**
      * Constructs a new {@link LazySupplier} with the given computation body.
-     * The result will be computed at most once and then cached.
+     * The result, including null, will be computed at most once and then cached.
+     * If the body throws an exception, it is evaluated again on the next call.
      *
      * @param body the supplier to be evaluated lazily
      * @throws NullPointerException if {@code body} is null
      */
     public LazySupplier(Supplier<T> body) {
-        this.body = Objects.requireNonNull(body);
-        this.lock = new Object();
+        super(body);
+    }
+
+    /**
+     * Constructs a new {@link LazySupplier} with the given computation body, caching its failures.
+     * If the body throws an exception, the exception is stored and rethrown to all callers
+     * until {@code retryAfter} elapses, after which the next call evaluates the body again.
+     *
+     * @param body       the supplier to be evaluated lazily
+     * @param retryAfter the time during which a failure is rethrown instead of evaluating the body again
+     * @throws NullPointerException     if {@code body} or {@code retryAfter} is null
+     * @throws IllegalArgumentException if {@code retryAfter} is negative
+     */
+    public LazySupplier(Supplier<T> body, Duration retryAfter) {
+        super(body, toRetryAfter(retryAfter));
+    }
+
+    /**
+     * Constructs a new {@link LazySupplier} with the given computation body, optionally caching its failure forever.
+     * If failure caching is enabled and the body throws an exception, the exception is stored
+     * and rethrown to all subsequent callers, and the body is never evaluated again.
+     *
+     * @param body         the supplier to be evaluated lazily
+     * @param cacheFailure true to cache the failure, false to evaluate the body again on the next call
+     * @throws NullPointerException if {@code body} is null
+     */
+    public LazySupplier(Supplier<T> body, boolean cacheFailure) {
+        super(body, cacheFailure ? NO_RETRY : NO_CACHE);
     }
 
     /**
@@ -32,13 +55,19 @@ public final class LazySupplier<T> implements Supplier<T> {
      */
     @Override
     public T get() {
-        if (value == null) {
-            synchronized (lock) {
-                if (value == null) {
-                    value = body.get();
-                }
-            }
+        if (state == DONE) {
+            return value;
+        }
+        if (!acquire()) {
+            return result();
+        }
+        try {
+            var ret = body.get();
+            set(ret);
+            return ret;
+        } catch (Throwable e) {
+            fail(e);
+            throw e;
         }
-        return value;
     }
 }
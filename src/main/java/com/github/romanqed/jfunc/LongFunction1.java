@@ -0,0 +1,85 @@
+package com.github.romanqed.jfunc;
+
+import java.util.Objects;
+
+/**
+ * Represents a function that takes one {@code long} parameter and returns a value.
+ * This is the {@code long}-consuming primitive specialization of {@link Function1}.
+ *
+ * <p>This is a
+ * <a href="https://docs.oracle.com/javase/8/docs/api/java/lang/FunctionalInterface.html">functional interface</a>
+ * whose functional method is {@link #invoke(long)}.
+ *
+ * @param <R> the type of the return value
+ */
+@FunctionalInterface
+public interface LongFunction1<R> {
+
+    /**
+     * Adapts the given generic {@link Function1} to a {@link LongFunction1}.
+     * The parameter is boxed on every call.
+     *
+     * @param func the function to adapt
+     * @param <R>  the type of the return value
+     * @return the adapted function
+     * @throws NullPointerException if func is null
+     */
+    static <R> LongFunction1<R> of(Function1<Long, R> func) {
+        Objects.requireNonNull(func);
+        return func::invoke;
+    }
+
+    /**
+     * Main functional method of interface, takes one parameter, performs assumed action and produce result.
+     *
+     * @param value function parameter
+     * @return produced result
+     * @throws Throwable if problems occur during execution
+     */
+    R invoke(long value) throws Throwable;
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * If evaluation of either function throws an exception, it is relayed to
+     * the caller of the composed function.
+     *
+     * @param <V>   the type of output of the {@code after} function, and of the
+     *              composed function
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     * applies the {@code after} function
+     * @throws NullPointerException if after is null
+     */
+    default <V> LongFunction1<V> andThen(Function1<? super R, ? extends V> after) {
+        Objects.requireNonNull(after);
+        return (long value) -> after.invoke(invoke(value));
+    }
+
+    /**
+     * Returns a composed function that first applies the {@code before}
+     * function to its input, and then applies this function to the result.
+     * The intermediate value is not boxed.
+     *
+     * @param <V>    the type of input to the {@code before} function, and to the
+     *               composed function
+     * @param before the function to apply before this function is applied
+     * @return a composed function that first applies the {@code before}
+     * function and then applies this function
+     * @throws NullPointerException if before is null
+     */
+    default <V> Function1<V, R> compose(ToLongFunction1<? super V> before) {
+        Objects.requireNonNull(before);
+        return (V v) -> invoke(before.invoke(v));
+    }
+
+    /**
+     * Returns a generic {@link Function1} view of this function.
+     * The parameter is unboxed on every call.
+     *
+     * @return the generic view
+     */
+    default Function1<Long, R> boxed() {
+        return this::invoke;
+    }
+}
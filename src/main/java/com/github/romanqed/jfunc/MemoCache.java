@@ -0,0 +1,245 @@
+package com.github.romanqed.jfunc;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A concurrent keyed cache used by memoizing function containers.
+ * <p>
+ * Concurrent misses on the same key are loaded only once: the first caller runs the loader,
+ * the others wait for its result. Failed loads are never cached.
+ * <p>
+ * Size-bounded eviction uses a second-chance (CLOCK) approximation of LRU: entries are kept
+ * in insertion order, and an entry that was read since it was last examined is moved to the tail
+ * instead of being evicted. Reads only set a flag, so the hit path stays lock-free.
+ * <p>
+ * Expired entries are removed when they are read, and by a sweep that piggybacks on misses, so keys
+ * that are never read again do not accumulate without bound. A sweep pass starts at most once per
+ * time-to-live and examines a bounded number of entries per miss, so no single call pays for scanning
+ * the whole cache.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class MemoCache<K, V> {
+    private static final Object NULL_KEY = new Object();
+    private static final int SWEEP_STEP = 64;
+
+    private final Function1<K, V> loader;
+    private final long maxSize;
+    private final long ttl;
+    private final ConcurrentMap<Object, Entry<V>> entries;
+    private final Queue<Entry<V>> order;
+    private final AtomicLong count;
+    private final AtomicLong sweepAt;
+    private final AtomicBoolean sweeping;
+    // Guarded by sweeping
+    private Iterator<Entry<V>> sweeper;
+
+    /**
+     * Constructs a new cache.
+     *
+     * @param loader  the function used to compute missing values
+     * @param maxSize the maximum number of cached values, {@link Long#MAX_VALUE} for no limit
+     * @param ttl     the time-to-live of cached values in nanoseconds, non-positive for no expiration
+     */
+    MemoCache(Function1<K, V> loader, long maxSize, long ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive");
+        }
+        this.loader = loader;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.entries = new ConcurrentHashMap<>();
+        if (ttl > 0) {
+            this.sweepAt = new AtomicLong(System.nanoTime() + ttl);
+            this.sweeping = new AtomicBoolean();
+        } else {
+            this.sweepAt = null;
+            this.sweeping = null;
+        }
+        if (maxSize == Long.MAX_VALUE) {
+            this.order = null;
+            this.count = null;
+        } else {
+            this.order = new ConcurrentLinkedQueue<>();
+            this.count = new AtomicLong();
+        }
+    }
+
+    V get(K key) throws Throwable {
+        var mapped = key == null ? NULL_KEY : key;
+        var entry = entries.get(mapped);
+        if (entry != null) {
+            if (!isExpired(entry)) {
+                return entry.await();
+            }
+            remove(mapped, entry);
+        }
+        var created = new Entry<V>(mapped);
+        while ((entry = entries.putIfAbsent(mapped, created)) != null) {
+            if (!isExpired(entry)) {
+                return entry.await();
+            }
+            remove(mapped, entry);
+        }
+        V value;
+        try {
+            value = loader.invoke(key);
+        } catch (Throwable e) {
+            entries.remove(mapped, created);
+            created.fail(e);
+            throw e;
+        }
+        created.complete(value, ttl > 0 ? System.nanoTime() + ttl : 0);
+        if (order != null) {
+            order.offer(created);
+            count.incrementAndGet();
+            evict();
+        }
+        if (sweepAt != null) {
+            sweep();
+        }
+        return value;
+    }
+
+    void invalidate(K key) {
+        var entry = entries.remove(key == null ? NULL_KEY : key);
+        if (entry != null) {
+            entry.kill();
+        }
+    }
+
+    void invalidateAll() {
+        for (var entry : entries.values()) {
+            remove(entry.key, entry);
+        }
+    }
+
+    long size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        if (ttl <= 0) {
+            return false;
+        }
+        var expiresAt = entry.expiresAt;
+        return expiresAt != 0 && System.nanoTime() - expiresAt >= 0;
+    }
+
+    private void remove(Object key, Entry<V> entry) {
+        if (entries.remove(key, entry)) {
+            entry.kill();
+        }
+    }
+
+    private void sweep() {
+        var now = System.nanoTime();
+        // Only one of the callers that find the sweep due performs a step
+        if (now - sweepAt.get() < 0 || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (sweeper == null) {
+                sweeper = entries.values().iterator();
+            }
+            for (var i = 0; i < SWEEP_STEP && sweeper.hasNext(); ++i) {
+                var entry = sweeper.next();
+                if (isExpired(entry)) {
+                    remove(entry.key, entry);
+                }
+            }
+            if (!sweeper.hasNext()) {
+                sweeper = null;
+                sweepAt.set(now + ttl);
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private void evict() {
+        while (count.get() > maxSize) {
+            var entry = order.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entry.dead) {
+                count.decrementAndGet();
+                continue;
+            }
+            if (entry.referenced && !isExpired(entry)) {
+                // Second chance: move recently read entry to the tail
+                entry.referenced = false;
+                order.offer(entry);
+                continue;
+            }
+            count.decrementAndGet();
+            remove(entry.key, entry);
+        }
+    }
+
+    private static final class Entry<V> {
+        private static final int LOADING = 0;
+        private static final int LOADED = 1;
+        private static final int FAILED = 2;
+
+        final Object key;
+        volatile boolean referenced;
+        volatile boolean dead;
+        volatile long expiresAt;
+        private final Thread owner;
+        private volatile int state;
+        private V value;
+        private Throwable error;
+
+        Entry(Object key) {
+            this.key = key;
+            this.owner = Thread.currentThread();
+        }
+
+        V await() throws Throwable {
+            if (state == LOADING) {
+                if (owner == Thread.currentThread()) {
+                    throw new IllegalStateException("Recursive load of the same key");
+                }
+                synchronized (this) {
+                    while (state == LOADING) {
+                        wait();
+                    }
+                }
+            }
+            if (state == FAILED) {
+                throw error;
+            }
+            if (!referenced) {
+                referenced = true;
+            }
+            return value;
+        }
+
+        synchronized void complete(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.state = LOADED;
+            notifyAll();
+        }
+
+        synchronized void fail(Throwable error) {
+            this.error = error;
+            this.dead = true;
+            this.state = FAILED;
+            notifyAll();
+        }
+
+        void kill() {
+            dead = true;
+        }
+    }
+}
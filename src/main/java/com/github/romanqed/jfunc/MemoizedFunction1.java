@@ -0,0 +1,97 @@
+package com.github.romanqed.jfunc;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A container that memoizes results per argument, implements {@link Function1}.
+ * <p>
+ * Unlike {@link LazyFunction1}, a separate result is cached for every distinct argument.
+ * Concurrent calls with the same argument that miss the cache invoke the wrapped function only once,
+ * the remaining callers wait for its result. Thrown exceptions are not cached.
+ * <p>
+ * The number of cached results can be bounded, in which case the least recently used results
+ * are evicted (approximately, using the second-chance algorithm). Results can also expire after
+ * the specified time-to-live.
+ *
+ * @param <T> the type of the function parameter
+ * @param <R> the type of the result of the function
+ */
+public final class MemoizedFunction1<T, R> implements Function1<T, R> {
+    private final MemoCache<T, R> cache;
+
+    /**
+     * Constructs a new {@link MemoizedFunction1} with the given body, size limit and time-to-live.
+     *
+     * @param body    the function to be memoized
+     * @param maxSize the maximum number of cached results, must be positive
+     * @param ttl     the time after which a cached result expires, or null if results never expire
+     * @throws NullPointerException     if {@code body} is null
+     * @throws IllegalArgumentException if {@code maxSize} is not positive
+     */
+    public MemoizedFunction1(Function1<T, R> body, long maxSize, Duration ttl) {
+        Objects.requireNonNull(body);
+        this.cache = new MemoCache<>(body, maxSize, ttl == null ? 0 : Durations.toNanos(ttl));
+    }
+
+    /**
+     * Constructs a new {@link MemoizedFunction1} with the given body and size limit.
+     * Cached results never expire.
+     *
+     * @param body    the function to be memoized
+     * @param maxSize the maximum number of cached results, must be positive
+     * @throws NullPointerException     if {@code body} is null
+     * @throws IllegalArgumentException if {@code maxSize} is not positive
+     */
+    public MemoizedFunction1(Function1<T, R> body, long maxSize) {
+        this(body, maxSize, null);
+    }
+
+    /**
+     * Constructs a new {@link MemoizedFunction1} with the given body.
+     * The number of cached results is not limited and cached results never expire.
+     *
+     * @param body the function to be memoized
+     * @throws NullPointerException if {@code body} is null
+     */
+    public MemoizedFunction1(Function1<T, R> body) {
+        this(body, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Gets the result cached for the given parameter, or, if there is no such result, calls the wrapped function.
+     *
+     * @param t the function parameter
+     * @return a result
+     * @throws Throwable if wrapped function throws exception
+     */
+    @Override
+    public R invoke(T t) throws Throwable {
+        return cache.get(t);
+    }
+
+    /**
+     * Discards the result cached for the given parameter, if any.
+     *
+     * @param t the function parameter
+     */
+    public void invalidate(T t) {
+        cache.invalidate(t);
+    }
+
+    /**
+     * Discards all cached results.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the approximate number of cached results.
+     *
+     * @return the number of cached results
+     */
+    public long size() {
+        return cache.size();
+    }
+}
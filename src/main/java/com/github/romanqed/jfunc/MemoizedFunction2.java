@@ -0,0 +1,127 @@
+package com.github.romanqed.jfunc;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A container that memoizes results per pair of arguments, implements {@link Function2}.
+ * <p>
+ * A separate result is cached for every distinct pair of arguments.
+ * Concurrent calls with the same arguments that miss the cache invoke the wrapped function only once,
+ * the remaining callers wait for its result. Thrown exceptions are not cached.
+ * <p>
+ * The number of cached results can be bounded, in which case the least recently used results
+ * are evicted (approximately, using the second-chance algorithm). Results can also expire after
+ * the specified time-to-live.
+ *
+ * @param <T1> the type of the first function parameter
+ * @param <T2> the type of the second function parameter
+ * @param <R>  the type of the result of the function
+ */
+public final class MemoizedFunction2<T1, T2, R> implements Function2<T1, T2, R> {
+    private final MemoCache<Key<T1, T2>, R> cache;
+
+    /**
+     * Constructs a new {@link MemoizedFunction2} with the given body, size limit and time-to-live.
+     *
+     * @param body    the function to be memoized
+     * @param maxSize the maximum number of cached results, must be positive
+     * @param ttl     the time after which a cached result expires, or null if results never expire
+     * @throws NullPointerException     if {@code body} is null
+     * @throws IllegalArgumentException if {@code maxSize} is not positive
+     */
+    public MemoizedFunction2(Function2<T1, T2, R> body, long maxSize, Duration ttl) {
+        Objects.requireNonNull(body);
+        this.cache = new MemoCache<>(key -> body.invoke(key.t1, key.t2), maxSize, ttl == null ? 0 : Durations.toNanos(ttl));
+    }
+
+    /**
+     * Constructs a new {@link MemoizedFunction2} with the given body and size limit.
+     * Cached results never expire.
+     *
+     * @param body    the function to be memoized
+     * @param maxSize the maximum number of cached results, must be positive
+     * @throws NullPointerException     if {@code body} is null
+     * @throws IllegalArgumentException if {@code maxSize} is not positive
+     */
+    public MemoizedFunction2(Function2<T1, T2, R> body, long maxSize) {
+        this(body, maxSize, null);
+    }
+
+    /**
+     * Constructs a new {@link MemoizedFunction2} with the given body.
+     * The number of cached results is not limited and cached results never expire.
+     *
+     * @param body the function to be memoized
+     * @throws NullPointerException if {@code body} is null
+     */
+    public MemoizedFunction2(Function2<T1, T2, R> body) {
+        this(body, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Gets the result cached for the given parameters, or, if there is no such result, calls the wrapped function.
+     *
+     * @param t1 the first function parameter
+     * @param t2 the second function parameter
+     * @return a result
+     * @throws Throwable if wrapped function throws exception
+     */
+    @Override
+    public R invoke(T1 t1, T2 t2) throws Throwable {
+        return cache.get(new Key<>(t1, t2));
+    }
+
+    /**
+     * Discards the result cached for the given parameters, if any.
+     *
+     * @param t1 the first function parameter
+     * @param t2 the second function parameter
+     */
+    public void invalidate(T1 t1, T2 t2) {
+        cache.invalidate(new Key<>(t1, t2));
+    }
+
+    /**
+     * Discards all cached results.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the approximate number of cached results.
+     *
+     * @return the number of cached results
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    private static final class Key<T1, T2> {
+        final T1 t1;
+        final T2 t2;
+
+        Key(T1 t1, T2 t2) {
+            this.t1 = t1;
+            this.t2 = t2;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            var key = (Key<?, ?>) o;
+            return Objects.equals(t1, key.t1) && Objects.equals(t2, key.t2);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(t1) + Objects.hashCode(t2);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.romanqed.jfunc;
+
+/**
+ * A service provider that publishes {@link InvocationMetrics} to a monitoring system.
+ * <p>
+ * The exporter is notified once for every metrics instance created by {@link Instrumentation},
+ * and is expected to read the statistics on its own schedule, for example when the monitoring
+ * system polls for them. Implementations must be thread-safe.
+ *
+ * @see JmxMetricsExporter
+ */
+@FunctionalInterface
+public interface MetricsExporter {
+
+    /**
+     * Publishes the given metrics.
+     *
+     * @param metrics the metrics to publish
+     */
+    void export(InvocationMetrics metrics);
+}
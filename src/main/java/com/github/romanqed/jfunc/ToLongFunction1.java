@@ -0,0 +1,98 @@
+package com.github.romanqed.jfunc;
+
+import java.util.Objects;
+
+/**
+ * Represents a function that takes one parameter and returns a {@code long} value.
+ * This is the {@code long}-producing primitive specialization of {@link Function1}.
+ *
+ * <p>This is a
+ * <a href="https://docs.oracle.com/javase/8/docs/api/java/lang/FunctionalInterface.html">functional interface</a>
+ * whose functional method is {@link #invoke(Object)}.
+ *
+ * @param <T> the type of the function parameter
+ */
+@FunctionalInterface
+public interface ToLongFunction1<T> {
+
+    /**
+     * Adapts the given generic {@link Function1} to a {@link ToLongFunction1}.
+     * The result is unboxed on every call.
+     *
+     * @param func the function to adapt
+     * @param <T>  the type of the function parameter
+     * @return the adapted function
+     * @throws NullPointerException if func is null
+     */
+    static <T> ToLongFunction1<T> of(Function1<T, Long> func) {
+        Objects.requireNonNull(func);
+        return func::invoke;
+    }
+
+    /**
+     * Main functional method of interface, takes one parameter, performs assumed action and produce result.
+     *
+     * @param t function parameter
+     * @return produced result
+     * @throws Throwable if problems occur during execution
+     */
+    long invoke(T t) throws Throwable;
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * The intermediate value is not boxed.
+     *
+     * @param <V>   the type of output of the {@code after} function, and of the
+     *              composed function
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     * applies the {@code after} function
+     * @throws NullPointerException if after is null
+     */
+    default <V> Function1<T, V> andThenToObj(LongFunction1<? extends V> after) {
+        Objects.requireNonNull(after);
+        return (T t) -> after.invoke(invoke(t));
+    }
+
+    /**
+     * Returns a composed function that first applies this function to
+     * its input, and then applies the {@code after} function to the result.
+     * The intermediate and the resulting values are not boxed.
+     *
+     * @param after the function to apply after this function is applied
+     * @return a composed function that first applies this function and then
+     * applies the {@code after} function
+     * @throws NullPointerException if after is null
+     */
+    default ToLongFunction1<T> andThen(LongUnaryFunction after) {
+        Objects.requireNonNull(after);
+        return (T t) -> after.invoke(invoke(t));
+    }
+
+    /**
+     * Returns a composed function that first applies the {@code before}
+     * function to its input, and then applies this function to the result.
+     *
+     * @param <V>    the type of input to the {@code before} function, and to the
+     *               composed function
+     * @param before the function to apply before this function is applied
+     * @return a composed function that first applies the {@code before}
+     * function and then applies this function
+     * @throws NullPointerException if before is null
+     */
+    default <V> ToLongFunction1<V> compose(Function1<? super V, ? extends T> before) {
+        Objects.requireNonNull(before);
+        return (V v) -> invoke(before.invoke(v));
+    }
+
+    /**
+     * Returns a generic {@link Function1} view of this function.
+     * The result is boxed on every call.
+     *
+     * @return the generic view
+     */
+    default Function1<T, Long> boxed() {
+        return this::invoke;
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.romanqed.jfunc;
+
+/**
+ * An unchecked exception used by {@link Exceptions} to wrap checked exceptions.
+ * <p>
+ * The wrapper does not capture its own stack trace, since the wrapped exception already carries one,
+ * so wrapping costs no stack walk. The original exception is available via {@link #getCause()}.
+ */
+public final class UncheckedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new {@link UncheckedException} wrapping the given cause.
+     *
+     * @param cause the wrapped exception
+     */
+    public UncheckedException(Throwable cause) {
+        super(cause == null ? null : cause.toString(), cause, true, false);
+    }
+}
@@ -3,5 +3,7 @@
  * for composing, lazily evaluating, and wrapping functional calls.
  */
 module com.github.romanqed.jfunc {
+    // Optional, used only by JmxMetricsExporter
+    requires static java.management;
     exports com.github.romanqed.jfunc;
 }
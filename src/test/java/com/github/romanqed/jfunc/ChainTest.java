@@ -0,0 +1,46 @@
+package com.github.romanqed.jfunc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+public final class ChainTest extends Assertions {
+
+    @Test
+    public void testChainOrder() throws Throwable {
+        Function1<Integer, Integer> inc = e -> e + 1;
+        var chain = Function1.chain(inc)
+                .andThen(e -> e * 2)
+                .andThen(Object::toString)
+                .compose((String e) -> Integer.parseInt(e));
+        assertEquals("8", chain.invoke("3"));
+    }
+
+    @Test
+    public void testChainIdentity() throws Throwable {
+        var identity = Function1.<String>identity();
+        assertSame(identity, Function1.<Integer>identity());
+        var chain = Function1.chain(identity).andThen(Function1.identity());
+        assertEquals("a", chain.invoke("a"));
+        assertEquals("ab", chain.andThen(e -> e + "b").invoke("a"));
+    }
+
+    @Test
+    public void testChainFlattening() throws Throwable {
+        var first = Function1.chain((Integer e) -> e + 1).andThen(e -> e + 1);
+        var second = Function1.chain((Integer e) -> e * 10).andThen(e -> e * 10);
+        assertSame(first, Function1.chain(first));
+        assertEquals(300, first.andThen(second).invoke(1));
+        assertEquals(102, first.compose(second).invoke(1));
+    }
+
+    @Test
+    public void testChainRelaysExceptions() {
+        var error = new IOException();
+        var chain = Function1.chain((Integer e) -> e).andThen(e -> {
+            throw error;
+        });
+        assertSame(error, assertThrows(IOException.class, () -> chain.invoke(1)));
+    }
+}
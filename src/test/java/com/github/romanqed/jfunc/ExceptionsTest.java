@@ -3,8 +3,13 @@ package com.github.romanqed.jfunc;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -198,4 +203,69 @@ public final class ExceptionsTest {
             throw new IOException();
         }, "x", "y", ex -> "fallback"));
     }
+
+    @Test
+    void testSilentArity3() {
+        AtomicReference<String> result = new AtomicReference<>();
+        Exceptions.silent((String a, String b, String c) -> result.set(a + b + c), "a", "b", "c");
+        assertEquals("abc", result.get());
+        assertEquals("xyz", Exceptions.silent((String a, String b, String c) -> a + b + c, "x", "y", "z"));
+
+        IOException ex = new IOException("fail");
+        IOException thrown = assertThrows(IOException.class, () ->
+                Exceptions.silent((Function3<String, String, String, String>) (a, b, c) -> {
+                    throw ex;
+                }, "a", "b", "c"));
+        assertSame(ex, thrown);
+    }
+
+    @Test
+    void testSuppressArity3() {
+        assertEquals("abc", Exceptions.suppress((String a, String b, String c) -> a + b + c, "a", "b", "c"));
+        assertEquals("fallback", Exceptions.suppress((a, b, c) -> {
+            throw new IOException();
+        }, "a", "b", "c", ex -> "fallback"));
+
+        IOException ex = new IOException("fail");
+        RuntimeException wrapped = assertThrows(RuntimeException.class, () ->
+                Exceptions.suppress((Runnable3<String, String, String>) (a, b, c) -> {
+                    throw ex;
+                }, "a", "b", "c"));
+        assertEquals(ex, wrapped.getCause());
+    }
+
+    @Test
+    void testUnchecked() {
+        AtomicInteger counter = new AtomicInteger();
+        Exceptions.uncheckedRunnable(counter::incrementAndGet).run();
+        Exceptions.uncheckedConsumer(counter::addAndGet).accept(2);
+        Exceptions.<Integer, Integer>uncheckedBiConsumer((a, b) -> counter.addAndGet(a + b)).accept(1, 2);
+        assertEquals(6, counter.get());
+        assertEquals("s", Exceptions.uncheckedSupplier(() -> "s").get());
+        assertEquals(2, Exceptions.<Integer, Integer>uncheckedFunction(t -> t + 1).apply(1));
+        assertEquals(3, Exceptions.uncheckedBiFunction(Integer::sum).apply(1, 2));
+
+        List<String> list = new ArrayList<>();
+        Consumer<String> add = Exceptions.uncheckedConsumer(list::add);
+        add.accept("a");
+        Exceptions.<String>uncheckedConsumer(t -> list.add(t)).accept("b");
+        assertEquals(List.of("a", "b"), list);
+
+        IOException ex = new IOException("fail");
+        Function<String, String> func = Exceptions.uncheckedFunction(s -> {
+            throw ex;
+        });
+        assertSame(ex, assertThrows(IOException.class, () -> func.apply("a")));
+    }
+
+    @Test
+    void testSuppressWrapsWithoutStackTrace() {
+        IOException ex = new IOException("fail");
+        UncheckedException wrapped = assertThrows(UncheckedException.class, () -> Exceptions.suppress(() -> {
+            throw ex;
+        }));
+        assertSame(ex, wrapped.getCause());
+        assertEquals(ex.toString(), wrapped.getMessage());
+        assertEquals(0, wrapped.getStackTrace().length);
+    }
 }
@@ -0,0 +1,81 @@
+package com.github.romanqed.jfunc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServerFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+
+public final class InstrumentationTest extends Assertions {
+
+    @Test
+    public void testDisabledReturnsOriginal() {
+        Function1<Integer, Integer> func = t -> t + 1;
+        assertSame(func, Instrumentation.disabled().instrument("func", func));
+        assertFalse(Instrumentation.disabled().isEnabled());
+        assertThrows(IllegalStateException.class, () -> Instrumentation.disabled().metrics("func"));
+    }
+
+    @Test
+    public void testRecordsInvocationsAndErrors() throws Throwable {
+        var exported = new ArrayList<InvocationMetrics>();
+        var instrumentation = new Instrumentation(exported::add);
+        var func = instrumentation.instrument("func", (Integer t) -> {
+            if (t < 0) {
+                throw new IOException();
+            }
+            return t * 2;
+        });
+        assertEquals(4, func.invoke(2));
+        assertThrows(IOException.class, () -> func.invoke(-1));
+        var metrics = instrumentation.metrics("func");
+        assertEquals(1, exported.size());
+        assertSame(metrics, exported.get(0));
+        assertEquals(2, metrics.invocations());
+        assertEquals(1, metrics.errors());
+        assertTrue(metrics.max() >= metrics.percentile(50));
+        metrics.reset();
+        assertEquals(0, metrics.invocations());
+    }
+
+    @Test
+    public void testPercentiles() {
+        var metrics = new InvocationMetrics("test");
+        for (var i = 1; i <= 1000; ++i) {
+            metrics.record(i * 1000L, false);
+        }
+        assertEquals(500_500, metrics.mean());
+        assertEquals(1_000_000, metrics.max());
+        assertEquals(500_000, metrics.percentile(50), 500_000 * 0.04);
+        assertEquals(990_000, metrics.percentile(99), 990_000 * 0.04);
+        assertEquals(1_000_000, metrics.percentile(100));
+        assertThrows(IllegalArgumentException.class, () -> metrics.percentile(0));
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        for (var value : new long[]{0, 1, 31, 32, 33, 1000, 123_456_789L, 1L << 40}) {
+            var index = LatencyHistogram.index(value);
+            var highest = LatencyHistogram.highest(index);
+            assertTrue(highest >= value);
+            assertTrue(highest - value <= Math.max(1, value >> 5));
+        }
+        assertEquals(LatencyHistogram.index(1L << 41), LatencyHistogram.index(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testJmxExporter() throws Throwable {
+        var server = MBeanServerFactory.newMBeanServer();
+        var exporter = new JmxMetricsExporter(server, "test");
+        var instrumentation = new Instrumentation(exporter);
+        var func = instrumentation.instrument("a,b", (Integer t) -> t);
+        func.invoke(1);
+        func.invoke(2);
+        var name = exporter.nameOf(instrumentation.metrics("a,b"));
+        assertEquals(2L, server.getAttribute(name, "Invocations"));
+        assertEquals(0L, server.getAttribute(name, "Errors"));
+        exporter.export(new InvocationMetrics("a,b"));
+        assertEquals(0L, server.getAttribute(name, "Invocations"));
+    }
+}
@@ -3,7 +3,12 @@ package com.github.romanqed.jfunc;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class LazyTest extends Assertions {
 
@@ -34,4 +39,213 @@ public final class LazyTest extends Assertions {
         var value = func.get();
         assertEquals(value, func.get());
     }
+
+    @Test
+    public void testConcurrentInitialization() throws InterruptedException {
+        var calls = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        var func = new LazySupplier<>(() -> {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return new Object();
+        });
+        var results = new Object[8];
+        var threads = new ArrayList<Thread>();
+        for (var i = 0; i < results.length; ++i) {
+            var index = i;
+            var thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                results[index] = func.get();
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (var thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, calls.get());
+        for (var result : results) {
+            assertSame(results[0], result);
+        }
+    }
+
+    @Test
+    public void testParkedWaitersRetryAfterFailure() throws InterruptedException {
+        var calls = new AtomicInteger();
+        var entered = new CountDownLatch(1);
+        var func = new LazySupplier<>(() -> {
+            if (calls.incrementAndGet() == 1) {
+                entered.countDown();
+                try {
+                    // Long enough for the waiters to stop spinning and park
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                throw new IllegalStateException();
+            }
+            return calls.get();
+        });
+        var owner = new Thread(() -> assertThrows(IllegalStateException.class, func::get));
+        owner.start();
+        entered.await();
+        var results = new Object[4];
+        var threads = new ArrayList<Thread>();
+        for (var i = 0; i < results.length; ++i) {
+            var index = i;
+            var thread = new Thread(() -> results[index] = func.get());
+            thread.start();
+            threads.add(thread);
+        }
+        owner.join();
+        for (var thread : threads) {
+            thread.join(5000);
+            assertFalse(thread.isAlive());
+        }
+        assertEquals(2, calls.get());
+        for (var result : results) {
+            assertEquals(2, result);
+        }
+    }
+
+    @Test
+    public void testRetryAfterFailure() {
+        var calls = new AtomicInteger();
+        var func = new LazySupplier<>(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            return calls.get();
+        });
+        assertThrows(IllegalStateException.class, func::get);
+        assertEquals(2, func.get());
+        assertEquals(2, func.get());
+    }
+
+    @Test
+    public void testRecursiveInitialization() {
+        var holder = new Object[1];
+        var func = new LazyFunction0<>(() -> ((LazyFunction0<?>) holder[0]).invoke());
+        holder[0] = func;
+        assertThrows(IllegalStateException.class, func::invoke);
+    }
+
+    @Test
+    public void testNullIsCached() throws Throwable {
+        var calls = new AtomicInteger();
+        var supplier = new LazySupplier<>(() -> {
+            calls.incrementAndGet();
+            return null;
+        });
+        assertNull(supplier.get());
+        assertNull(supplier.get());
+        var func = new LazyFunction0<>(() -> {
+            calls.incrementAndGet();
+            return null;
+        });
+        assertNull(func.invoke());
+        assertNull(func.invoke());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testFailureCachedForever() {
+        var calls = new AtomicInteger();
+        var error = new IOException();
+        var func = new LazyFunction0<>(() -> {
+            calls.incrementAndGet();
+            throw error;
+        }, true);
+        assertSame(error, assertThrows(IOException.class, func::invoke));
+        assertSame(error, assertThrows(IOException.class, func::invoke));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testFailureRetriedAfterDelay() throws InterruptedException {
+        var calls = new AtomicInteger();
+        var supplier = new LazySupplier<>(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            return "ok";
+        }, Duration.ofMillis(20));
+        assertThrows(IllegalStateException.class, supplier::get);
+        assertThrows(IllegalStateException.class, supplier::get);
+        assertEquals(1, calls.get());
+        Thread.sleep(30);
+        assertEquals("ok", supplier.get());
+        assertEquals("ok", supplier.get());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testExpiringInvalidate() {
+        var calls = new AtomicInteger();
+        var supplier = new ExpiringLazySupplier<>(calls::incrementAndGet);
+        assertEquals(1, supplier.get());
+        assertEquals(1, supplier.get());
+        supplier.invalidate();
+        assertEquals(2, supplier.get());
+    }
+
+    @Test
+    public void testExpiringTtl() throws InterruptedException {
+        var calls = new AtomicInteger();
+        var supplier = new ExpiringLazySupplier<>(calls::incrementAndGet, Duration.ofMillis(20));
+        assertEquals(1, supplier.get());
+        assertEquals(1, supplier.get());
+        Thread.sleep(30);
+        assertEquals(2, supplier.get());
+    }
+
+    @Test
+    public void testExpiringRefreshAhead() throws InterruptedException {
+        var calls = new AtomicInteger();
+        var tasks = new ArrayList<Runnable>();
+        var supplier = new ExpiringLazySupplier<>(
+                calls::incrementAndGet,
+                Duration.ofSeconds(10),
+                Duration.ofMillis(9990),
+                tasks::add
+        );
+        assertEquals(1, supplier.get());
+        Thread.sleep(20);
+        // Refresh is scheduled once, the current value is served meanwhile
+        assertEquals(1, supplier.get());
+        assertEquals(1, supplier.get());
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertEquals(2, supplier.get());
+    }
+
+    @Test
+    public void testExpiringRefreshBacksOffAfterFailure() throws InterruptedException {
+        var calls = new AtomicInteger();
+        var tasks = new ArrayList<Runnable>();
+        var supplier = new ExpiringLazySupplier<>(() -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IllegalStateException();
+            }
+            return 1;
+        }, Duration.ofSeconds(10), Duration.ofMillis(9990), tasks::add);
+        assertEquals(1, supplier.get());
+        Thread.sleep(20);
+        assertEquals(1, supplier.get());
+        tasks.get(0).run();
+        // The failed refresh is not retried by the following reads
+        assertEquals(1, supplier.get());
+        assertEquals(1, supplier.get());
+        assertEquals(1, tasks.size());
+        assertEquals(2, calls.get());
+    }
 }
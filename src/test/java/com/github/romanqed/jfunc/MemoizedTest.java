@@ -0,0 +1,145 @@
+package com.github.romanqed.jfunc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class MemoizedTest extends Assertions {
+
+    @Test
+    public void testFunction1CachesPerArgument() throws Throwable {
+        var calls = new AtomicInteger();
+        var func = new MemoizedFunction1<Integer, Integer>(e -> {
+            calls.incrementAndGet();
+            return e + 1;
+        });
+        assertEquals(1, func.invoke(0));
+        assertEquals(2, func.invoke(1));
+        assertEquals(1, func.invoke(0));
+        assertEquals(2, func.invoke(1));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testFunction1CachesNulls() throws Throwable {
+        var calls = new AtomicInteger();
+        var func = new MemoizedFunction1<String, String>(e -> {
+            calls.incrementAndGet();
+            return null;
+        });
+        assertNull(func.invoke(null));
+        assertNull(func.invoke(null));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testFunction1DoesNotCacheFailures() throws Throwable {
+        var calls = new AtomicInteger();
+        var func = new MemoizedFunction1<Integer, Integer>(e -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IOException();
+            }
+            return e;
+        });
+        assertThrows(IOException.class, () -> func.invoke(5));
+        assertEquals(5, func.invoke(5));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testFunction1Eviction() throws Throwable {
+        var func = new MemoizedFunction1<Integer, Integer>(e -> e, 10);
+        for (var i = 0; i < 100; ++i) {
+            func.invoke(i);
+        }
+        assertTrue(func.size() <= 10);
+    }
+
+    @Test
+    public void testFunction1Expiration() throws Throwable {
+        var calls = new AtomicInteger();
+        var func = new MemoizedFunction1<Integer, Integer>(e -> calls.incrementAndGet(), 10, Duration.ofMillis(10));
+        assertEquals(1, func.invoke(0));
+        assertEquals(1, func.invoke(0));
+        Thread.sleep(20);
+        assertEquals(2, func.invoke(0));
+    }
+
+    @Test
+    public void testFunction1SweepsExpiredEntries() throws Throwable {
+        var func = new MemoizedFunction1<Integer, Integer>(e -> e, Long.MAX_VALUE, Duration.ofSeconds(1));
+        for (var i = 0; i < 100; ++i) {
+            func.invoke(i);
+        }
+        assertEquals(100, func.size());
+        Thread.sleep(1200);
+        // Each miss sweeps a bounded number of entries, so two misses are needed for 100 entries
+        func.invoke(-1);
+        func.invoke(-2);
+        assertEquals(2, func.size());
+    }
+
+    @Test
+    public void testFunction1Invalidate() throws Throwable {
+        var calls = new AtomicInteger();
+        var func = new MemoizedFunction1<Integer, Integer>(e -> calls.incrementAndGet());
+        assertEquals(1, func.invoke(0));
+        func.invalidate(0);
+        assertEquals(2, func.invoke(0));
+        func.invalidateAll();
+        assertEquals(0, func.size());
+        assertEquals(3, func.invoke(0));
+    }
+
+    @Test
+    public void testFunction1SingleFlight() throws Throwable {
+        var calls = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        var func = new MemoizedFunction1<Integer, Integer>(e -> {
+            calls.incrementAndGet();
+            Thread.sleep(50);
+            return e;
+        });
+        var failure = new AtomicReference<Throwable>();
+        var threads = new ArrayList<Thread>();
+        for (var i = 0; i < 8; ++i) {
+            var thread = new Thread(() -> {
+                try {
+                    start.await();
+                    assertEquals(7, func.invoke(7));
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (var thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testFunction2CachesPerArguments() throws Throwable {
+        var calls = new AtomicInteger();
+        var func = new MemoizedFunction2<Integer, Integer, Integer>((a, b) -> {
+            calls.incrementAndGet();
+            return a + b;
+        });
+        assertEquals(3, func.invoke(1, 2));
+        assertEquals(3, func.invoke(2, 1));
+        assertEquals(3, func.invoke(1, 2));
+        assertEquals(2, calls.get());
+    }
+}
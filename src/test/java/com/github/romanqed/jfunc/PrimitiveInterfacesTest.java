@@ -0,0 +1,52 @@
+package com.github.romanqed.jfunc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class PrimitiveInterfacesTest extends Assertions {
+
+    @Test
+    public void testIntPipeline() throws Throwable {
+        ToIntFunction1<String> length = String::length;
+        IntUnaryFunction twice = v -> v * 2;
+        IntFunction1<String> print = Integer::toString;
+        var pipeline = length.andThen(twice).andThenToObj(print);
+        assertEquals("10", pipeline.invoke("hello"));
+        assertEquals(7, IntUnaryFunction.identity().invoke(7));
+        assertEquals(8, twice.compose(v -> v + 1).invoke(3));
+        assertEquals(7, twice.andThen(v -> v + 1).invoke(3));
+    }
+
+    @Test
+    public void testLongAdapters() throws Throwable {
+        LongUnaryFunction inc = LongUnaryFunction.of(v -> v + 1);
+        assertEquals(6L, inc.invoke(5L));
+        assertEquals(6L, inc.boxed().invoke(5L));
+        ToLongFunction1<String> parse = ToLongFunction1.of(Long::parseLong);
+        assertEquals(42L, parse.invoke("42"));
+        assertEquals("43", LongFunction1.of(Object::toString).compose(parse.andThen(inc)).invoke("42"));
+    }
+
+    @Test
+    public void testDoubleFunction2() throws Throwable {
+        DoubleFunction2<Double> sum = (a, b) -> a + b;
+        assertEquals(3.5, sum.invoke(1.5, 2.0));
+        assertEquals("3.5", sum.andThen(Object::toString).invoke(1.5, 2.0));
+        assertEquals(3.5, DoubleFunction2.of(sum.boxed()).invoke(1.5, 2.0));
+    }
+
+    @Test
+    public void testRunnable() throws Throwable {
+        var sum = new AtomicLong();
+        LongRunnable1 add = sum::addAndGet;
+        LongRunnable1.combine(add, add).run(2);
+        assertEquals(4, sum.get());
+        IntRunnable1.of(v -> sum.addAndGet(v)).run(1);
+        assertEquals(5, sum.get());
+        DoubleRunnable1 round = v -> sum.addAndGet(Math.round(v));
+        round.boxed().run(1.4);
+        assertEquals(6, sum.get());
+    }
+}